@@ -0,0 +1,285 @@
+package com.antares.spring.aop.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * 编译期为标注了AOP注解的Bean生成Proxy类，运行期ProxyResolver直接使用而不再生成字节码。
+ *
+ * 添加依赖即可启用：
+ *
+ * | <dependency>
+ * |     <groupId>com.antares</groupId>
+ * |     <artifactId>antares-spring-aop-processor</artifactId>
+ * |     <scope>provided</scope>
+ * | </dependency>
+ *
+ * 类或方法上标注了@Transactional、@Around等注解的类会生成"类名$$AntaresProxy"，
+ * 自定义注解可以通过-Aantares.proxy.annotations=com.example.Log,com.example.Trace添加。
+ * 泛型类、final类、没有无参构造方法的类会被忽略，运行期仍然生成字节码。
+ *
+ * 限制：与运行期生成的Proxy相同，生成的Proxy类把调用转发给单独的原始Bean($$target)，
+ * 而不是调用super的方法，因此Bean内部的自调用(this.method())不经过拦截器；
+ * final方法和非public方法无法覆写，也不会被拦截。
+ */
+@SupportedOptions(ProxyProcessor.OPTION_ANNOTATIONS)
+public class ProxyProcessor extends AbstractProcessor {
+
+    static final String OPTION_ANNOTATIONS = "antares.proxy.annotations";
+
+    static final String CLASS_SUFFIX = "$$AntaresProxy";
+    static final String SUPPORT = "com.antares.spring.aop.WovenProxySupport";
+
+    static final Set<String> DEFAULT_ANNOTATIONS = Set.of( //
+            "com.antares.spring.annotation.Around", //
+            "com.antares.spring.annotation.Transactional", //
+            "com.antares.spring.annotation.Timed", //
+            "com.antares.spring.annotation.Counted", //
+            "com.antares.spring.annotation.Async", //
+            "com.antares.spring.annotation.Cacheable", //
+            "com.antares.spring.annotation.CacheEvict", //
+            "com.antares.spring.annotation.Retry", //
+            "com.antares.spring.annotation.CircuitBreaker", //
+            "com.antares.spring.annotation.Bulkhead");
+
+    final Set<String> generated = new LinkedHashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new LinkedHashSet<>(DEFAULT_ANNOTATIONS);
+        String extra = this.processingEnv == null ? null : this.processingEnv.getOptions().get(OPTION_ANNOTATIONS);
+        if (extra != null) {
+            for (String name : extra.split(",")) {
+                if (!name.isBlank()) {
+                    types.add(name.strip());
+                }
+            }
+        }
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> beanTypes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    beanTypes.add((TypeElement) element);
+                } else if (element.getKind() == ElementKind.METHOD
+                        && element.getEnclosingElement().getKind() == ElementKind.CLASS) {
+                    beanTypes.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement type : beanTypes) {
+            String name = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+            // 生成的Proxy类继承了@Inherited注解，在下一轮中跳过:
+            if (name.endsWith(CLASS_SUFFIX)) {
+                continue;
+            }
+            if (isProxyable(type) && this.generated.add(name)) {
+                generate(type);
+            }
+        }
+        // 不独占注解，其他处理器仍然可以处理:
+        return false;
+    }
+
+    boolean isProxyable(TypeElement type) {
+        Set<Modifier> mods = type.getModifiers();
+        String reason = null;
+        if (mods.contains(Modifier.FINAL) || mods.contains(Modifier.ABSTRACT) || mods.contains(Modifier.PRIVATE)) {
+            reason = "is final, abstract or private";
+        } else if (type.getNestingKind() != NestingKind.TOP_LEVEL
+                && (type.getNestingKind() != NestingKind.MEMBER || !mods.contains(Modifier.STATIC))) {
+            reason = "is not a top level or static nested class";
+        } else if (!type.getTypeParameters().isEmpty()) {
+            reason = "has type parameters";
+        } else if (!hasNoArgConstructor(type)) {
+            reason = "has no accessible no-arg constructor";
+        }
+        if (reason != null) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Skip generating proxy class because " + type.getSimpleName() + " " + reason + ".", type);
+            return false;
+        }
+        return true;
+    }
+
+    boolean hasNoArgConstructor(TypeElement type) {
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind() == ElementKind.CONSTRUCTOR && ((ExecutableElement) e).getParameters().isEmpty()
+                    && !e.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 所有可覆写的public方法，按签名去重，子类的方法优先
+     */
+    List<ExecutableElement> proxyMethods(TypeElement type) {
+        var types = this.processingEnv.getTypeUtils();
+        Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+        for (Element e : this.processingEnv.getElementUtils().getAllMembers(type)) {
+            if (e.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) e;
+            Set<Modifier> mods = method.getModifiers();
+            TypeElement owner = (TypeElement) method.getEnclosingElement();
+            if (!mods.contains(Modifier.PUBLIC) || mods.contains(Modifier.STATIC) || mods.contains(Modifier.FINAL)
+                    || owner.getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+            // 按targetClass解析类型参数后的签名，覆写泛型父类方法的方法与父类方法签名相同:
+            ExecutableType resolved = (ExecutableType) types.asMemberOf((DeclaredType) type.asType(), method);
+            StringBuilder key = new StringBuilder(method.getSimpleName());
+            for (TypeMirror param : resolved.getParameterTypes()) {
+                key.append(',').append(types.erasure(param));
+            }
+            ExecutableElement existing = methods.get(key.toString());
+            if (existing == null || types.isSubtype(types.erasure(owner.asType()),
+                    types.erasure(existing.getEnclosingElement().asType()))) {
+                methods.put(key.toString(), method);
+            }
+        }
+        return new ArrayList<>(methods.values());
+    }
+
+    void generate(TypeElement type) {
+        var elements = this.processingEnv.getElementUtils();
+        var types = this.processingEnv.getTypeUtils();
+        String pkg = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String proxyName = (pkg.isEmpty() ? binaryName : binaryName.substring(pkg.length() + 1)) + CLASS_SUFFIX;
+        String targetName = type.getQualifiedName().toString();
+        List<ExecutableElement> methods = proxyMethods(type);
+
+        StringBuilder sb = new StringBuilder(4096);
+        if (!pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n\n");
+        }
+        sb.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        sb.append("@SuppressWarnings(\"unchecked\")\n");
+        sb.append("public class ").append(proxyName).append(" extends ").append(targetName).append(" {\n\n");
+        sb.append("    public ").append(targetName).append(" $$target;\n");
+        sb.append("    public java.lang.reflect.InvocationHandler $$handler;\n");
+        sb.append("    public boolean[] $$advised;\n\n");
+
+        // 被覆写的Method，与$$advised的下标对应:
+        sb.append("    static final java.lang.reflect.Method[] $$methods = ").append(SUPPORT).append(".methods(")
+                .append(targetName).append(".class,\n            new String[] {");
+        for (int i = 0; i < methods.size(); i++) {
+            sb.append(i == 0 ? " " : ", ").append('"').append(methods.get(i).getSimpleName()).append('"');
+        }
+        sb.append(" },\n            new Class<?>[][] {");
+        for (int i = 0; i < methods.size(); i++) {
+            sb.append(i == 0 ? " {" : ", {");
+            var params = methods.get(i).getParameters();
+            for (int j = 0; j < params.size(); j++) {
+                sb.append(j == 0 ? " " : ", ").append(types.erasure(params.get(j).asType())).append(".class");
+            }
+            sb.append(" }");
+        }
+        sb.append(" });\n\n");
+
+        sb.append("    public ").append(proxyName).append("() {\n    }\n");
+        for (int i = 0; i < methods.size(); i++) {
+            appendMethod(sb, (DeclaredType) type.asType(), methods.get(i), i);
+        }
+        sb.append("}\n");
+
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(
+                pkg.isEmpty() ? proxyName : pkg + "." + proxyName, type).openWriter()) {
+            writer.write(sb.toString());
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write proxy class " + proxyName + ": " + e.getMessage(), type);
+        }
+    }
+
+    void appendMethod(StringBuilder sb, DeclaredType targetType, ExecutableElement method, int index) {
+        // 按targetClass解析父类方法中的类型参数:
+        ExecutableType resolved = (ExecutableType) this.processingEnv.getTypeUtils().asMemberOf(targetType, method);
+        TypeMirror returnType = resolved.getReturnType();
+        boolean isVoid = returnType.getKind() == TypeKind.VOID;
+        List<? extends TypeMirror> paramTypes = resolved.getParameterTypes();
+
+        sb.append("\n    @Override\n    public ");
+        List<? extends TypeParameterElement> typeParams = method.getTypeParameters();
+        if (!typeParams.isEmpty()) {
+            sb.append('<');
+            for (int i = 0; i < typeParams.size(); i++) {
+                TypeParameterElement tp = typeParams.get(i);
+                sb.append(i == 0 ? "" : ", ").append(tp.getSimpleName());
+                List<? extends TypeMirror> bounds = tp.getBounds();
+                if (!(bounds.size() == 1 && bounds.get(0).toString().equals("java.lang.Object"))) {
+                    for (int j = 0; j < bounds.size(); j++) {
+                        sb.append(j == 0 ? " extends " : " & ").append(bounds.get(j));
+                    }
+                }
+            }
+            sb.append("> ");
+        }
+        sb.append(returnType).append(' ').append(method.getSimpleName()).append('(');
+        for (int i = 0; i < paramTypes.size(); i++) {
+            String paramType = paramTypes.get(i).toString();
+            if (method.isVarArgs() && i == paramTypes.size() - 1 && paramType.endsWith("[]")) {
+                paramType = paramType.substring(0, paramType.length() - 2) + "...";
+            }
+            sb.append(i == 0 ? "" : ", ").append(paramType).append(" arg").append(i);
+        }
+        sb.append(')');
+        List<? extends TypeMirror> thrown = resolved.getThrownTypes();
+        for (int i = 0; i < thrown.size(); i++) {
+            sb.append(i == 0 ? " throws " : ", ").append(thrown.get(i));
+        }
+        StringBuilder args = new StringBuilder();
+        for (int i = 0; i < paramTypes.size(); i++) {
+            args.append(i == 0 ? "" : ", ").append("arg").append(i);
+        }
+        sb.append(" {\n");
+        sb.append("        if (this.$$advised[").append(index).append("]) {\n");
+        String invoke = SUPPORT + ".invoke(this.$$target, this.$$handler, $$methods[" + index + "], new Object[] { "
+                + args + " })";
+        if (isVoid) {
+            sb.append("            ").append(invoke).append(";\n            return;\n");
+        } else {
+            sb.append("            return (").append(returnType).append(") ").append(invoke).append(";\n");
+        }
+        sb.append("        }\n");
+        sb.append("        ").append(isVoid ? "" : "return ").append("this.$$target.").append(method.getSimpleName())
+                .append('(').append(args).append(");\n");
+        sb.append("    }\n");
+    }
+}
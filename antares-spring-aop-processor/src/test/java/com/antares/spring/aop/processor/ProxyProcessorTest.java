@@ -0,0 +1,173 @@
+package com.antares.spring.aop.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.antares.spring.aop.Pointcut;
+import com.antares.spring.aop.ProxyResolver;
+
+public class ProxyProcessorTest {
+
+    static final String ORDER_SERVICE = """
+            package com.example.woven;
+
+            import java.io.IOException;
+            import java.util.List;
+
+            import com.antares.spring.annotation.Around;
+
+            @Around("logInvocationHandler")
+            public class OrderService extends BaseService<String> {
+
+                public String hello(String name) {
+                    return "Hello, " + name + ".";
+                }
+
+                public int add(int a, int b) throws IOException {
+                    if (a < 0) {
+                        throw new IOException("negative");
+                    }
+                    return a + b;
+                }
+
+                public <T extends Comparable<T>> T max(List<T> list) {
+                    return list.stream().max(Comparable::compareTo).orElse(null);
+                }
+
+                public String join(String... parts) {
+                    return String.join(",", parts);
+                }
+
+                @Override
+                public String echo(String value) {
+                    return value + "!";
+                }
+
+                public final String finalMethod() {
+                    return "final";
+                }
+            }
+            """;
+
+    static final String BASE_SERVICE = """
+            package com.example.woven;
+
+            public class BaseService<T> {
+
+                public T echo(T value) {
+                    return value;
+                }
+            }
+            """;
+
+    static final String FINAL_SERVICE = """
+            package com.example.woven;
+
+            import com.antares.spring.annotation.Around;
+
+            @Around("logInvocationHandler")
+            public final class FinalService {
+
+                public void update() {
+                }
+            }
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testWovenProxy() throws Exception {
+        compile("com/example/woven/OrderService.java", ORDER_SERVICE, "com/example/woven/BaseService.java",
+                BASE_SERVICE);
+        assertTrue(Files.exists(dir.resolve("com/example/woven/OrderService$$AntaresProxy.java")));
+
+        try (var loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, getClass().getClassLoader())) {
+            Class<?> serviceClass = loader.loadClass("com.example.woven.OrderService");
+            Object bean = serviceClass.getConstructor().newInstance();
+            List<String> calls = new ArrayList<>();
+            InvocationHandler handler = (target, method, args) -> {
+                calls.add(method.getName());
+                return method.invoke(target, args);
+            };
+            var resolver = new ProxyResolver();
+            Object proxy = resolver.createProxy(bean, handler, Pointcut.methodName("hello").or(Pointcut.methodName("echo")));
+            assertEquals("com.example.woven.OrderService$$AntaresProxy", proxy.getClass().getName());
+            assertEquals(0, resolver.getStats().generated());
+            assertEquals(1, resolver.getStats().wovenProxies());
+            assertTrue(resolver.isProxy(proxy));
+
+            assertEquals("Hello, Bob.", call(proxy, "hello", new Class<?>[] { String.class }, "Bob"));
+            assertEquals("x!", call(proxy, "echo", new Class<?>[] { String.class }, "x"));
+            assertEquals("y!", call(proxy, "echo", new Class<?>[] { Object.class }, "y"));
+            assertEquals(3, call(proxy, "add", new Class<?>[] { int.class, int.class }, 1, 2));
+            assertEquals(5, call(proxy, "max", new Class<?>[] { List.class }, List.of(3, 5, 1)));
+            assertEquals("a,b", call(proxy, "join", new Class<?>[] { String[].class }, (Object) new String[] { "a", "b" }));
+            assertEquals(List.of("hello", "echo", "echo"), calls);
+
+            // checked exception is not wrapped:
+            var e = assertThrows(InvocationTargetException.class,
+                    () -> call(proxy, "add", new Class<?>[] { int.class, int.class }, -1, 2));
+            assertEquals(IOException.class, e.getCause().getClass());
+
+            // other pointcut shares the woven class:
+            Object all = resolver.createProxy(bean, handler, Pointcut.OBJECT_METHODS.negate());
+            assertEquals(proxy.getClass(), all.getClass());
+            call(all, "add", new Class<?>[] { int.class, int.class }, 1, 1);
+            assertEquals("add", calls.get(calls.size() - 1));
+            assertEquals(0, resolver.getStats().generated());
+
+            // final method is not covered, fallback to runtime generation:
+            Object fallback = resolver.createProxy(bean, handler, Pointcut.ALL);
+            assertFalse(fallback.getClass().getName().endsWith("$$AntaresProxy"));
+            assertEquals(1, resolver.getStats().generated());
+        }
+    }
+
+    @Test
+    public void testSkipFinalClass() throws Exception {
+        compile("com/example/woven/FinalService.java", FINAL_SERVICE);
+        assertTrue(Files.exists(dir.resolve("com/example/woven/FinalService.class")));
+        assertFalse(Files.exists(dir.resolve("com/example/woven/FinalService$$AntaresProxy.java")));
+    }
+
+    Object call(Object proxy, String name, Class<?>[] types, Object... args) throws Exception {
+        Method method = proxy.getClass().getMethod(name, types);
+        return method.invoke(proxy, args);
+    }
+
+    void compile(String... pathAndSources) throws IOException {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < pathAndSources.length; i += 2) {
+            Path file = dir.resolve(pathAndSources[i]);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, pathAndSources[i + 1]);
+            files.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> options = new ArrayList<>(List.of("-classpath", System.getProperty("java.class.path"), "-d",
+                dir.toString(), "-s", dir.toString(), "-processor", ProxyProcessor.class.getName()));
+        options.addAll(files);
+        int result = compiler.run(null, null, null, options.toArray(String[]::new));
+        assertEquals(0, result);
+    }
+}
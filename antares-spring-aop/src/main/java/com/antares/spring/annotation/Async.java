@@ -0,0 +1,22 @@
+package com.antares.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 在Executor中异步执行方法，方法必须返回void或Future，标注在类上时对所有public方法生效
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Async {
+    /**
+     * Executor bean name, default to the executor of AsyncBeanPostProcessor.
+     */
+    String value() default "";
+}
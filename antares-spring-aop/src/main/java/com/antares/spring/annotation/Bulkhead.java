@@ -0,0 +1,50 @@
+package com.antares.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 限制方法的并发调用数，超出并发数及队列时直接抛出BulkheadFullException，
+ * 标注在类上时对所有public方法生效
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Bulkhead {
+
+    enum Type {
+        /**
+         * 在调用线程中执行，用信号量限制并发数
+         */
+        SEMAPHORE,
+
+        /**
+         * 在专用线程池中执行，方法必须返回Future或CompletionStage
+         */
+        THREAD_POOL
+    }
+
+    /**
+     * Bulkhead name, methods with the same name share one bulkhead. Default to "ClassName.methodName".
+     */
+    String value() default "";
+
+    Type type() default Type.SEMAPHORE;
+
+    int maxConcurrentCalls() default 25;
+
+    /**
+     * 并发数已满时允许排队等待的调用数
+     */
+    int queueSize() default 0;
+
+    /**
+     * SEMAPHORE模式下排队等待的最长毫秒数
+     */
+    long maxWait() default 0;
+}
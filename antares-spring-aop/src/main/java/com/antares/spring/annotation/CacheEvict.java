@@ -0,0 +1,32 @@
+package com.antares.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法成功返回后，移除与方法参数对应的缓存
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface CacheEvict {
+    /**
+     * Cache name.
+     */
+    String value();
+
+    /**
+     * 参与生成Key的参数下标，对应@Cacheable中指定了key()的缓存，未设置allEntries时必须指定
+     */
+    int[] key() default {};
+
+    /**
+     * 清空整个缓存而不是按参数移除
+     */
+    boolean allEntries() default false;
+}
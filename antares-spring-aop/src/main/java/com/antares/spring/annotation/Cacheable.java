@@ -0,0 +1,27 @@
+package com.antares.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 按方法参数缓存返回值，命中时不再调用方法，返回值为null时也会被缓存
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Cacheable {
+    /**
+     * Cache name.
+     */
+    String value();
+
+    /**
+     * 参与生成Key的参数下标，默认使用方法及全部参数；指定后Key只由这些参数生成，可以被@CacheEvict移除
+     */
+    int[] key() default {};
+}
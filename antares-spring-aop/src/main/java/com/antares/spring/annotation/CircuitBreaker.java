@@ -0,0 +1,51 @@
+package com.antares.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 最近调用的失败率超过阈值时熔断，熔断期间直接抛出CallNotPermittedException，
+ * 等待时间过后放行少量调用探测，全部成功时恢复。
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface CircuitBreaker {
+
+    /**
+     * Breaker name, methods with the same name share one breaker. Default to "ClassName.methodName".
+     */
+    String value() default "";
+
+    /**
+     * 失败率阈值，百分比
+     */
+    int failureRateThreshold() default 50;
+
+    /**
+     * 统计最近多少次调用
+     */
+    int slidingWindowSize() default 20;
+
+    /**
+     * 至少调用多少次才计算失败率
+     */
+    int minimumCalls() default 10;
+
+    /**
+     * 熔断后等待多少毫秒进入半开状态
+     */
+    long waitDurationInOpenState() default 10_000;
+
+    int permittedCallsInHalfOpenState() default 3;
+
+    /**
+     * 计为失败的异常，其他异常计为成功
+     */
+    Class<? extends Throwable>[] recordOn() default { Exception.class };
+}
@@ -0,0 +1,43 @@
+package com.antares.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法抛出指定异常时按指数退避重试，标注在类上时对所有public方法生效。
+ *
+ * 在平台线程中调用同步方法时，重试在一个新的虚拟线程中执行，调用线程等待结果。
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface Retry {
+
+    /**
+     * 最多调用次数，包括第一次调用
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * 第一次重试前的等待毫秒数
+     */
+    long delay() default 100;
+
+    double multiplier() default 2.0;
+
+    long maxDelay() default 5000;
+
+    /**
+     * 等待时间的随机浮动比例，0.5表示在50%~150%之间
+     */
+    double jitter() default 0.5;
+
+    Class<? extends Throwable>[] retryOn() default { RuntimeException.class };
+
+    Class<? extends Throwable>[] noRetryOn() default {};
+}
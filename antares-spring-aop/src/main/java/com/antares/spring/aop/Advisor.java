@@ -0,0 +1,8 @@
+package com.antares.spring.aop;
+
+/**
+ * 拦截器及其切点，order越小越先执行
+ */
+public record Advisor(MethodInterceptor interceptor, Pointcut pointcut, int order) {
+
+}
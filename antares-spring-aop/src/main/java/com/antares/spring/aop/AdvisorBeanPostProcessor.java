@@ -0,0 +1,56 @@
+package com.antares.spring.aop;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.antares.spring.context.BeanPostProcessor;
+
+/**
+ * 为切点匹配的Bean添加一个固定的Advisor，与同一个Bean上的其他MethodInterceptor共享一个Proxy
+ */
+public abstract class AdvisorBeanPostProcessor implements BeanPostProcessor {
+
+    final Advisor advisor;
+    Map<String, Object> originBeans = new HashMap<>();
+
+    protected AdvisorBeanPostProcessor(MethodInterceptor interceptor, Pointcut pointcut, int order) {
+        this.advisor = new Advisor(interceptor, pointcut, order);
+    }
+
+    public Advisor getAdvisor() {
+        return this.advisor;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        ProxyResolver resolver = ProxyResolver.getInstance();
+        // 已被代理时按原始Bean的Class匹配切点:
+        Class<?> beanClass = resolver.userClass(bean.getClass());
+        boolean matched = false;
+        for (Method method : beanClass.getMethods()) {
+            if (this.advisor.pointcut().matches(method, beanClass)) {
+                validate(beanClass, method);
+                matched = true;
+            }
+        }
+        if (!matched) {
+            return bean;
+        }
+        Object proxy = resolver.createProxy(bean, this.advisor);
+        this.originBeans.put(beanName, resolver.getTarget(proxy));
+        return proxy;
+    }
+
+    /**
+     * 检查被拦截的方法，不支持时抛出AopConfigException
+     */
+    protected void validate(Class<?> beanClass, Method method) {
+    }
+
+    @Override
+    public Object postProcessOnSetProperty(Object bean, String beanName) {
+        Object origin = this.originBeans.get(beanName);
+        return origin != null ? origin : bean;
+    }
+}
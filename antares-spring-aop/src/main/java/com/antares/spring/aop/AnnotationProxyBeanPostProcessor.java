@@ -22,9 +22,11 @@ public abstract class AnnotationProxyBeanPostProcessor<A extends Annotation> imp
     }
 
     public Object postProcessBeforeInitialization(Object bean, String beanName) {
-        Class<?> beanClass = bean.getClass();
+        // 已被代理时，按原始Bean的Class查找注解:
+        ProxyResolver resolver = ProxyResolver.getInstance();
+        Class<?> beanClass = resolver.userClass(bean.getClass());
         // 检测@Around注解
-        A anno = beanClass.getAnnotation(this.annotationClass);
+        A anno = findAnnotation(beanClass);
         if (anno != null) {
             String handlerName;
             try {
@@ -34,12 +36,30 @@ public abstract class AnnotationProxyBeanPostProcessor<A extends Annotation> imp
                         this.annotationClass.getSimpleName()), e);
             }
             Object proxy = createProxy(beanClass, bean, handlerName);
-            OriginBeans.put(beanName, bean);
+            OriginBeans.put(beanName, resolver.getTarget(proxy));
             return proxy;
         }
         return bean;
     }
 
+    /**
+     * 查找指定handler的注解，默认只查找类上的注解
+     */
+    protected A findAnnotation(Class<?> beanClass) {
+        return beanClass.getAnnotation(this.annotationClass);
+    }
+
+    /**
+     * 需要拦截的方法，默认由handler实现的PointcutAdvisor决定。未实现时，
+     * MethodInterceptor拦截除Object方法外的public方法，InvocationHandler拦截所有public方法
+     */
+    protected Pointcut getPointcut(Class<?> beanClass, Object handler) {
+        if (handler instanceof PointcutAdvisor advisor) {
+            return advisor.getPointcut();
+        }
+        return handler instanceof MethodInterceptor ? Pointcut.OBJECT_METHODS.negate() : Pointcut.ALL;
+    }
+
     Object createProxy(Class<?> beanClass, Object bean, String handlerName) {
         ConfigurableApplicationContext ctx = (ConfigurableApplicationContext) ApplicationContextUtils
                 .getRequiredApplicationContext();
@@ -52,11 +72,16 @@ public abstract class AnnotationProxyBeanPostProcessor<A extends Annotation> imp
         if (handlerBean == null) {
             handlerBean = ctx.createBeanAsEarlySingleton(def);
         }
-        if (handlerBean instanceof InvocationHandler handler) {
-            return ProxyResolver.getInstance().createProxy(bean, handler);
+        if (handlerBean instanceof MethodInterceptor interceptor) {
+            // 与已有的MethodInterceptor合并为一个Proxy，按handler的@Order排序:
+            Advisor advisor = new Advisor(interceptor, getPointcut(beanClass, handlerBean), def.getOrder());
+            return ProxyResolver.getInstance().createProxy(bean, advisor);
+        } else if (handlerBean instanceof InvocationHandler handler) {
+            // InvocationHandler直接调用原始方法，只能再嵌套一层Proxy:
+            return ProxyResolver.getInstance().createProxy(bean, handler, getPointcut(beanClass, handler));
         } else {
-            throw new AopConfigException(String.format("@%s proxy handler '%s' is not type of %s.",
-                    this.annotationClass.getSimpleName(), handlerName,
+            throw new AopConfigException(String.format("@%s proxy handler '%s' is not type of %s or %s.",
+                    this.annotationClass.getSimpleName(), handlerName, MethodInterceptor.class.getName(),
                     InvocationHandler.class.getName()));
         }
     }
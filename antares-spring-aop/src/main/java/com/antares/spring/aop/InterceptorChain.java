@@ -0,0 +1,58 @@
+package com.antares.spring.aop;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一个Bean的所有Advisor，按order排序后为每个方法预先计算拦截器数组
+ */
+public class InterceptorChain implements InvocationHandler {
+
+    static final MethodInterceptor[] EMPTY = new MethodInterceptor[0];
+
+    final List<Advisor> advisors;
+    final Map<Method, MethodInterceptor[]> interceptors = new HashMap<>();
+
+    public InterceptorChain(Class<?> targetClass, List<Advisor> advisors) {
+        List<Advisor> sorted = new ArrayList<>(advisors);
+        // 稳定排序，order相同时先添加的先执行:
+        sorted.sort(Comparator.comparingInt(Advisor::order));
+        this.advisors = List.copyOf(sorted);
+        for (Method method : targetClass.getMethods()) {
+            List<MethodInterceptor> list = new ArrayList<>();
+            for (Advisor advisor : this.advisors) {
+                if (advisor.pointcut().matches(method, targetClass)) {
+                    list.add(advisor.interceptor());
+                }
+            }
+            if (!list.isEmpty()) {
+                this.interceptors.put(method, list.toArray(EMPTY));
+            }
+        }
+    }
+
+    public List<Advisor> getAdvisors() {
+        return this.advisors;
+    }
+
+    public MethodInterceptor[] getInterceptors(Method method) {
+        return this.interceptors.getOrDefault(method, EMPTY);
+    }
+
+    /**
+     * 至少有一个拦截器的方法
+     */
+    public Pointcut getPointcut() {
+        return (method, targetClass) -> this.interceptors.containsKey(method);
+    }
+
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        return new MethodInvocation(target, method, args, getInterceptors(method)).proceed();
+    }
+}
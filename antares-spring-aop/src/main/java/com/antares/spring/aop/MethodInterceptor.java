@@ -0,0 +1,12 @@
+package com.antares.spring.aop;
+
+/**
+ * 拦截器，与InvocationHandler不同，通过invocation.proceed()调用链上的下一个拦截器，
+ * 因此同一个Bean上的多个拦截器可以共享一个Proxy。
+ */
+@FunctionalInterface
+public interface MethodInterceptor {
+
+    Object invoke(MethodInvocation invocation) throws Throwable;
+
+}
@@ -0,0 +1,111 @@
+package com.antares.spring.aop;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.antares.spring.exception.AopConfigException;
+
+/**
+ * 一次方法调用，沿拦截器数组按下标依次执行，最后调用原始Bean的方法。
+ *
+ * proceed()返回后下标会恢复，拦截器可以多次调用proceed()，例如重试。
+ *
+ * 最后一步通过每个方法缓存的MethodHandle调用原始Bean，不使用反射的Method.invoke()；
+ * 参数仍是InvocationHandler约定的Object[]。
+ */
+public final class MethodInvocation {
+
+    static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    // 声明方法的类 -> (方法 -> 调用原始Bean的MethodHandle)，随声明类一起被回收:
+    static final ClassValue<Map<Method, MethodHandle>> INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    final Object target;
+    final Method method;
+    final Object[] args;
+    final MethodInterceptor[] interceptors;
+    int index = 0;
+
+    public MethodInvocation(Object target, Method method, Object[] args, MethodInterceptor[] interceptors) {
+        this.target = target;
+        this.method = method;
+        this.args = args;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 原始Bean
+     */
+    public Object getThis() {
+        return this.target;
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * 方法参数，拦截器可以修改
+     */
+    public Object[] getArguments() {
+        return this.args;
+    }
+
+    public Object proceed() throws Throwable {
+        final int i = this.index;
+        if (i == this.interceptors.length) {
+            return (Object) invoker(this.method).invokeExact(this.target, this.args);
+        }
+        this.index = i + 1;
+        try {
+            return this.interceptors[i].invoke(this);
+        } finally {
+            this.index = i;
+        }
+    }
+
+    /**
+     * 从当前位置继续的调用，参数为副本，可以在其他线程中proceed()
+     */
+    public MethodInvocation detach() {
+        return new MethodInvocation(this.target, this.method, this.args == null ? null : this.args.clone(),
+                Arrays.copyOfRange(this.interceptors, this.index, this.interceptors.length));
+    }
+
+    static MethodHandle invoker(Method method) {
+        Map<Method, MethodHandle> cache = INVOKERS.get(method.getDeclaringClass());
+        MethodHandle invoker = cache.get(method);
+        if (invoker == null) {
+            invoker = cache.computeIfAbsent(method, MethodInvocation::createInvoker);
+        }
+        return invoker;
+    }
+
+    // (Object target, Object[] args) -> Object，void方法返回null:
+    static MethodHandle createInvoker(Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MethodHandle handle;
+            try {
+                handle = lookup.unreflect(method);
+            } catch (IllegalAccessException e) {
+                // 例如非public类的public方法:
+                method.setAccessible(true);
+                handle = lookup.unreflect(method);
+            }
+            return handle.asFixedArity().asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new AopConfigException("Could not create invoker for method " + method, e);
+        }
+    }
+}
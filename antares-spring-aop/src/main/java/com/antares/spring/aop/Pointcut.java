@@ -0,0 +1,124 @@
+package com.antares.spring.aop;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.regex.Pattern;
+
+/**
+ * 切点，在创建Proxy时对每个public方法求值一次，只有匹配的方法会被拦截，例如：
+ *
+ * | Pointcut.annotatedWith(Metric.class)
+ * | Pointcut.methodName("get*").and(Pointcut.targetType("com.example.*Service"))
+ */
+@FunctionalInterface
+public interface Pointcut {
+
+    /**
+     * 匹配所有public方法
+     */
+    Pointcut ALL = (method, targetClass) -> true;
+
+    /**
+     * 匹配未被覆写的Object方法，如equals()、hashCode()、toString()
+     */
+    Pointcut OBJECT_METHODS = (method, targetClass) -> method.getDeclaringClass() == Object.class;
+
+    boolean matches(Method method, Class<?> targetClass);
+
+    default Pointcut and(Pointcut other) {
+        return (method, targetClass) -> matches(method, targetClass) && other.matches(method, targetClass);
+    }
+
+    default Pointcut or(Pointcut other) {
+        return (method, targetClass) -> matches(method, targetClass) || other.matches(method, targetClass);
+    }
+
+    default Pointcut negate() {
+        return (method, targetClass) -> !matches(method, targetClass);
+    }
+
+    /**
+     * 方法或其覆写的父类、接口方法上标注了指定注解
+     */
+    static Pointcut annotatedWith(Class<? extends Annotation> annotationClass) {
+        return (method, targetClass) -> findAnnotation(method, annotationClass) != null;
+    }
+
+    /**
+     * 方法上标注了指定注解，或目标类上标注了该注解时除Object方法外的所有public方法
+     */
+    static Pointcut annotatedMethodOrType(Class<? extends Annotation> annotationClass) {
+        Pointcut annotatedType = (method, targetClass) -> targetClass.isAnnotationPresent(annotationClass);
+        return annotatedWith(annotationClass).or(annotatedType.and(OBJECT_METHODS.negate()));
+    }
+
+    /**
+     * 按方法名匹配，支持通配符*和?
+     */
+    static Pointcut methodName(String pattern) {
+        Pattern p = globToPattern(pattern);
+        return (method, targetClass) -> p.matcher(method.getName()).matches();
+    }
+
+    /**
+     * 按目标类的全名匹配，支持通配符*和?
+     */
+    static Pointcut targetType(String pattern) {
+        Pattern p = globToPattern(pattern);
+        return (method, targetClass) -> p.matcher(targetClass.getName()).matches();
+    }
+
+    /**
+     * 目标类是type或其子类
+     */
+    static Pointcut targetType(Class<?> type) {
+        return (method, targetClass) -> type.isAssignableFrom(targetClass);
+    }
+
+    static <A extends Annotation> A findAnnotation(Method method, Class<A> annotationClass) {
+        A anno = method.getAnnotation(annotationClass);
+        if (anno != null) {
+            return anno;
+        }
+        // 方法上的注解不会被继承，查找被覆写的方法:
+        Class<?> clazz = method.getDeclaringClass();
+        for (Class<?> superType = clazz.getSuperclass(); superType != null
+                && superType != Object.class; superType = superType.getSuperclass()) {
+            anno = findAnnotation(superType, method, annotationClass);
+            if (anno != null) {
+                return anno;
+            }
+        }
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (Class<?> iface : c.getInterfaces()) {
+                anno = findAnnotation(iface, method, annotationClass);
+                if (anno != null) {
+                    return anno;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static <A extends Annotation> A findAnnotation(Class<?> type, Method method, Class<A> annotationClass) {
+        try {
+            return type.getDeclaredMethod(method.getName(), method.getParameterTypes()).getAnnotation(annotationClass);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Pattern globToPattern(String glob) {
+        StringBuilder sb = new StringBuilder();
+        int start = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                sb.append(Pattern.quote(glob.substring(start, i))).append(c == '*' ? ".*" : ".");
+                start = i + 1;
+            }
+        }
+        sb.append(Pattern.quote(glob.substring(start)));
+        return Pattern.compile(sb.toString());
+    }
+}
@@ -0,0 +1,10 @@
+package com.antares.spring.aop;
+
+/**
+ * 由InvocationHandler实现，声明需要拦截的方法。未实现时拦截所有public方法。
+ */
+public interface PointcutAdvisor {
+
+    Pointcut getPointcut();
+
+}
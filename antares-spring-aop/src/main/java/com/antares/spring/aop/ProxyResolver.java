@@ -1,68 +1,400 @@
 package com.antares.spring.aop;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.antares.spring.exception.AopConfigException;
+
+import jakarta.annotation.Nullable;
+
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
-import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.FieldValue;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 import net.bytebuddy.matcher.ElementMatchers;
 
 /**
  * Create proxy by subclassing and override methods with interceptor.
+ *
+ * 生成的Proxy类持有原始Bean及handler两个字段，同一个targetClass及相同的被拦截方法共享一个Proxy类：
+ * 被拦截的方法调用handler.invoke(bean, method, args)，其他public方法直接调用原始Bean的方法。
+ *
+ * Proxy类默认以hidden class定义在targetClass所在的包中，可以被并发创建。
+ * 如果存在编译期生成的Proxy类（见WovenProxySupport），则直接使用而不生成字节码。
  */
 public class ProxyResolver {
 
+    static final String TARGET_FIELD = "$$target";
+    static final String HANDLER_FIELD = "$$handler";
+
     final Logger logger = LoggerFactory.getLogger(getClass());
 
     ByteBuddy byteBuddy = new ByteBuddy();
 
-    private static ProxyResolver INSTANCE = null;
+    // 是否以hidden class加载Proxy类，不再被引用时可以被卸载:
+    final boolean hiddenClasses;
 
-    public static ProxyResolver getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new ProxyResolver();
+    // 是否使用编译期生成的Proxy类:
+    final boolean wovenClasses;
+
+    // targetClass -> (被拦截方法 -> Proxy类)，随targetClass一起被回收:
+    final ClassValue<Map<Set<Method>, FutureTask<ProxyClass>>> proxyClasses = new ClassValue<>() {
+        @Override
+        protected Map<Set<Method>, FutureTask<ProxyClass>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
         }
-        return INSTANCE;
+    };
+
+    // Proxy类 -> Proxy类的字段:
+    final ClassValue<Optional<ProxyClass>> proxyTypes = new ClassValue<>() {
+        @Override
+        protected Optional<ProxyClass> computeValue(Class<?> type) {
+            return Optional.ofNullable(inspectProxyClass(type));
+        }
+    };
+
+    // targetClass -> 编译期生成的Proxy类:
+    final ClassValue<Optional<WovenClass>> wovenTypes = new ClassValue<>() {
+        @Override
+        protected Optional<WovenClass> computeValue(Class<?> type) {
+            return Optional.ofNullable(findWovenClass(type));
+        }
+    };
+
+    final LongAdder generated = new LongAdder();
+    final LongAdder generationNanos = new LongAdder();
+    final LongAdder hidden = new LongAdder();
+    final LongAdder cacheHits = new LongAdder();
+    final LongAdder woven = new LongAdder();
+
+    public ProxyResolver() {
+        this(true);
     }
 
-    @SuppressWarnings("unchecked")
+    public ProxyResolver(boolean hiddenClasses) {
+        this(hiddenClasses, true);
+    }
+
+    public ProxyResolver(boolean hiddenClasses, boolean wovenClasses) {
+        this.hiddenClasses = hiddenClasses;
+        this.wovenClasses = wovenClasses;
+    }
+
+    public static ProxyResolver getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // 首次调用getInstance()时由JVM保证线程安全地初始化:
+    static class Holder {
+        static final ProxyResolver INSTANCE = new ProxyResolver();
+    }
+
+    /**
+     * handler实现了PointcutAdvisor时只拦截其切点匹配的方法，否则拦截所有public方法
+     */
     public <T> T createProxy(T bean, InvocationHandler handler) {
-        // 目标Bean的Class类型
-        Class<?> targetClass = bean.getClass();
+        Pointcut pointcut = handler instanceof PointcutAdvisor advisor ? advisor.getPointcut() : Pointcut.ALL;
+        return createProxy(bean, handler, pointcut);
+    }
+
+    /**
+     * 只拦截切点匹配的public方法，其他方法直接调用原始Bean
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T createProxy(T bean, InvocationHandler handler, Pointcut pointcut) {
+        // 目标Bean的Class类型，bean本身是Proxy时取被代理的类，因为hidden class不能被继承
+        Class<?> targetClass = userClass(bean.getClass());
+        Set<Method> advised = advisedMethods(targetClass, pointcut);
+        WovenClass wovenClass = this.wovenClasses ? this.wovenTypes.get(targetClass).orElse(null) : null;
+        if (wovenClass != null && !wovenClass.covers(advised)) {
+            wovenClass = null;
+        }
+        ProxyClass proxyClass = wovenClass != null ? wovenClass.proxyClass : getProxyClass(targetClass, advised);
+        // 创建Proxy实例
+        try {
+            // 使用无参构造方法创建实例
+            Object proxy = proxyClass.constructor.newInstance();
+            proxyClass.target.set(proxy, bean);
+            proxyClass.handler.set(proxy, handler);
+            if (wovenClass != null) {
+                wovenClass.advisedField.set(proxy, wovenClass.flags(advised));
+                this.woven.increment();
+            }
+            return (T) proxy;
+        } catch (ReflectiveOperationException e) {
+            throw new AopConfigException("Could not create proxy for " + targetClass.getName(), e);
+        }
+    }
+
+    /**
+     * 添加一个Advisor：bean已经是InterceptorChain的Proxy时，合并拦截器并为原始Bean重新创建一个Proxy，
+     * 而不是为Proxy再创建Proxy
+     */
+    public <T> T createProxy(T bean, Advisor advisor) {
+        Object target = bean;
+        List<Advisor> advisors = new ArrayList<>();
+        if (getHandler(bean) instanceof InterceptorChain chain) {
+            target = getTarget(bean);
+            advisors.addAll(chain.getAdvisors());
+        }
+        advisors.add(advisor);
+        // target可能是InvocationHandler的Proxy，按原始类的方法建立拦截器数组:
+        InterceptorChain chain = new InterceptorChain(userClass(target.getClass()), advisors);
+        @SuppressWarnings("unchecked")
+        T proxy = (T) createProxy(target, chain, chain.getPointcut());
+        return proxy;
+    }
+
+    public boolean isProxy(Object bean) {
+        return this.proxyTypes.get(bean.getClass()).isPresent();
+    }
+
+    /**
+     * 返回Proxy持有的原始Bean，不是Proxy时返回bean本身
+     */
+    public Object getTarget(Object bean) {
+        ProxyClass proxyClass = this.proxyTypes.get(bean.getClass()).orElse(null);
+        return proxyClass == null ? bean : get(proxyClass.target, bean);
+    }
+
+    @Nullable
+    public InvocationHandler getHandler(Object bean) {
+        ProxyClass proxyClass = this.proxyTypes.get(bean.getClass()).orElse(null);
+        return proxyClass == null ? null : (InvocationHandler) get(proxyClass.handler, bean);
+    }
+
+    Object get(Field field, Object proxy) {
+        try {
+            return field.get(proxy);
+        } catch (IllegalAccessException e) {
+            throw new AopConfigException(e);
+        }
+    }
+
+    /**
+     * Proxy类的生成次数、耗时及缓存命中次数
+     */
+    public ProxyStats getStats() {
+        return new ProxyStats(this.generated.sum(), this.hidden.sum(),
+                TimeUnit.NANOSECONDS.toMillis(this.generationNanos.sum()), this.cacheHits.sum(), this.woven.sum());
+    }
+
+    /**
+     * 返回缓存的Proxy类，不同的key可以并发生成，相同的key只生成一次
+     */
+    ProxyClass getProxyClass(Class<?> targetClass, Set<Method> advised) {
+        Map<Set<Method>, FutureTask<ProxyClass>> cache = this.proxyClasses.get(targetClass);
+        FutureTask<ProxyClass> task = cache.get(advised);
+        if (task == null) {
+            FutureTask<ProxyClass> newTask = new FutureTask<>(() -> generateProxyClass(targetClass, advised));
+            task = cache.putIfAbsent(advised, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        } else {
+            this.cacheHits.increment();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AopConfigException("Interrupted when create proxy class for " + targetClass.getName(), e);
+        } catch (ExecutionException e) {
+            // 生成失败时移除，下次重新生成:
+            cache.remove(advised, task);
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new AopConfigException("Could not create proxy class for " + targetClass.getName(), e.getCause());
+        }
+    }
+
+    Class<?> userClass(Class<?> clazz) {
+        while (this.proxyTypes.get(clazz).isPresent()) {
+            clazz = clazz.getSuperclass();
+        }
+        return clazz;
+    }
+
+    Set<Method> advisedMethods(Class<?> targetClass, Pointcut pointcut) {
+        Set<Method> methods = new HashSet<>();
+        for (Method method : targetClass.getMethods()) {
+            int mod = method.getModifiers();
+            if (!Modifier.isFinal(mod) && !Modifier.isStatic(mod) && pointcut.matches(method, targetClass)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    ProxyClass generateProxyClass(Class<?> targetClass, Set<Method> advisedMethods) {
+        final long start = System.nanoTime();
+        Set<MethodDescription.SignatureToken> advised = new HashSet<>();
+        for (Method method : advisedMethods) {
+            advised.add(new MethodDescription.ForLoadedMethod(method).asSignatureToken());
+        }
         // 动态创建Proxy（targetClass的子类）
-        Class<?> proxyClass = byteBuddy
+        DynamicType.Unloaded<?> unloaded = byteBuddy
                 // 子类用默认无参构造方法
                 .subclass(targetClass, ConstructorStrategy.Default.DEFAULT_CONSTRUCTOR)
-                // 拦截public方法
-                .method(ElementMatchers.isPublic()).intercept(InvocationHandlerAdapter.of(
-                        // 新的拦截器实例
-                        new InvocationHandler() {
-                            @Override
-                            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                                // 调用原始Bean的方法
-                                return handler.invoke(bean, method, args);
-                            }
-                        }))
+                .defineField(TARGET_FIELD, targetClass, Visibility.PUBLIC)
+                .defineField(HANDLER_FIELD, InvocationHandler.class, Visibility.PUBLIC)
+                // 未拦截的public方法直接调用原始Bean
+                .method(ElementMatchers.isPublic().and(m -> !advised.contains(m.asSignatureToken())))
+                .intercept(MethodCall.invokeSelf().onField(TARGET_FIELD).withAllArguments())
+                // 拦截的方法交给handler
+                .method(ElementMatchers.isPublic().and(m -> advised.contains(m.asSignatureToken())))
+                .intercept(MethodDelegation.to(ProxyInterceptor.class))
                 // 生成字节码
-                .make()
-                // 加载字节码
-                .load(targetClass.getClassLoader()).getLoaded();
+                .make();
+        // 加载字节码
+        Class<?> proxyType = load(unloaded, targetClass);
+        ProxyClass proxyClass = this.proxyTypes.get(proxyType).orElseThrow(
+                () -> new AopConfigException("Could not create proxy class for " + targetClass.getName()));
+        long elapsed = System.nanoTime() - start;
+        this.generated.increment();
+        this.generationNanos.add(elapsed);
+        logger.atDebug().log("generate proxy class {} with {} advised methods in {} us.", proxyType.getName(),
+                advised.size(), elapsed / 1000);
+        return proxyClass;
+    }
 
-        // 创建Proxy实例
-        Object proxy;
+    Class<?> load(DynamicType.Unloaded<?> unloaded, Class<?> targetClass) {
+        if (this.hiddenClasses && unloaded.getAuxiliaryTypes().isEmpty()) {
+            try {
+                // 在targetClass所在的包中定义hidden class，不依赖ClassLoader的生命周期:
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+                Class<?> proxyType = lookup.defineHiddenClass(unloaded.getBytes(), true).lookupClass();
+                unloaded.getLoadedTypeInitializers().get(unloaded.getTypeDescription()).onLoad(proxyType);
+                this.hidden.increment();
+                return proxyType;
+            } catch (IllegalAccessException | IllegalArgumentException | LinkageError e) {
+                logger.atDebug().log("cannot define hidden class for {}, fallback to class loader: {}",
+                        targetClass.getName(), e.toString());
+            }
+        }
+        return unloaded.load(targetClass.getClassLoader()).getLoaded();
+    }
+
+    static ProxyClass inspectProxyClass(Class<?> type) {
         try {
-            // 使用无参构造方法创建实例
-            proxy = proxyClass.getConstructor().newInstance();
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            Constructor<?> constructor = type.getConstructor();
+            Field target = type.getDeclaredField(TARGET_FIELD);
+            Field handler = type.getDeclaredField(HANDLER_FIELD);
+            constructor.setAccessible(true);
+            target.setAccessible(true);
+            handler.setAccessible(true);
+            return new ProxyClass(constructor, target, handler);
+        } catch (NoSuchFieldException | NoSuchMethodException e) {
+            return null;
         }
+    }
 
-        return (T) proxy;
+    /**
+     * 查找编译期生成的Proxy类，必须是targetClass的直接子类
+     */
+    WovenClass findWovenClass(Class<?> targetClass) {
+        Class<?> type;
+        try {
+            type = Class.forName(targetClass.getName() + WovenProxySupport.CLASS_SUFFIX, true,
+                    targetClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        ProxyClass proxyClass = this.proxyTypes.get(type).orElse(null);
+        if (type.getSuperclass() != targetClass || proxyClass == null) {
+            return null;
+        }
+        try {
+            Field methodsField = type.getDeclaredField(WovenProxySupport.METHODS_FIELD);
+            Field advisedField = type.getDeclaredField(WovenProxySupport.ADVISED_FIELD);
+            methodsField.setAccessible(true);
+            advisedField.setAccessible(true);
+            logger.atDebug().log("found woven proxy class {}.", type.getName());
+            return new WovenClass(proxyClass, (Method[]) methodsField.get(null), advisedField);
+        } catch (ReflectiveOperationException e) {
+            throw new AopConfigException("Invalid woven proxy class " + type.getName(), e);
+        }
+    }
+
+    public record ProxyStats(long generated, long hiddenClasses, long generationMillis, long cacheHits,
+            long wovenProxies) {
+    }
+
+    record ProxyClass(Constructor<?> constructor, Field target, Field handler) {
+    }
+
+    record WovenClass(ProxyClass proxyClass, Method[] methods, Field advisedField,
+            Map<Set<Method>, boolean[]> flags) {
+
+        WovenClass(ProxyClass proxyClass, Method[] methods, Field advisedField) {
+            this(proxyClass, methods, advisedField, new ConcurrentHashMap<>());
+        }
+
+        /**
+         * 生成的Proxy类覆写了所有被拦截的方法，bridge方法由编译器生成并调用被覆写的方法
+         */
+        boolean covers(Set<Method> advised) {
+            Set<Method> overridden = Set.of(this.methods);
+            for (Method method : advised) {
+                if (!method.isBridge() && !overridden.contains(method)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 与methods对应的是否拦截标记，相同的被拦截方法共享一个数组
+         */
+        boolean[] flags(Set<Method> advised) {
+            return this.flags.computeIfAbsent(advised, key -> {
+                boolean[] flags = new boolean[this.methods.length];
+                for (int i = 0; i < flags.length; i++) {
+                    flags[i] = key.contains(this.methods[i]);
+                }
+                return flags;
+            });
+        }
+    }
+
+    /**
+     * 被拦截方法的实现，Method由生成的Proxy类缓存
+     */
+    public static class ProxyInterceptor {
+
+        @RuntimeType
+        public static Object intercept(@FieldValue(TARGET_FIELD) Object target,
+                @FieldValue(HANDLER_FIELD) InvocationHandler handler, @Origin Method method,
+                @AllArguments Object[] args) throws Throwable {
+            // 调用原始Bean的方法
+            return handler.invoke(target, method, args);
+        }
     }
 }
@@ -0,0 +1,51 @@
+package com.antares.spring.aop;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+import com.antares.spring.exception.AopConfigException;
+
+/**
+ * 编译期生成的Proxy类（类名为targetClass的类名加"$$AntaresProxy"）调用的方法。
+ *
+ * 生成的Proxy类覆写targetClass的所有public方法，$$advised[i]为true的方法交给handler，
+ * 其他方法直接调用原始Bean，ProxyResolver找到生成的Proxy类时不再生成字节码。
+ * 原始Bean内部的自调用不经过Proxy，与运行期生成的Proxy一致。
+ */
+public final class WovenProxySupport {
+
+    public static final String CLASS_SUFFIX = "$$AntaresProxy";
+    public static final String METHODS_FIELD = "$$methods";
+    public static final String ADVISED_FIELD = "$$advised";
+
+    private WovenProxySupport() {
+    }
+
+    public static Method[] methods(Class<?> targetClass, String[] names, Class<?>[][] parameterTypes) {
+        Method[] methods = new Method[names.length];
+        for (int i = 0; i < names.length; i++) {
+            try {
+                methods[i] = targetClass.getMethod(names[i], parameterTypes[i]);
+            } catch (NoSuchMethodException e) {
+                throw new AopConfigException("Woven proxy of " + targetClass.getName() + " is out of date.", e);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * 与运行期生成的Proxy一样，handler抛出的异常原样抛出
+     */
+    public static Object invoke(Object target, InvocationHandler handler, Method method, Object[] args) {
+        try {
+            return handler.invoke(target, method, args);
+        } catch (Throwable t) {
+            throw WovenProxySupport.<RuntimeException>sneakyThrow(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Throwable> T sneakyThrow(Throwable t) throws T {
+        throw (T) t;
+    }
+}
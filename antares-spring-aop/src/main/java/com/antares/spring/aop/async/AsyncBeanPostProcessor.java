@@ -0,0 +1,76 @@
+package com.antares.spring.aop.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.antares.spring.aop.AdvisorBeanPostProcessor;
+import com.antares.spring.exception.AopConfigException;
+
+/**
+ * 为标注了@Async的Bean添加AsyncInterceptor，默认使用虚拟线程执行
+ */
+public class AsyncBeanPostProcessor extends AdvisorBeanPostProcessor implements AutoCloseable {
+
+    // 在其他拦截器之前执行，事务、统计等拦截器在执行线程中调用:
+    public static final int DEFAULT_ORDER = -100;
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final ExecutorService executor;
+    final long awaitTerminationMillis;
+    final AsyncInterceptor interceptor;
+
+    public AsyncBeanPostProcessor() {
+        this(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-", 0).factory()), 10_000);
+    }
+
+    public AsyncBeanPostProcessor(ExecutorService executor, long awaitTerminationMillis) {
+        this(new AsyncInterceptor(executor), executor, awaitTerminationMillis);
+    }
+
+    AsyncBeanPostProcessor(AsyncInterceptor interceptor, ExecutorService executor, long awaitTerminationMillis) {
+        super(interceptor, AsyncInterceptor.pointcut(), DEFAULT_ORDER);
+        this.interceptor = interceptor;
+        this.executor = executor;
+        this.awaitTerminationMillis = awaitTerminationMillis;
+    }
+
+    public ExecutorService getExecutor() {
+        return this.executor;
+    }
+
+    public void setExceptionHandler(AsyncExceptionHandler exceptionHandler) {
+        this.interceptor.setExceptionHandler(exceptionHandler);
+    }
+
+    @Override
+    protected void validate(Class<?> beanClass, Method method) {
+        if (!AsyncInterceptor.isAsyncReturnType(method.getReturnType())) {
+            throw new AopConfigException(String.format(
+                    "@Async method %s.%s() must return void, Future, CompletionStage or CompletableFuture.",
+                    beanClass.getSimpleName(), method.getName()));
+        }
+    }
+
+    /**
+     * 等待已提交的任务完成，超时后中断
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(this.awaitTerminationMillis, TimeUnit.MILLISECONDS)) {
+                logger.atWarn().log("Async tasks not finished in {} ms, interrupt them.", this.awaitTerminationMillis);
+                this.executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
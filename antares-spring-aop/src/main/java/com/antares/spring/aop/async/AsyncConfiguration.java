@@ -0,0 +1,27 @@
+package com.antares.spring.aop.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.antares.spring.annotation.Bean;
+import com.antares.spring.annotation.Configuration;
+import com.antares.spring.annotation.Value;
+
+/**
+ * 通过@Import(AsyncConfiguration.class)启用@Async
+ */
+@Configuration
+public class AsyncConfiguration {
+
+    @Bean(destroyMethod = "close")
+    AsyncBeanPostProcessor asyncBeanPostProcessor( //
+            @Value("${spring.async.virtual-threads:true}") boolean virtualThreads, //
+            @Value("${spring.async.pool-size:8}") int poolSize, //
+            @Value("${spring.async.thread-name-prefix:async-}") String threadNamePrefix, //
+            @Value("${spring.async.await-termination:10000}") long awaitTerminationMillis) {
+        ExecutorService executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory())
+                : Executors.newFixedThreadPool(poolSize, Thread.ofPlatform().name(threadNamePrefix, 0).daemon().factory());
+        return new AsyncBeanPostProcessor(executor, awaitTerminationMillis);
+    }
+}
@@ -0,0 +1,13 @@
+package com.antares.spring.aop.async;
+
+import java.lang.reflect.Method;
+
+/**
+ * 处理返回void的@Async方法抛出的异常，返回Future的方法通过Future传递异常
+ */
+@FunctionalInterface
+public interface AsyncExceptionHandler {
+
+    void handleException(Throwable ex, Method method, Object[] args);
+
+}
@@ -0,0 +1,154 @@
+package com.antares.spring.aop.async;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.antares.spring.annotation.Async;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+import com.antares.spring.aop.Pointcut;
+import com.antares.spring.context.ApplicationContext;
+import com.antares.spring.context.ApplicationContextUtils;
+
+/**
+ * 将@Async方法的后续调用提交到Executor执行，调用方立即返回。
+ *
+ * 调用方的MDC会被复制到执行线程，事务等其他ThreadLocal状态不会传递，
+ * 异步方法上的@Transactional在执行线程中开启新事务。
+ */
+public class AsyncInterceptor implements MethodInterceptor {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final Executor defaultExecutor;
+    final Map<Method, Executor> executors = new ConcurrentHashMap<>();
+    volatile AsyncExceptionHandler exceptionHandler;
+
+    public AsyncInterceptor(Executor defaultExecutor) {
+        this.defaultExecutor = defaultExecutor;
+    }
+
+    public void setExceptionHandler(AsyncExceptionHandler exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        Executor executor = this.executors.get(method);
+        if (executor == null) {
+            final Class<?> targetClass = invocation.getThis().getClass();
+            executor = this.executors.computeIfAbsent(method, m -> resolveExecutor(m, targetClass));
+        }
+        final MethodInvocation detached = invocation.detach();
+        final Map<String, String> mdc = MDC.getCopyOfContextMap();
+        if (method.getReturnType() == void.class) {
+            executor.execute(() -> runWithMdc(mdc, () -> {
+                try {
+                    detached.proceed();
+                } catch (Throwable t) {
+                    handleException(t, method, detached.getArguments());
+                }
+            }));
+            return null;
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        executor.execute(() -> runWithMdc(mdc, () -> {
+            try {
+                complete(result, detached.proceed());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }));
+        return result;
+    }
+
+    void complete(CompletableFuture<Object> result, Object value) throws InterruptedException {
+        if (value instanceof CompletionStage<?> stage) {
+            stage.whenComplete((r, t) -> {
+                if (t != null) {
+                    result.completeExceptionally(t);
+                } else {
+                    result.complete(r);
+                }
+            });
+        } else if (value instanceof Future<?> future) {
+            try {
+                result.complete(future.get());
+            } catch (ExecutionException e) {
+                result.completeExceptionally(e.getCause());
+            }
+        } else {
+            result.complete(value);
+        }
+    }
+
+    void runWithMdc(Map<String, String> mdc, Runnable task) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            task.run();
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    void handleException(Throwable t, Method method, Object[] args) {
+        AsyncExceptionHandler handler = this.exceptionHandler;
+        if (handler == null) {
+            // 未设置时使用容器中的AsyncExceptionHandler:
+            ApplicationContext ctx = ApplicationContextUtils.getApplicationContext();
+            List<AsyncExceptionHandler> handlers = ctx == null ? List.of() : ctx.getBeans(AsyncExceptionHandler.class);
+            if (!handlers.isEmpty()) {
+                handler = handlers.get(0);
+            }
+        }
+        if (handler != null) {
+            try {
+                handler.handleException(t, method, args);
+                return;
+            } catch (Exception e) {
+                logger.atError().setCause(e).log("AsyncExceptionHandler failed.");
+            }
+        }
+        logger.atError().setCause(t).log("Async method {}.{}() failed.", method.getDeclaringClass().getSimpleName(),
+                method.getName());
+    }
+
+    Executor resolveExecutor(Method method, Class<?> targetClass) {
+        Async async = Pointcut.findAnnotation(method, Async.class);
+        if (async == null) {
+            async = targetClass.getAnnotation(Async.class);
+        }
+        if (async == null || async.value().isEmpty()) {
+            return this.defaultExecutor;
+        }
+        return ApplicationContextUtils.getRequiredApplicationContext().getBean(async.value(), Executor.class);
+    }
+
+    /**
+     * 标注了@Async的方法，或类上标注了@Async时除Object方法外的所有public方法
+     */
+    public static Pointcut pointcut() {
+        return Pointcut.annotatedMethodOrType(Async.class);
+    }
+
+    static boolean isAsyncReturnType(Class<?> type) {
+        return type == void.class || type == CompletableFuture.class || type == CompletionStage.class
+                || type == Future.class;
+    }
+}
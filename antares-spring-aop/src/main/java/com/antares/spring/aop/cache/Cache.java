@@ -0,0 +1,34 @@
+package com.antares.spring.aop.cache;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 方法结果缓存
+ */
+public interface Cache {
+
+    String getName();
+
+    /**
+     * 未缓存或缓存的值为null时都返回null
+     */
+    @Nullable
+    Object getIfPresent(Object key);
+
+    /**
+     * 未缓存时调用loader加载并缓存，同一个key同时只有一个loader执行，其他调用方等待其结果
+     */
+    @Nullable
+    Object get(Object key, ValueLoader loader) throws Throwable;
+
+    void put(Object key, @Nullable Object value);
+
+    void evict(Object key);
+
+    void clear();
+
+    @FunctionalInterface
+    interface ValueLoader {
+        Object load() throws Throwable;
+    }
+}
@@ -0,0 +1,54 @@
+package com.antares.spring.aop.cache;
+
+import java.lang.reflect.Method;
+
+import com.antares.spring.annotation.CacheEvict;
+import com.antares.spring.annotation.Cacheable;
+import com.antares.spring.aop.AdvisorBeanPostProcessor;
+import com.antares.spring.aop.Pointcut;
+import com.antares.spring.exception.AopConfigException;
+
+/**
+ * 为有@Cacheable或@CacheEvict方法的Bean添加CacheInterceptor
+ */
+public class CacheBeanPostProcessor extends AdvisorBeanPostProcessor {
+
+    // 在事务拦截器之外执行，命中缓存时不开启事务:
+    public static final int DEFAULT_ORDER = 100;
+
+    final CacheManager cacheManager;
+
+    public CacheBeanPostProcessor(CacheManager cacheManager) {
+        super(new CacheInterceptor(cacheManager), CacheInterceptor.pointcut(), DEFAULT_ORDER);
+        this.cacheManager = cacheManager;
+    }
+
+    public CacheManager getCacheManager() {
+        return this.cacheManager;
+    }
+
+    @Override
+    protected void validate(Class<?> beanClass, Method method) {
+        Cacheable cacheable = Pointcut.findAnnotation(method, Cacheable.class);
+        CacheEvict evict = Pointcut.findAnnotation(method, CacheEvict.class);
+        if (cacheable != null && evict != null) {
+            throw new AopConfigException(String.format("Method %s.%s() cannot have both @Cacheable and @CacheEvict.",
+                    beanClass.getSimpleName(), method.getName()));
+        }
+        if (cacheable != null && method.getReturnType() == void.class) {
+            throw new AopConfigException(String.format("@Cacheable method %s.%s() must have return value.",
+                    beanClass.getSimpleName(), method.getName()));
+        }
+        // @Cacheable默认的Key包含方法，按参数移除时无法对应，必须显式指定key()或allEntries:
+        if (evict != null && evict.key().length == 0 && !evict.allEntries()) {
+            throw new AopConfigException(String.format("@CacheEvict method %s.%s() must specify key() or allEntries.",
+                    beanClass.getSimpleName(), method.getName()));
+        }
+        for (int index : cacheable != null ? cacheable.key() : evict.key()) {
+            if (index < 0 || index >= method.getParameterCount()) {
+                throw new AopConfigException(String.format("Invalid cache key parameter index %s of method %s.%s().",
+                        index, beanClass.getSimpleName(), method.getName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.antares.spring.aop.cache;
+
+import com.antares.spring.annotation.Autowired;
+import com.antares.spring.annotation.Bean;
+import com.antares.spring.annotation.Configuration;
+import com.antares.spring.annotation.Value;
+
+/**
+ * 通过@Import(CacheConfiguration.class)启用@Cacheable及@CacheEvict
+ */
+@Configuration
+public class CacheConfiguration {
+
+    @Bean
+    CacheBeanPostProcessor cacheBeanPostProcessor( //
+            @Value("${spring.cache.max-size:10000}") int maxSize, //
+            @Value("${spring.cache.ttl:0}") long ttlMillis) {
+        return new CacheBeanPostProcessor(new ConcurrentLruCacheManager(maxSize, ttlMillis));
+    }
+
+    @Bean
+    CacheManager cacheManager(@Autowired CacheBeanPostProcessor cacheBeanPostProcessor) {
+        return cacheBeanPostProcessor.getCacheManager();
+    }
+}
@@ -0,0 +1,73 @@
+package com.antares.spring.aop.cache;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.antares.spring.annotation.CacheEvict;
+import com.antares.spring.annotation.Cacheable;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+import com.antares.spring.aop.Pointcut;
+
+/**
+ * 处理@Cacheable及@CacheEvict，Key由key()指定的方法参数生成。
+ *
+ * @Cacheable未指定key()时Key包含方法，同一个Cache中参数相同的不同方法不会互相覆盖；
+ * 指定了key()的Key只由参数生成，可以被@CacheEvict按相同参数移除，@CacheEvict必须指定key()或allEntries。
+ */
+public class CacheInterceptor implements MethodInterceptor {
+
+    final CacheManager cacheManager;
+    final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+
+    public CacheInterceptor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        Operation op = this.operations.get(method);
+        if (op == null) {
+            op = this.operations.computeIfAbsent(method, this::resolve);
+        }
+        if (op.evict) {
+            Object result = invocation.proceed();
+            if (op.allEntries) {
+                op.cache.clear();
+            } else {
+                op.cache.evict(op.keyOf(invocation.getArguments()));
+            }
+            return result;
+        }
+        return op.cache.get(op.keyOf(invocation.getArguments()), invocation::proceed);
+    }
+
+    Operation resolve(Method method) {
+        Cacheable cacheable = Pointcut.findAnnotation(method, Cacheable.class);
+        if (cacheable != null) {
+            return new Operation(this.cacheManager.getCache(cacheable.value()), method, cacheable.key(), false, false);
+        }
+        CacheEvict evict = Pointcut.findAnnotation(method, CacheEvict.class);
+        return new Operation(this.cacheManager.getCache(evict.value()), method, evict.key(), true, evict.allEntries());
+    }
+
+    public static Pointcut pointcut() {
+        return Pointcut.annotatedWith(Cacheable.class).or(Pointcut.annotatedWith(CacheEvict.class));
+    }
+
+    record Operation(Cache cache, Method method, int[] keyParams, boolean evict, boolean allEntries) {
+
+        Object keyOf(Object[] args) {
+            if (this.keyParams.length == 0) {
+                return CacheKey.of(this.method, args);
+            }
+            Object[] params = new Object[this.keyParams.length];
+            for (int i = 0; i < params.length; i++) {
+                params[i] = args[this.keyParams[i]];
+            }
+            return CacheKey.of(params);
+        }
+    }
+}
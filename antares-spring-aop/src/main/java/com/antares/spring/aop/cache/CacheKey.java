@@ -0,0 +1,65 @@
+package com.antares.spring.aop.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * 由方法参数生成的缓存Key，按数组内容比较
+ */
+public final class CacheKey {
+
+    public static final CacheKey EMPTY = new CacheKey(new Object[0]);
+
+    final Object[] params;
+    final int hash;
+
+    CacheKey(Object[] params) {
+        this.params = params;
+        this.hash = Arrays.deepHashCode(params);
+    }
+
+    /**
+     * 单个非数组参数直接作为Key，避免额外的包装
+     */
+    public static Object of(Object[] args) {
+        if (args == null || args.length == 0) {
+            return EMPTY;
+        }
+        if (args.length == 1) {
+            Object arg = args[0];
+            if (arg != null && !arg.getClass().isArray()) {
+                return arg;
+            }
+        }
+        return new CacheKey(args.clone());
+    }
+
+    /**
+     * 包含方法的Key，参数相同的不同方法得到不同的Key
+     */
+    public static Object of(Method method, Object[] args) {
+        int n = args == null ? 0 : args.length;
+        Object[] params = new Object[n + 1];
+        params[0] = method;
+        if (n > 0) {
+            System.arraycopy(args, 0, params, 1, n);
+        }
+        return new CacheKey(params);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CacheKey other && this.hash == other.hash
+                && Arrays.deepEquals(this.params, other.params));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheKey" + Arrays.deepToString(this.params);
+    }
+}
@@ -0,0 +1,14 @@
+package com.antares.spring.aop.cache;
+
+import java.util.Collection;
+
+/**
+ * 按名称获取Cache，不存在时创建
+ */
+public interface CacheManager {
+
+    Cache getCache(String name);
+
+    Collection<String> getCacheNames();
+
+}
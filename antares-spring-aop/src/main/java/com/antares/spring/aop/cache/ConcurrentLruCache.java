@@ -0,0 +1,235 @@
+package com.antares.spring.aop.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 分段加锁的LRU缓存，按容量及TTL淘汰。
+ *
+ * 按key的hash分为多个段，每段是一个访问顺序的LinkedHashMap，只在段内加锁，
+ * 因此LRU是段内近似的。加载中的key记录在loading中，并发的未命中只触发一次加载；
+ * 加载期间该key被evict或整个缓存被clear时，加载结果返回给调用方但不写入缓存。
+ */
+public class ConcurrentLruCache implements Cache {
+
+    // 缓存null返回值:
+    static final Object NULL = new Object();
+
+    static final int MAX_SEGMENTS = 16;
+
+    final String name;
+    final long ttlMillis;
+    final Segment[] segments;
+    final Map<Object, Loading> loading = new ConcurrentHashMap<>();
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder loads = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param ttlMillis 0表示不过期
+     */
+    public ConcurrentLruCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive.");
+        }
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        int n = 1;
+        while (n < MAX_SEGMENTS && n * 2 * 16 <= maxSize) {
+            n *= 2;
+        }
+        this.segments = new Segment[n];
+        int capacity = (maxSize + n - 1) / n;
+        for (int i = 0; i < n; i++) {
+            this.segments[i] = new Segment(capacity);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    @Nullable
+    public Object getIfPresent(Object key) {
+        Object value = segmentFor(key).get(key);
+        if (value == null) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        return value == NULL ? null : value;
+    }
+
+    @Override
+    @Nullable
+    public Object get(Object key, ValueLoader loader) throws Throwable {
+        Segment segment = segmentFor(key);
+        Object value = segment.get(key);
+        if (value != null) {
+            this.hits.increment();
+            return value == NULL ? null : value;
+        }
+        this.misses.increment();
+        Loading current = new Loading();
+        Loading existing = this.loading.putIfAbsent(key, current);
+        if (existing != null) {
+            // 等待正在进行的加载:
+            try {
+                value = existing.future.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+            return value == NULL ? null : value;
+        }
+        try {
+            // 其他线程可能在get()之后刚完成加载:
+            value = segment.get(key);
+            if (value == null) {
+                this.loads.increment();
+                Object loaded = loader.load();
+                value = loaded == null ? NULL : loaded;
+                segment.putIfNotStale(key, value, expiresAt(), current);
+            }
+            current.future.complete(value);
+            return value == NULL ? null : value;
+        } catch (Throwable t) {
+            current.future.completeExceptionally(t);
+            throw t;
+        } finally {
+            this.loading.remove(key, current);
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        segmentFor(key).put(key, value == null ? NULL : value, expiresAt());
+    }
+
+    @Override
+    public void evict(Object key) {
+        // 先标记正在加载的值，再移除已缓存的值:
+        Loading current = this.loading.get(key);
+        if (current != null) {
+            current.stale = true;
+        }
+        segmentFor(key).remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for (Loading current : this.loading.values()) {
+            current.stale = true;
+        }
+        for (Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getLoads() {
+        return this.loads.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    long expiresAt() {
+        return this.ttlMillis > 0 ? System.currentTimeMillis() + this.ttlMillis : Long.MAX_VALUE;
+    }
+
+    Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return this.segments[h & (this.segments.length - 1)];
+    }
+
+    final class Segment {
+
+        final int capacity;
+        final LinkedHashMap<Object, Entry> map;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                    if (size() > Segment.this.capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Object get(Object key) {
+            Entry entry = this.map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                this.map.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(Object key, Object value, long expiresAt) {
+            this.map.put(key, new Entry(value, expiresAt));
+        }
+
+        // 与remove()在同一个锁内检查，evict()之后不会写入旧值:
+        synchronized void putIfNotStale(Object key, Object value, long expiresAt, Loading loading) {
+            if (!loading.stale) {
+                this.map.put(key, new Entry(value, expiresAt));
+            }
+        }
+
+        synchronized void remove(Object key) {
+            this.map.remove(key);
+        }
+
+        synchronized void clear() {
+            this.map.clear();
+        }
+
+        synchronized int size() {
+            return this.map.size();
+        }
+    }
+
+    record Entry(Object value, long expiresAt) {
+    }
+
+    static final class Loading {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        // 加载期间key被移除:
+        volatile boolean stale = false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.antares.spring.aop.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按名称创建ConcurrentLruCache，所有Cache使用相同的容量及TTL
+ */
+public class ConcurrentLruCacheManager implements CacheManager {
+
+    final int maxSize;
+    final long ttlMillis;
+    final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public ConcurrentLruCacheManager(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = this.caches.get(name);
+        return cache != null ? cache : this.caches.computeIfAbsent(name, n -> new ConcurrentLruCache(n, this.maxSize, this.ttlMillis));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return List.copyOf(this.caches.keySet());
+    }
+}
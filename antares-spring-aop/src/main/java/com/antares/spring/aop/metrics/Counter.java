@@ -0,0 +1,36 @@
+package com.antares.spring.aop.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 调用次数统计
+ */
+public class Counter {
+
+    final String name;
+    final LongAdder count = new LongAdder();
+    final LongAdder failures = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment(boolean success) {
+        this.count.increment();
+        if (!success) {
+            this.failures.increment();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getFailures() {
+        return this.failures.sum();
+    }
+}
@@ -0,0 +1,112 @@
+package com.antares.spring.aop.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的延迟直方图，以微秒记录，类似HdrHistogram的对数-线性分桶：
+ *
+ * 小于64us的值精确记录，之后每个2的幂区间再均分为32个桶，相对误差约3%。
+ * 超过MAX_VALUE的值记入最后一个桶。
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BITS = 5;
+    static final int SUB_COUNT = 1 << SUB_BITS;
+    static final int LINEAR_LIMIT = SUB_COUNT << 1;
+    static final int MAX_EXPONENT = 36;
+    // 约19小时:
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BITS) * SUB_COUNT;
+
+    final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    final LongAdder count = new LongAdder();
+    final LongAdder sum = new LongAdder();
+    final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long value, TimeUnit unit) {
+        recordMicros(unit.toMicros(value));
+    }
+
+    public void recordMicros(long micros) {
+        long v = Math.min(Math.max(micros, 0), MAX_VALUE);
+        this.counts.incrementAndGet(indexOf(v));
+        this.count.increment();
+        this.sum.add(v);
+        this.max.accumulate(v);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getTotalMicros() {
+        return this.sum.sum();
+    }
+
+    public long getMaxMicros() {
+        return this.max.get();
+    }
+
+    public double getMeanMicros() {
+        long n = getCount();
+        return n == 0 ? 0 : (double) getTotalMicros() / n;
+    }
+
+    /**
+     * 返回百分位的延迟(微秒)，例如percentile(99.9)，结果为所在桶的上界
+     */
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100));
+        long acc = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            acc += snapshot[i];
+            if (acc >= target) {
+                return Math.min(highestValueOf(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    /**
+     * 清空所有记录，与并发的record()之间不保证原子性
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.reset();
+    }
+
+    static int indexOf(long v) {
+        if (v < LINEAR_LIMIT) {
+            return (int) v;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exponent - SUB_BITS)) - SUB_COUNT;
+        return LINEAR_LIMIT + (exponent - SUB_BITS - 1) * SUB_COUNT + sub;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_COUNT + SUB_BITS + 1;
+        int sub = (index - LINEAR_LIMIT) % SUB_COUNT;
+        return ((long) (SUB_COUNT + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.antares.spring.aop.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 按名称保存Timer及Counter
+ */
+public class MeterRegistry {
+
+    final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public Timer timer(String name) {
+        Timer timer = this.timers.get(name);
+        return timer != null ? timer : this.timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public Counter counter(String name) {
+        Counter counter = this.counters.get(name);
+        return counter != null ? counter : this.counters.computeIfAbsent(name, Counter::new);
+    }
+
+    @Nullable
+    public Timer getTimer(String name) {
+        return this.timers.get(name);
+    }
+
+    @Nullable
+    public Counter getCounter(String name) {
+        return this.counters.get(name);
+    }
+
+    /**
+     * 所有Timer的快照，按名称排序
+     */
+    public List<TimerSnapshot> snapshot() {
+        List<TimerSnapshot> list = new ArrayList<>();
+        for (Timer timer : this.timers.values()) {
+            list.add(timer.snapshot());
+        }
+        list.sort(Comparator.comparing(TimerSnapshot::name));
+        return list;
+    }
+
+    public List<Counter> getCounters() {
+        List<Counter> list = new ArrayList<>(this.counters.values());
+        list.sort(Comparator.comparing(Counter::getName));
+        return list;
+    }
+}
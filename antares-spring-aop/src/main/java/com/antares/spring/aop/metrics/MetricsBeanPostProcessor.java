@@ -0,0 +1,27 @@
+package com.antares.spring.aop.metrics;
+
+import com.antares.spring.aop.AdvisorBeanPostProcessor;
+
+/**
+ * 为标注了@Timed或@Counted的Bean添加MetricsInterceptor
+ */
+public class MetricsBeanPostProcessor extends AdvisorBeanPostProcessor {
+
+    // 默认在事务等拦截器之外执行，记录的耗时包含提交事务:
+    public static final int DEFAULT_ORDER = 0;
+
+    final MeterRegistry registry;
+
+    public MetricsBeanPostProcessor() {
+        this(new MeterRegistry(), DEFAULT_ORDER);
+    }
+
+    public MetricsBeanPostProcessor(MeterRegistry registry, int order) {
+        super(new MetricsInterceptor(registry), MetricsInterceptor.pointcut(), order);
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return this.registry;
+    }
+}
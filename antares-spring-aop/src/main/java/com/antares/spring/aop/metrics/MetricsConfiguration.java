@@ -0,0 +1,22 @@
+package com.antares.spring.aop.metrics;
+
+import com.antares.spring.annotation.Autowired;
+import com.antares.spring.annotation.Bean;
+import com.antares.spring.annotation.Configuration;
+
+/**
+ * 通过@Import(MetricsConfiguration.class)启用@Timed及@Counted
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    MetricsBeanPostProcessor metricsBeanPostProcessor() {
+        return new MetricsBeanPostProcessor();
+    }
+
+    @Bean
+    MeterRegistry meterRegistry(@Autowired MetricsBeanPostProcessor metricsBeanPostProcessor) {
+        return metricsBeanPostProcessor.getRegistry();
+    }
+}
@@ -0,0 +1,79 @@
+package com.antares.spring.aop.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.antares.spring.annotation.Counted;
+import com.antares.spring.annotation.Timed;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+import com.antares.spring.aop.Pointcut;
+
+/**
+ * 记录@Timed及@Counted方法的耗时和调用次数
+ */
+public class MetricsInterceptor implements MethodInterceptor {
+
+    final MeterRegistry registry;
+
+    // 每个方法的Timer及Counter只查找一次:
+    final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public MetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        Meters m = this.meters.get(method);
+        if (m == null) {
+            final Class<?> targetClass = invocation.getThis().getClass();
+            m = this.meters.computeIfAbsent(method, k -> resolve(k, targetClass));
+        }
+        final long start = m.timer == null ? 0 : System.nanoTime();
+        boolean success = false;
+        try {
+            Object r = invocation.proceed();
+            success = true;
+            return r;
+        } finally {
+            if (m.timer != null) {
+                m.timer.record(System.nanoTime() - start, success);
+            }
+            if (m.counter != null) {
+                m.counter.increment(success);
+            }
+        }
+    }
+
+    Meters resolve(Method method, Class<?> targetClass) {
+        Timed timed = Pointcut.findAnnotation(method, Timed.class);
+        String timerName = timed != null ? timed.value() : null;
+        if (timed == null && targetClass.isAnnotationPresent(Timed.class)) {
+            timerName = "";
+        }
+        Counted counted = Pointcut.findAnnotation(method, Counted.class);
+        String counterName = counted != null ? counted.value() : null;
+        if (counted == null && targetClass.isAnnotationPresent(Counted.class)) {
+            counterName = "";
+        }
+        return new Meters(timerName == null ? null : this.registry.timer(nameOf(timerName, method, targetClass)),
+                counterName == null ? null : this.registry.counter(nameOf(counterName, method, targetClass)));
+    }
+
+    static String nameOf(String name, Method method, Class<?> targetClass) {
+        return name.isEmpty() ? targetClass.getSimpleName() + "." + method.getName() : name;
+    }
+
+    /**
+     * 标注了@Timed或@Counted的方法，或类上标注了@Timed或@Counted时除Object方法外的所有public方法
+     */
+    public static Pointcut pointcut() {
+        return Pointcut.annotatedMethodOrType(Timed.class).or(Pointcut.annotatedMethodOrType(Counted.class));
+    }
+
+    record Meters(Timer timer, Counter counter) {
+    }
+}
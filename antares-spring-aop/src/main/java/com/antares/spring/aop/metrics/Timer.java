@@ -0,0 +1,43 @@
+package com.antares.spring.aop.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时统计
+ */
+public class Timer {
+
+    final String name;
+    final LatencyHistogram histogram = new LatencyHistogram();
+    final LongAdder errors = new LongAdder();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public void record(long elapsedNanos, boolean success) {
+        this.histogram.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (!success) {
+            this.errors.increment();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public LatencyHistogram getHistogram() {
+        return this.histogram;
+    }
+
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    public TimerSnapshot snapshot() {
+        return new TimerSnapshot(this.name, this.histogram.getCount(), getErrors(), this.histogram.getMeanMicros(),
+                this.histogram.percentile(50), this.histogram.percentile(90), this.histogram.percentile(99),
+                this.histogram.getMaxMicros());
+    }
+}
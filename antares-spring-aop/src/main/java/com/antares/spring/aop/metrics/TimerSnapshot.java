@@ -0,0 +1,9 @@
+package com.antares.spring.aop.metrics;
+
+/**
+ * Timer的快照，耗时单位为微秒
+ */
+public record TimerSnapshot(String name, long count, long errors, double mean, long p50, long p90, long p99,
+        long max) {
+
+}
@@ -0,0 +1,157 @@
+package com.antares.spring.aop.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.antares.spring.annotation.CircuitBreaker;
+
+/**
+ * 熔断器，状态及滑动窗口都不加锁。
+ *
+ * 每个CLOSED状态持有自己的环形窗口，状态切换时通过CAS替换整个状态对象，
+ * 切换前获取的状态上的调用结果不会影响新状态。
+ */
+public class Breaker {
+
+    public enum Status {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    final String name;
+    final int failureRateThreshold;
+    final int slidingWindowSize;
+    final int minimumCalls;
+    final long waitDurationMillis;
+    final int permittedCallsInHalfOpenState;
+    final Class<? extends Throwable>[] recordOn;
+
+    final AtomicReference<State> state;
+
+    public Breaker(String name, CircuitBreaker config) {
+        this.name = name;
+        this.failureRateThreshold = config.failureRateThreshold();
+        this.slidingWindowSize = Math.max(1, config.slidingWindowSize());
+        this.minimumCalls = Math.max(1, Math.min(config.minimumCalls(), this.slidingWindowSize));
+        this.waitDurationMillis = config.waitDurationInOpenState();
+        this.permittedCallsInHalfOpenState = Math.max(1, config.permittedCallsInHalfOpenState());
+        this.recordOn = config.recordOn();
+        this.state = new AtomicReference<>(closed());
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Status getStatus() {
+        return this.state.get().status;
+    }
+
+    /**
+     * 当前窗口内的失败率，调用次数不足时返回-1
+     */
+    public int getFailureRate() {
+        State s = this.state.get();
+        return s.window == null ? -1 : s.window.failureRate(this.minimumCalls);
+    }
+
+    /**
+     * 获取调用许可，返回的状态用于记录调用结果，不允许调用时返回null
+     */
+    State tryAcquire() {
+        for (;;) {
+            State s = this.state.get();
+            switch (s.status) {
+            case CLOSED:
+                return s;
+            case OPEN:
+                if (System.currentTimeMillis() - s.since < this.waitDurationMillis) {
+                    return null;
+                }
+                this.state.compareAndSet(s, halfOpen());
+                break;
+            case HALF_OPEN:
+                return s.permits.getAndDecrement() > 0 ? s : null;
+            }
+        }
+    }
+
+    void onSuccess(State s) {
+        if (s.status == Status.CLOSED) {
+            s.window.record(false);
+        } else if (s.successes.incrementAndGet() >= this.permittedCallsInHalfOpenState) {
+            this.state.compareAndSet(s, closed());
+        }
+    }
+
+    void onFailure(State s) {
+        if (s.status == Status.CLOSED) {
+            s.window.record(true);
+            int rate = s.window.failureRate(this.minimumCalls);
+            if (rate >= 0 && rate >= this.failureRateThreshold) {
+                this.state.compareAndSet(s, open());
+            }
+        } else {
+            // 半开状态下任一失败重新熔断:
+            this.state.compareAndSet(s, open());
+        }
+    }
+
+    void onResult(State s, Throwable t) {
+        if (t != null && RetryPolicy.matches(this.recordOn, t)) {
+            onFailure(s);
+        } else {
+            onSuccess(s);
+        }
+    }
+
+    State closed() {
+        return new State(Status.CLOSED, System.currentTimeMillis(), new Window(this.slidingWindowSize), null, null);
+    }
+
+    State open() {
+        return new State(Status.OPEN, System.currentTimeMillis(), null, null, null);
+    }
+
+    State halfOpen() {
+        return new State(Status.HALF_OPEN, System.currentTimeMillis(), null,
+                new AtomicInteger(this.permittedCallsInHalfOpenState), new AtomicInteger());
+    }
+
+    record State(Status status, long since, Window window, AtomicInteger permits, AtomicInteger successes) {
+    }
+
+    /**
+     * 最近N次调用结果的环形缓冲，0为空，1为成功，2为失败
+     */
+    static final class Window {
+
+        final AtomicIntegerArray ring;
+        final AtomicLong cursor = new AtomicLong();
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        Window(int size) {
+            this.ring = new AtomicIntegerArray(size);
+        }
+
+        void record(boolean failure) {
+            int index = (int) (this.cursor.getAndIncrement() % this.ring.length());
+            int old = this.ring.getAndSet(index, failure ? 2 : 1);
+            if (old == 0) {
+                this.calls.incrementAndGet();
+            } else if (old == 2) {
+                this.failures.decrementAndGet();
+            }
+            if (failure) {
+                this.failures.incrementAndGet();
+            }
+        }
+
+        int failureRate(int minimumCalls) {
+            int n = this.calls.get();
+            return n < minimumCalls ? -1 : this.failures.get() * 100 / n;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.antares.spring.aop.resilience;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+import com.antares.spring.annotation.Bulkhead;
+import com.antares.spring.aop.AdvisorBeanPostProcessor;
+import com.antares.spring.aop.Pointcut;
+import com.antares.spring.exception.AopConfigException;
+
+/**
+ * 为标注了@Bulkhead的Bean添加BulkheadInterceptor
+ */
+public class BulkheadBeanPostProcessor extends AdvisorBeanPostProcessor implements AutoCloseable {
+
+    // 在重试及熔断之内执行，被拒绝的调用计入熔断失败率并可以重试:
+    public static final int DEFAULT_ORDER = 400;
+
+    final BulkheadRegistry registry;
+
+    public BulkheadBeanPostProcessor() {
+        this(new BulkheadRegistry());
+    }
+
+    public BulkheadBeanPostProcessor(BulkheadRegistry registry) {
+        super(new BulkheadInterceptor(registry), BulkheadInterceptor.pointcut(), DEFAULT_ORDER);
+        this.registry = registry;
+    }
+
+    public BulkheadRegistry getRegistry() {
+        return this.registry;
+    }
+
+    @Override
+    protected void validate(Class<?> beanClass, Method method) {
+        Bulkhead config = Pointcut.findAnnotation(method, Bulkhead.class);
+        if (config == null) {
+            config = beanClass.getAnnotation(Bulkhead.class);
+        }
+        Class<?> type = method.getReturnType();
+        if (config.type() == Bulkhead.Type.THREAD_POOL && type != CompletableFuture.class
+                && type != CompletionStage.class && type != Future.class) {
+            throw new AopConfigException(String.format(
+                    "@Bulkhead(type = THREAD_POOL) method %s.%s() must return Future, CompletionStage or CompletableFuture.",
+                    beanClass.getSimpleName(), method.getName()));
+        }
+    }
+
+    @Override
+    public void close() {
+        this.registry.close();
+    }
+}
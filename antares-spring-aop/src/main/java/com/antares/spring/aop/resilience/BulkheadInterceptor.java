@@ -0,0 +1,96 @@
+package com.antares.spring.aop.resilience;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.antares.spring.annotation.Bulkhead;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+import com.antares.spring.aop.Pointcut;
+
+/**
+ * 处理@Bulkhead，SEMAPHORE模式下返回CompletionStage的方法在完成时才释放许可
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+
+    final BulkheadRegistry registry;
+    final Map<Method, BulkheadLimiter> limiters = new ConcurrentHashMap<>();
+
+    public BulkheadInterceptor(BulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        BulkheadLimiter limiter = this.limiters.get(method);
+        if (limiter == null) {
+            final Class<?> targetClass = invocation.getThis().getClass();
+            limiter = this.limiters.computeIfAbsent(method, m -> resolve(m, targetClass));
+        }
+        return limiter.getType() == Bulkhead.Type.SEMAPHORE ? invokeWithSemaphore(limiter, invocation)
+                : invokeInThreadPool(limiter, invocation);
+    }
+
+    Object invokeWithSemaphore(BulkheadLimiter limiter, MethodInvocation invocation) throws Throwable {
+        limiter.acquire();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable t) {
+            limiter.release();
+            throw t;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.whenComplete((r, t) -> limiter.release());
+        }
+        limiter.release();
+        return result;
+    }
+
+    Object invokeInThreadPool(BulkheadLimiter limiter, MethodInvocation invocation) {
+        final MethodInvocation detached = invocation.detach();
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        limiter.execute(() -> {
+            try {
+                Object value = detached.proceed();
+                if (value instanceof CompletionStage<?> stage) {
+                    stage.whenComplete((r, t) -> {
+                        if (t != null) {
+                            result.completeExceptionally(t);
+                        } else {
+                            result.complete(r);
+                        }
+                    });
+                } else if (value instanceof Future<?> future) {
+                    result.complete(future.get());
+                } else {
+                    result.complete(value);
+                }
+            } catch (ExecutionException e) {
+                result.completeExceptionally(e.getCause());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    BulkheadLimiter resolve(Method method, Class<?> targetClass) {
+        Bulkhead config = Pointcut.findAnnotation(method, Bulkhead.class);
+        if (config == null) {
+            config = targetClass.getAnnotation(Bulkhead.class);
+        }
+        String name = config.value().isEmpty() ? targetClass.getSimpleName() + "." + method.getName() : config.value();
+        return this.registry.limiter(name, config);
+    }
+
+    public static Pointcut pointcut() {
+        return Pointcut.annotatedMethodOrType(Bulkhead.class);
+    }
+}
@@ -0,0 +1,132 @@
+package com.antares.spring.aop.resilience;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.antares.spring.annotation.Bulkhead;
+import com.antares.spring.exception.BulkheadFullException;
+
+/**
+ * 一个Bulkhead的并发限制，SEMAPHORE模式使用信号量，THREAD_POOL模式使用有界队列的专用线程池
+ */
+public class BulkheadLimiter implements AutoCloseable {
+
+    final String name;
+    final Bulkhead.Type type;
+    final int maxConcurrentCalls;
+    final int queueSize;
+    final long maxWaitMillis;
+
+    final Semaphore permits;
+    final AtomicInteger waiting = new AtomicInteger();
+    final ThreadPoolExecutor executor;
+
+    final LongAdder accepted = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+
+    public BulkheadLimiter(String name, Bulkhead config) {
+        this.name = name;
+        this.type = config.type();
+        this.maxConcurrentCalls = Math.max(1, config.maxConcurrentCalls());
+        this.queueSize = Math.max(0, config.queueSize());
+        this.maxWaitMillis = Math.max(0, config.maxWait());
+        if (this.type == Bulkhead.Type.SEMAPHORE) {
+            this.permits = new Semaphore(this.maxConcurrentCalls);
+            this.executor = null;
+        } else {
+            this.permits = null;
+            BlockingQueue<Runnable> queue = this.queueSize == 0 ? new SynchronousQueue<>()
+                    : new ArrayBlockingQueue<>(this.queueSize);
+            this.executor = new ThreadPoolExecutor(this.maxConcurrentCalls, this.maxConcurrentCalls, 60,
+                    TimeUnit.SECONDS, queue, Thread.ofPlatform().name("bulkhead-" + name + "-", 0).daemon().factory());
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Bulkhead.Type getType() {
+        return this.type;
+    }
+
+    /**
+     * SEMAPHORE模式获取许可，成功后必须调用release()
+     */
+    void acquire() throws InterruptedException {
+        if (this.permits.tryAcquire()) {
+            this.accepted.increment();
+            return;
+        }
+        if (this.queueSize == 0 || this.maxWaitMillis == 0) {
+            throw reject(null);
+        }
+        if (this.waiting.incrementAndGet() > this.queueSize) {
+            this.waiting.decrementAndGet();
+            throw reject(null);
+        }
+        try {
+            if (!this.permits.tryAcquire(this.maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw reject(null);
+            }
+        } finally {
+            this.waiting.decrementAndGet();
+        }
+        this.accepted.increment();
+    }
+
+    void release() {
+        this.permits.release();
+    }
+
+    /**
+     * THREAD_POOL模式提交任务
+     */
+    void execute(Runnable task) {
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw reject(e);
+        }
+        this.accepted.increment();
+    }
+
+    BulkheadFullException reject(RejectedExecutionException cause) {
+        this.rejected.increment();
+        String message = String.format("Bulkhead '%s' is full.", this.name);
+        return cause == null ? new BulkheadFullException(message) : new BulkheadFullException(message, cause);
+    }
+
+    public BulkheadStats getStats() {
+        int active;
+        int queued;
+        if (this.executor == null) {
+            active = this.maxConcurrentCalls - this.permits.availablePermits();
+            queued = this.waiting.get();
+        } else {
+            active = this.executor.getActiveCount();
+            queued = this.executor.getQueue().size();
+        }
+        return new BulkheadStats(this.name, this.maxConcurrentCalls, active, queued, this.accepted.sum(),
+                this.rejected.sum());
+    }
+
+    @Override
+    public void close() {
+        if (this.executor != null) {
+            this.executor.shutdown();
+        }
+    }
+
+    public record BulkheadStats(String name, int maxConcurrentCalls, int active, int queued, long accepted,
+            long rejected) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.antares.spring.aop.resilience;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.antares.spring.annotation.Bulkhead;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 按名称保存BulkheadLimiter，同名的Bulkhead使用第一次创建时的配置
+ */
+public class BulkheadRegistry implements AutoCloseable {
+
+    final Map<String, BulkheadLimiter> limiters = new ConcurrentHashMap<>();
+
+    public BulkheadLimiter limiter(String name, Bulkhead config) {
+        BulkheadLimiter limiter = this.limiters.get(name);
+        return limiter != null ? limiter : this.limiters.computeIfAbsent(name, n -> new BulkheadLimiter(n, config));
+    }
+
+    @Nullable
+    public BulkheadLimiter getLimiter(String name) {
+        return this.limiters.get(name);
+    }
+
+    public List<BulkheadLimiter.BulkheadStats> getStats() {
+        return this.limiters.values().stream().map(BulkheadLimiter::getStats).toList();
+    }
+
+    @Override
+    public void close() {
+        this.limiters.values().forEach(BulkheadLimiter::close);
+    }
+}
@@ -0,0 +1,27 @@
+package com.antares.spring.aop.resilience;
+
+import com.antares.spring.aop.AdvisorBeanPostProcessor;
+
+/**
+ * 为标注了@CircuitBreaker的Bean添加CircuitBreakerInterceptor
+ */
+public class CircuitBreakerBeanPostProcessor extends AdvisorBeanPostProcessor {
+
+    // 在重试之内执行，每次重试都计入失败率:
+    public static final int DEFAULT_ORDER = 300;
+
+    final CircuitBreakerRegistry registry;
+
+    public CircuitBreakerBeanPostProcessor() {
+        this(new CircuitBreakerRegistry());
+    }
+
+    public CircuitBreakerBeanPostProcessor(CircuitBreakerRegistry registry) {
+        super(new CircuitBreakerInterceptor(registry), CircuitBreakerInterceptor.pointcut(), DEFAULT_ORDER);
+        this.registry = registry;
+    }
+
+    public CircuitBreakerRegistry getRegistry() {
+        return this.registry;
+    }
+}
@@ -0,0 +1,69 @@
+package com.antares.spring.aop.resilience;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.antares.spring.annotation.CircuitBreaker;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+import com.antares.spring.aop.Pointcut;
+import com.antares.spring.exception.CallNotPermittedException;
+
+/**
+ * 处理@CircuitBreaker，返回CompletionStage的方法在完成时记录结果
+ */
+public class CircuitBreakerInterceptor implements MethodInterceptor {
+
+    final CircuitBreakerRegistry registry;
+    final Map<Method, Breaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(CircuitBreakerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        Breaker breaker = this.breakers.get(method);
+        if (breaker == null) {
+            final Class<?> targetClass = invocation.getThis().getClass();
+            breaker = this.breakers.computeIfAbsent(method, m -> resolve(m, targetClass));
+        }
+        final Breaker.State state = breaker.tryAcquire();
+        if (state == null) {
+            throw new CallNotPermittedException(
+                    String.format("CircuitBreaker '%s' is %s.", breaker.getName(), breaker.getStatus()));
+        }
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable t) {
+            breaker.onResult(state, t);
+            throw t;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            final Breaker b = breaker;
+            return stage.whenComplete((r, t) -> {
+                b.onResult(state, t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            });
+        }
+        breaker.onResult(state, null);
+        return result;
+    }
+
+    Breaker resolve(Method method, Class<?> targetClass) {
+        CircuitBreaker config = Pointcut.findAnnotation(method, CircuitBreaker.class);
+        if (config == null) {
+            config = targetClass.getAnnotation(CircuitBreaker.class);
+        }
+        String name = config.value().isEmpty() ? targetClass.getSimpleName() + "." + method.getName() : config.value();
+        return this.registry.breaker(name, config);
+    }
+
+    public static Pointcut pointcut() {
+        return Pointcut.annotatedMethodOrType(CircuitBreaker.class);
+    }
+}
@@ -0,0 +1,31 @@
+package com.antares.spring.aop.resilience;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.antares.spring.annotation.CircuitBreaker;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 按名称保存Breaker，同名的Breaker使用第一次创建时的配置
+ */
+public class CircuitBreakerRegistry {
+
+    final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    public Breaker breaker(String name, CircuitBreaker config) {
+        Breaker breaker = this.breakers.get(name);
+        return breaker != null ? breaker : this.breakers.computeIfAbsent(name, n -> new Breaker(n, config));
+    }
+
+    @Nullable
+    public Breaker getBreaker(String name) {
+        return this.breakers.get(name);
+    }
+
+    public List<Breaker> getBreakers() {
+        return List.copyOf(this.breakers.values());
+    }
+}
@@ -0,0 +1,37 @@
+package com.antares.spring.aop.resilience;
+
+import com.antares.spring.annotation.Autowired;
+import com.antares.spring.annotation.Bean;
+import com.antares.spring.annotation.Configuration;
+
+/**
+ * 通过@Import(ResilienceConfiguration.class)启用@Retry、@CircuitBreaker及@Bulkhead
+ */
+@Configuration
+public class ResilienceConfiguration {
+
+    @Bean
+    RetryBeanPostProcessor retryBeanPostProcessor() {
+        return new RetryBeanPostProcessor();
+    }
+
+    @Bean
+    CircuitBreakerBeanPostProcessor circuitBreakerBeanPostProcessor() {
+        return new CircuitBreakerBeanPostProcessor();
+    }
+
+    @Bean
+    CircuitBreakerRegistry circuitBreakerRegistry(@Autowired CircuitBreakerBeanPostProcessor circuitBreakerBeanPostProcessor) {
+        return circuitBreakerBeanPostProcessor.getRegistry();
+    }
+
+    @Bean(destroyMethod = "close")
+    BulkheadBeanPostProcessor bulkheadBeanPostProcessor() {
+        return new BulkheadBeanPostProcessor();
+    }
+
+    @Bean
+    BulkheadRegistry bulkheadRegistry(@Autowired BulkheadBeanPostProcessor bulkheadBeanPostProcessor) {
+        return bulkheadBeanPostProcessor.getRegistry();
+    }
+}
@@ -0,0 +1,16 @@
+package com.antares.spring.aop.resilience;
+
+import com.antares.spring.aop.AdvisorBeanPostProcessor;
+
+/**
+ * 为标注了@Retry的Bean添加RetryInterceptor
+ */
+public class RetryBeanPostProcessor extends AdvisorBeanPostProcessor {
+
+    // 在熔断及事务拦截器之外执行，每次重试都是新的事务:
+    public static final int DEFAULT_ORDER = 200;
+
+    public RetryBeanPostProcessor() {
+        super(new RetryInterceptor(), RetryInterceptor.pointcut(), DEFAULT_ORDER);
+    }
+}
@@ -0,0 +1,123 @@
+package com.antares.spring.aop.resilience;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.antares.spring.annotation.Retry;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+import com.antares.spring.aop.Pointcut;
+
+/**
+ * 处理@Retry。
+ *
+ * 返回CompletionStage的方法由定时器在虚拟线程中发起重试，不阻塞任何线程；
+ * 同步方法在虚拟线程中调用时直接在调用线程中重试；
+ * 在平台线程(例如Tomcat的工作线程)中调用时，所有调用及退避等待交给一个新的虚拟线程执行，
+ * 调用线程等待其结果，异常原样抛出。因此平台线程中的调用看不到调用线程的ThreadLocal。
+ */
+public class RetryInterceptor implements MethodInterceptor {
+
+    static final Executor VIRTUAL_THREAD_EXECUTOR = task -> Thread.ofVirtual().name("retry-", 0).start(task);
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final Map<Method, RetryPolicy> policies = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        RetryPolicy policy = this.policies.get(method);
+        if (policy == null) {
+            final Class<?> targetClass = invocation.getThis().getClass();
+            policy = this.policies.computeIfAbsent(method, m -> resolve(m, targetClass));
+        }
+        if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            attemptAsync(invocation.detach(), policy, 1, result);
+            return result;
+        }
+        if (Thread.currentThread().isVirtual()) {
+            return retry(invocation, policy);
+        }
+        return retryOnVirtualThread(invocation.detach(), policy);
+    }
+
+    Object retryOnVirtualThread(MethodInvocation invocation, RetryPolicy policy) throws Throwable {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Thread thread = Thread.ofVirtual().name("retry-", 0).start(() -> {
+            try {
+                result.complete(retry(invocation, policy));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            throw e;
+        }
+    }
+
+    Object retry(MethodInvocation invocation, RetryPolicy policy) throws Throwable {
+        final Method method = invocation.getMethod();
+        for (int attempt = 1;; attempt++) {
+            try {
+                return invocation.proceed();
+            } catch (Throwable t) {
+                if (attempt >= policy.maxAttempts() || !policy.isRetryable(t)) {
+                    throw t;
+                }
+                long delay = policy.delayMillis(attempt);
+                logger.atDebug().log("retry {}.{}() in {} ms after attempt {} failed: {}",
+                        method.getDeclaringClass().getSimpleName(), method.getName(), delay, attempt, t.toString());
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    void attemptAsync(MethodInvocation invocation, RetryPolicy policy, int attempt, CompletableFuture<Object> result) {
+        CompletionStage<?> stage;
+        try {
+            stage = (CompletionStage<?>) invocation.proceed();
+        } catch (Throwable t) {
+            stage = CompletableFuture.failedFuture(t);
+        }
+        stage.whenComplete((r, t) -> {
+            if (t == null) {
+                result.complete(r);
+                return;
+            }
+            Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            if (attempt >= policy.maxAttempts() || !policy.isRetryable(cause)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(policy.delayMillis(attempt), TimeUnit.MILLISECONDS,
+                    VIRTUAL_THREAD_EXECUTOR);
+            delayed.execute(() -> attemptAsync(invocation, policy, attempt + 1, result));
+        });
+    }
+
+    RetryPolicy resolve(Method method, Class<?> targetClass) {
+        Retry retry = Pointcut.findAnnotation(method, Retry.class);
+        return RetryPolicy.of(retry != null ? retry : targetClass.getAnnotation(Retry.class));
+    }
+
+    public static Pointcut pointcut() {
+        return Pointcut.annotatedMethodOrType(Retry.class);
+    }
+}
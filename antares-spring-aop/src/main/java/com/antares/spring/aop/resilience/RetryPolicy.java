@@ -0,0 +1,46 @@
+package com.antares.spring.aop.resilience;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.antares.spring.annotation.Retry;
+import com.antares.spring.exception.CallNotPermittedException;
+
+/**
+ * 由@Retry解析的重试策略
+ */
+record RetryPolicy(int maxAttempts, long delay, double multiplier, long maxDelay, double jitter,
+        Class<? extends Throwable>[] retryOn, Class<? extends Throwable>[] noRetryOn) {
+
+    static RetryPolicy of(Retry retry) {
+        return new RetryPolicy(Math.max(1, retry.maxAttempts()), retry.delay(), retry.multiplier(), retry.maxDelay(),
+                retry.jitter(), retry.retryOn(), retry.noRetryOn());
+    }
+
+    boolean isRetryable(Throwable t) {
+        // 熔断时重试没有意义:
+        if (t instanceof CallNotPermittedException || matches(this.noRetryOn, t)) {
+            return false;
+        }
+        return matches(this.retryOn, t);
+    }
+
+    /**
+     * 第attempt次调用失败后的等待毫秒数
+     */
+    long delayMillis(int attempt) {
+        double backoff = Math.min(this.maxDelay, this.delay * Math.pow(this.multiplier, attempt - 1));
+        if (this.jitter > 0) {
+            backoff *= 1 + this.jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        }
+        return Math.max(0, (long) backoff);
+    }
+
+    static boolean matches(Class<? extends Throwable>[] types, Throwable t) {
+        for (Class<? extends Throwable> type : types) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package com.antares.spring.exception;
+
+public class BulkheadFullException extends NestedRuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+
+    public BulkheadFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.antares.spring.exception;
+
+public class CallNotPermittedException extends NestedRuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.antares.spring.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+public class PointcutTest {
+
+    @Test
+    public void testPointcut() throws Exception {
+        Method hello = OriginBean.class.getMethod("hello");
+        Method morning = OriginBean.class.getMethod("morning");
+        Method toString = OriginBean.class.getMethod("toString");
+
+        assertTrue(Pointcut.annotatedWith(Polite.class).matches(hello, OriginBean.class));
+        assertFalse(Pointcut.annotatedWith(Polite.class).matches(morning, OriginBean.class));
+
+        assertTrue(Pointcut.methodName("mor*").matches(morning, OriginBean.class));
+        assertTrue(Pointcut.methodName("h?llo").matches(hello, OriginBean.class));
+        assertFalse(Pointcut.methodName("h?llo").matches(morning, OriginBean.class));
+
+        assertTrue(Pointcut.targetType("com.antares.*.Origin*").matches(hello, OriginBean.class));
+        assertFalse(Pointcut.targetType("com.example.*").matches(hello, OriginBean.class));
+        assertTrue(Pointcut.targetType(Object.class).matches(hello, OriginBean.class));
+
+        Pointcut p = Pointcut.methodName("*").and(Pointcut.OBJECT_METHODS.negate());
+        assertTrue(p.matches(hello, OriginBean.class));
+        assertFalse(p.matches(toString, OriginBean.class));
+        assertTrue(Pointcut.annotatedWith(Polite.class).or(Pointcut.methodName("morning")).matches(morning,
+                OriginBean.class));
+    }
+
+    @Test
+    public void testAnnotationOnOverriddenMethod() throws Exception {
+        Method hello = SubBean.class.getMethod("hello");
+        assertTrue(Pointcut.annotatedWith(Polite.class).matches(hello, SubBean.class));
+        OriginBean proxy = new ProxyResolver().createProxy(new SubBean(),
+                (bean, method, args) -> method.invoke(bean, args) + "!", Pointcut.annotatedWith(Polite.class));
+        assertEquals("Hi.!", proxy.hello());
+        assertEquals("Morning, null.", proxy.morning());
+    }
+
+    public static class SubBean extends OriginBean {
+
+        @Override
+        public String hello() {
+            return "Hi.";
+        }
+    }
+}
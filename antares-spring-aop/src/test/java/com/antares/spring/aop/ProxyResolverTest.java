@@ -1,8 +1,19 @@
 package com.antares.spring.aop;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,4 +41,127 @@ public class ProxyResolverTest {
         // 不带@Polite:
         assertEquals("Morning, Bob.", proxy.morning());
     }
+
+    @Test
+    public void testProxyClassCache() {
+        var resolver = new ProxyResolver();
+        OriginBean bob = new OriginBean();
+        bob.name = "Bob";
+        OriginBean alice = new OriginBean();
+        alice.name = "Alice";
+
+        OriginBean bobProxy = resolver.createProxy(bob, new PoliteInvocationHandler());
+        OriginBean aliceProxy = resolver.createProxy(alice, new PoliteInvocationHandler());
+        // same proxy class for same target class:
+        assertSame(bobProxy.getClass(), aliceProxy.getClass());
+        assertEquals(1, resolver.getStats().generated());
+        assertEquals(1, resolver.getStats().cacheHits());
+        assertTrue(bobProxy.getClass().isHidden());
+        assertEquals("Hello, Bob!", bobProxy.hello());
+        assertEquals("Hello, Alice!", aliceProxy.hello());
+        assertEquals("Morning, Alice.", aliceProxy.morning());
+    }
+
+    @Test
+    public void testAdvisedMethodsOnly() {
+        var resolver = new ProxyResolver();
+        OriginBean origin = new OriginBean();
+        origin.name = "Bob";
+        List<String> invoked = new ArrayList<>();
+        InvocationHandler handler = (bean, method, args) -> {
+            invoked.add(method.getName());
+            return new PoliteInvocationHandler().invoke(bean, method, args);
+        };
+        OriginBean proxy = resolver.createProxy(origin, handler, Pointcut.annotatedWith(Polite.class));
+        assertEquals("Hello, Bob!", proxy.hello());
+        // not advised, call origin bean directly:
+        assertEquals("Morning, Bob.", proxy.morning());
+        assertEquals(List.of("hello"), invoked);
+
+        // different advised methods generate another proxy class:
+        OriginBean all = resolver.createProxy(origin, handler);
+        assertNotSame(proxy.getClass(), all.getClass());
+        assertEquals(2, resolver.getStats().generated());
+    }
+
+    @Test
+    public void testConcurrentProxyCreation() throws Exception {
+        var resolver = new ProxyResolver();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<OriginBean>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final int n = i;
+                futures.add(executor.submit(() -> {
+                    OriginBean origin = new OriginBean();
+                    origin.name = "Bob-" + n;
+                    return resolver.createProxy(origin, new PoliteInvocationHandler());
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("Hello, Bob-" + i + "!", futures.get(i).get().hello());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // generated only once:
+        assertEquals(1, resolver.getStats().generated());
+        assertEquals(63, resolver.getStats().cacheHits());
+        assertSame(ProxyResolver.getInstance(), ProxyResolver.getInstance());
+    }
+
+    @Test
+    public void testClassLoaderStrategy() {
+        var resolver = new ProxyResolver(false);
+        OriginBean origin = new OriginBean();
+        origin.name = "Bob";
+        OriginBean proxy = resolver.createProxy(origin, new PoliteInvocationHandler());
+        assertFalse(proxy.getClass().isHidden());
+        assertEquals(0, resolver.getStats().hiddenClasses());
+        assertEquals("Hello, Bob!", proxy.hello());
+    }
+
+    @Test
+    public void testProxyOfProxy() {
+        var resolver = new ProxyResolver();
+        OriginBean origin = new OriginBean();
+        origin.name = "Bob";
+        OriginBean inner = resolver.createProxy(origin, new PoliteInvocationHandler());
+        // hidden class cannot be subclassed, outer proxy extends origin class too:
+        OriginBean outer = resolver.createProxy(inner, (bean, method, args) -> "<" + method.invoke(bean, args) + ">");
+        assertSame(OriginBean.class, outer.getClass().getSuperclass());
+        assertSame(inner, resolver.getTarget(outer));
+        assertEquals("<Hello, Bob!>", outer.hello());
+    }
+
+    @Test
+    public void testInterceptorOverInvocationHandler() {
+        var resolver = new ProxyResolver();
+        OriginBean origin = new OriginBean();
+        origin.name = "Bob";
+        OriginBean inner = resolver.createProxy(origin, new PoliteInvocationHandler());
+        // chain is built from origin class, not from the hidden proxy class:
+        OriginBean outer = resolver.createProxy(inner,
+                new Advisor(invocation -> "<" + invocation.proceed() + ">", Pointcut.OBJECT_METHODS.negate(), 0));
+        assertSame(inner, resolver.getTarget(outer));
+        assertEquals("<Hello, Bob!>", outer.hello());
+        assertEquals("<Morning, Bob.>", outer.morning());
+    }
+
+    @Test
+    public void testInvokeTargetByMethodHandle() throws Throwable {
+        OriginBean origin = new OriginBean();
+        origin.name = "Bob";
+        var hello = new MethodInvocation(origin, OriginBean.class.getMethod("hello"), null, new MethodInterceptor[0]);
+        assertEquals("Hello, Bob.", hello.proceed());
+        var substring = new MethodInvocation("abc", String.class.getMethod("substring", int.class), new Object[] { 1 },
+                new MethodInterceptor[0]);
+        assertEquals("bc", substring.proceed());
+        // exception of target is not wrapped:
+        var charAt = new MethodInvocation("abc", String.class.getMethod("charAt", int.class), new Object[] { 5 },
+                new MethodInterceptor[0]);
+        assertThrows(StringIndexOutOfBoundsException.class, () -> charAt.proceed());
+        assertSame(MethodInvocation.invoker(String.class.getMethod("charAt", int.class)),
+                MethodInvocation.invoker(String.class.getMethod("charAt", int.class)));
+    }
 }
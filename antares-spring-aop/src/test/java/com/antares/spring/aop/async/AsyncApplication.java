@@ -0,0 +1,25 @@
+package com.antares.spring.aop.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.antares.spring.annotation.Bean;
+import com.antares.spring.annotation.ComponentScan;
+import com.antares.spring.annotation.Configuration;
+import com.antares.spring.annotation.Import;
+
+@Configuration
+@ComponentScan
+@Import(AsyncConfiguration.class)
+public class AsyncApplication {
+
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService singleExecutor() {
+        return Executors.newFixedThreadPool(1, Thread.ofPlatform().name("single").daemon().factory());
+    }
+
+    @Bean
+    Failures failures() {
+        return new Failures();
+    }
+}
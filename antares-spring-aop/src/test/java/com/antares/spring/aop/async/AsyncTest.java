@@ -0,0 +1,75 @@
+package com.antares.spring.aop.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import com.antares.spring.annotation.Async;
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.exception.AopConfigException;
+import com.antares.spring.io.PropertyResolver;
+
+public class AsyncTest {
+
+    @Test
+    public void testFireAndForget() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(AsyncApplication.class, new PropertyResolver(new Properties()))) {
+            AuditService audit = ctx.getBean(AuditService.class);
+            MDC.put("requestId", "r-1");
+            try {
+                audit.audit("login");
+            } finally {
+                MDC.remove("requestId");
+            }
+            // runs on virtual thread with caller's MDC:
+            assertEquals("login:true:r-1", audit.nextRecord());
+            // unadvised method runs on caller thread:
+            assertEquals(Thread.currentThread().getName(), audit.sync());
+
+            // exception goes to AsyncExceptionHandler:
+            audit.fail("boom");
+            assertEquals("fail:boom", ctx.getBean(Failures.class).queue.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testFuture() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(AsyncApplication.class, new PropertyResolver(new Properties()))) {
+            AuditService audit = ctx.getBean(AuditService.class);
+            CompletableFuture<String> future = audit.compute("hello");
+            assertEquals("HELLO", future.get(5, TimeUnit.SECONDS));
+
+            var failed = audit.compute("");
+            var e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+
+            // named executor:
+            assertEquals("single", audit.threadName().get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testInvalidReturnType() {
+        var processor = new AsyncBeanPostProcessor();
+        try {
+            assertThrows(AopConfigException.class, () -> processor.postProcessBeforeInitialization(new BadService(), "badService"));
+        } finally {
+            processor.close();
+        }
+    }
+
+    public static class BadService {
+        @Async
+        public String value() {
+            return "bad";
+        }
+    }
+}
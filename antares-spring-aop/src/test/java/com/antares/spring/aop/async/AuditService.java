@@ -0,0 +1,49 @@
+package com.antares.spring.aop.async;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.MDC;
+
+import com.antares.spring.annotation.Async;
+import com.antares.spring.annotation.Component;
+
+@Component
+public class AuditService {
+
+    final BlockingQueue<String> records = new LinkedBlockingQueue<>();
+
+    @Async
+    public void audit(String message) {
+        records.add(message + ":" + Thread.currentThread().isVirtual() + ":" + MDC.get("requestId"));
+    }
+
+    @Async
+    public void fail(String message) {
+        throw new IllegalStateException(message);
+    }
+
+    @Async
+    public CompletableFuture<String> compute(String input) {
+        if (input.isEmpty()) {
+            throw new IllegalArgumentException("empty input");
+        }
+        return CompletableFuture.completedFuture(input.toUpperCase());
+    }
+
+    @Async("singleExecutor")
+    public Future<String> threadName() {
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
+    public String nextRecord() throws InterruptedException {
+        return records.poll(5, TimeUnit.SECONDS);
+    }
+
+    public String sync() {
+        return Thread.currentThread().getName();
+    }
+}
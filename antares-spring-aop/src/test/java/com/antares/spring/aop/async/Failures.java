@@ -0,0 +1,15 @@
+package com.antares.spring.aop.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class Failures implements AsyncExceptionHandler {
+
+    public final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+
+    @Override
+    public void handleException(Throwable ex, Method method, Object[] args) {
+        queue.add(method.getName() + ":" + ex.getMessage());
+    }
+}
@@ -0,0 +1,12 @@
+package com.antares.spring.aop.cache;
+
+import com.antares.spring.annotation.ComponentScan;
+import com.antares.spring.annotation.Configuration;
+import com.antares.spring.annotation.Import;
+
+@Configuration
+@ComponentScan
+@Import(CacheConfiguration.class)
+public class CacheApplication {
+
+}
@@ -0,0 +1,166 @@
+package com.antares.spring.aop.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.annotation.CacheEvict;
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.exception.AopConfigException;
+import com.antares.spring.io.PropertyResolver;
+
+public class CacheTest {
+
+    @Test
+    public void testCacheableAndEvict() {
+        try (var ctx = new AnnotationConfigApplicationContext(CacheApplication.class, new PropertyResolver(new Properties()))) {
+            ProductService service = ctx.getBean(ProductService.class);
+            assertEquals("apple", service.getName(1));
+            assertEquals("apple", service.getName(1));
+            assertEquals(1, service.getLoads());
+            // null is cached:
+            assertNull(service.getName(99));
+            assertNull(service.getName(99));
+            assertEquals(2, service.getLoads());
+            // multiple arguments:
+            assertEquals("a:10", service.search("a", 10));
+            assertEquals("a:10", service.search("a", 10));
+            assertEquals("a:20", service.search("a", 20));
+            assertEquals(4, service.getLoads());
+
+            service.rename(1, "green apple");
+            assertEquals("green apple", service.getName(1));
+            assertEquals(5, service.getLoads());
+
+            service.getName(2);
+            service.clear();
+            service.getName(2);
+            assertEquals(7, service.getLoads());
+
+            // 默认Key包含方法，参数相同的方法不会互相覆盖:
+            assertEquals("P-2", service.getCode(2));
+            assertEquals("pear", service.getName(2));
+            assertEquals(8, service.getLoads());
+            assertSame(ctx.getBean(CacheManager.class).getCache("products"), ctx.getBean(CacheManager.class).getCache("products"));
+        }
+    }
+
+    @Test
+    public void testSingleLoaderPerKey() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(CacheApplication.class, new PropertyResolver(new Properties()))) {
+            ProductService service = ctx.getBean(ProductService.class);
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<String>> futures = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    futures.add(executor.submit(() -> service.slowName(2)));
+                }
+                for (Future<String> future : futures) {
+                    assertEquals("pear", future.get());
+                }
+            }
+            assertEquals(1, service.getLoads());
+        }
+    }
+
+    @Test
+    public void testLruAndTtl() throws Throwable {
+        var cache = new ConcurrentLruCache("test", 2, 300);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.getIfPresent("a"));
+        cache.put("c", 3);
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(1, cache.get("a", () -> 100));
+        Thread.sleep(400);
+        assertEquals(100, cache.get("a", () -> 100));
+
+        // loader exception is not cached:
+        assertThrows(IllegalStateException.class, () -> cache.get("x", () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("x", cache.get("x", () -> "x"));
+    }
+
+    @Test
+    public void testEvictDuringLoad() throws Throwable {
+        var cache = new ConcurrentLruCache("test", 100, 0);
+        var loading = new CountDownLatch(1);
+        var evicted = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> a = executor.submit(() -> getQuietly(cache, "a", () -> {
+                loading.countDown();
+                evicted.await();
+                return "old-a";
+            }));
+            Future<Object> b = executor.submit(() -> getQuietly(cache, "b", () -> {
+                evicted.await();
+                return "b";
+            }));
+            loading.await();
+            // 只丢弃被移除的key的加载结果:
+            cache.evict("a");
+            evicted.countDown();
+            assertEquals("old-a", a.get());
+            assertEquals("b", b.get());
+        }
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("b", cache.getIfPresent("b"));
+    }
+
+    @Test
+    public void testCacheKey() {
+        assertSame(CacheKey.EMPTY, CacheKey.of(new Object[0]));
+        assertEquals("a", CacheKey.of(new Object[] { "a" }));
+        assertEquals(CacheKey.of(new Object[] { "a", 1 }), CacheKey.of(new Object[] { "a", 1 }));
+        assertNotEquals(CacheKey.of(new Object[] { "a", 1 }), CacheKey.of(new Object[] { 1, "a" }));
+        assertEquals(CacheKey.of(new Object[] { new int[] { 1, 2 } }), CacheKey.of(new Object[] { new int[] { 1, 2 } }));
+        assertEquals(CacheKey.of(new Object[] { null }), CacheKey.of(new Object[] { null }));
+        Method hashCode = getMethod("hashCode");
+        Method toString = getMethod("toString");
+        assertEquals(CacheKey.of(hashCode, new Object[] { 1 }), CacheKey.of(hashCode, new Object[] { 1 }));
+        assertNotEquals(CacheKey.of(hashCode, new Object[] { 1 }), CacheKey.of(toString, new Object[] { 1 }));
+    }
+
+    @Test
+    public void testEvictWithoutKey() {
+        var processor = new CacheBeanPostProcessor(new ConcurrentLruCacheManager(100, 0));
+        assertThrows(AopConfigException.class, () -> processor.postProcessBeforeInitialization(new BadService(), "badService"));
+    }
+
+    public static class BadService {
+        @CacheEvict("products")
+        public void update(long id) {
+        }
+    }
+
+    static Object getQuietly(Cache cache, Object key, Cache.ValueLoader loader) throws Exception {
+        try {
+            return cache.get(key, loader);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    static Method getMethod(String name) {
+        try {
+            return Object.class.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
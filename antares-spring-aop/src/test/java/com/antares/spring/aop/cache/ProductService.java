@@ -0,0 +1,54 @@
+package com.antares.spring.aop.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.antares.spring.annotation.CacheEvict;
+import com.antares.spring.annotation.Cacheable;
+import com.antares.spring.annotation.Component;
+
+@Component
+public class ProductService {
+
+    final Map<Long, String> products = new ConcurrentHashMap<>(Map.of(1L, "apple", 2L, "pear"));
+    final AtomicInteger loads = new AtomicInteger();
+
+    @Cacheable(value = "products", key = 0)
+    public String getName(long id) {
+        loads.incrementAndGet();
+        return products.get(id);
+    }
+
+    @Cacheable("products")
+    public String getCode(long id) {
+        loads.incrementAndGet();
+        return "P-" + id;
+    }
+
+    @Cacheable("products")
+    public String slowName(long id) throws InterruptedException {
+        loads.incrementAndGet();
+        Thread.sleep(200);
+        return products.get(id);
+    }
+
+    @Cacheable("search")
+    public String search(String prefix, int limit) {
+        loads.incrementAndGet();
+        return prefix + ":" + limit;
+    }
+
+    @CacheEvict(value = "products", key = 0)
+    public void rename(long id, String name) {
+        products.put(id, name);
+    }
+
+    @CacheEvict(value = "products", allEntries = true)
+    public void clear() {
+    }
+
+    public int getLoads() {
+        return loads.get();
+    }
+}
@@ -0,0 +1,13 @@
+package com.antares.spring.aop.chain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.antares.spring.annotation.Component;
+
+@Component
+public class Calls {
+
+    public final List<String> list = new ArrayList<>();
+
+}
@@ -0,0 +1,10 @@
+package com.antares.spring.aop.chain;
+
+import com.antares.spring.annotation.ComponentScan;
+import com.antares.spring.annotation.Configuration;
+
+@Configuration
+@ComponentScan
+public class ChainApplication {
+
+}
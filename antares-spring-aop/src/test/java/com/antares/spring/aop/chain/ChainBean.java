@@ -0,0 +1,18 @@
+package com.antares.spring.aop.chain;
+
+import com.antares.spring.annotation.Autowired;
+import com.antares.spring.annotation.Component;
+
+@Component
+@Log("logInterceptor")
+@Trace("traceInterceptor")
+public class ChainBean {
+
+    @Autowired
+    Calls calls;
+
+    public String hello(String name) {
+        calls.list.add("hello");
+        return "Hello, " + name + ".";
+    }
+}
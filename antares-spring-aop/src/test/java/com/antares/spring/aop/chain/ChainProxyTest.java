@@ -0,0 +1,68 @@
+package com.antares.spring.aop.chain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+import com.antares.spring.aop.ProxyResolver;
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.io.PropertyResolver;
+
+public class ChainProxyTest {
+
+    @Test
+    public void testSingleProxyWithOrderedInterceptors() {
+        try (var ctx = new AnnotationConfigApplicationContext(ChainApplication.class, new PropertyResolver(new Properties()))) {
+            ChainBean bean = ctx.getBean(ChainBean.class);
+            // only one proxy for two interceptors:
+            assertSame(ChainBean.class, bean.getClass().getSuperclass());
+
+            Calls calls = ctx.getBean(Calls.class);
+            assertEquals("Hello, Bob.", bean.hello("Bob"));
+            // @Order(100) trace before @Order(200) log:
+            assertEquals(List.of("trace:hello", "log:hello", "hello"), calls.list);
+            // origin bean was injected:
+            ChainBean origin = (ChainBean) ProxyResolver.getInstance().getTarget(bean);
+            assertNotNull(origin.calls);
+        }
+    }
+
+    @Test
+    public void testProceedMoreThanOnce() throws Throwable {
+        Method hello = ChainBean.class.getMethod("hello", String.class);
+        ChainBean target = new ChainBean();
+        target.calls = new Calls();
+        MethodInterceptor retry = invocation -> {
+            try {
+                return invocation.proceed();
+            } catch (IllegalStateException e) {
+                return invocation.proceed();
+            }
+        };
+        int[] count = new int[1];
+        MethodInterceptor failFirst = invocation -> {
+            if (count[0]++ == 0) {
+                throw new IllegalStateException();
+            }
+            return invocation.proceed();
+        };
+        var invocation = new MethodInvocation(target, hello, new Object[] { "Alice" },
+                new MethodInterceptor[] { retry, failFirst });
+        assertEquals("Hello, Alice.", invocation.proceed());
+        assertEquals(2, count[0]);
+        assertEquals(List.of("hello"), target.calls.list);
+
+        // exception of target method is not wrapped:
+        var npe = new MethodInvocation(new ChainBean(), hello, new Object[] { "Alice" }, new MethodInterceptor[0]);
+        assertThrows(NullPointerException.class, () -> npe.proceed());
+    }
+}
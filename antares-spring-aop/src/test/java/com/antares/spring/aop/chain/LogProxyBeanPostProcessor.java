@@ -0,0 +1,9 @@
+package com.antares.spring.aop.chain;
+
+import com.antares.spring.annotation.Component;
+import com.antares.spring.aop.AnnotationProxyBeanPostProcessor;
+
+@Component
+public class LogProxyBeanPostProcessor extends AnnotationProxyBeanPostProcessor<Log> {
+
+}
@@ -0,0 +1,21 @@
+package com.antares.spring.aop.chain;
+
+import com.antares.spring.annotation.Autowired;
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.Order;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
+
+@Order(100)
+@Component
+public class TraceInterceptor implements MethodInterceptor {
+
+    @Autowired
+    Calls calls;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        calls.list.add("trace:" + invocation.getMethod().getName());
+        return invocation.proceed();
+    }
+}
@@ -14,4 +14,8 @@ public class HashWorker extends BaseWorker {
     public String sha256(String input) {
         return hash("SHA-256", input);
     }
+
+    public String hex(String input) {
+        return hash("MD5", input).substring(2);
+    }
 }
@@ -10,23 +10,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.antares.spring.annotation.Component;
+import com.antares.spring.aop.Pointcut;
+import com.antares.spring.aop.PointcutAdvisor;
 
 
 @Component
-public class MetricInvocationHandler implements InvocationHandler {
+public class MetricInvocationHandler implements InvocationHandler, PointcutAdvisor {
 
     final Logger logger = LoggerFactory.getLogger(getClass());
 
     public Map<String, Long> lastProcessedTime = new HashMap<>();
 
+    public Map<String, Integer> invocations = new HashMap<>();
+
+    @Override
+    public Pointcut getPointcut() {
+        // 只拦截标注了@Metric的方法:
+        return Pointcut.annotatedWith(Metric.class);
+    }
+
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        Metric metric = method.getAnnotation(Metric.class);
-        if (metric == null) {
-            // do not do performance test:
-            return method.invoke(proxy, args);
-        }
+        Metric metric = Pointcut.findAnnotation(method, Metric.class);
         String name = metric.value();
+        invocations.merge(name, 1, Integer::sum);
         long start = System.currentTimeMillis();
         try {
             return method.invoke(proxy, args);
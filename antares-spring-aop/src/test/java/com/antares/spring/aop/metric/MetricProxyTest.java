@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.util.Map;
 import java.util.Properties;
 
 import org.junit.jupiter.api.Test;
@@ -37,6 +38,10 @@ public class MetricProxyTest {
             assertEquals(256, metrics.lastProcessedTime.get("SHA-256"));
             // cannot metric sha1() because it is a final method:
             assertNull(metrics.lastProcessedTime.get("SHA-1"));
+
+            // hex() is not advised, handler is not invoked:
+            assertEquals("5d41402abc4b2a76b9719d911017c592", worker.hex("hello"));
+            assertEquals(Map.of("MD5", 1, "SHA-256", 1), metrics.invocations);
         }
     }
 
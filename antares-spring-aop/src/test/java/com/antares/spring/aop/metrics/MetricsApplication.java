@@ -0,0 +1,12 @@
+package com.antares.spring.aop.metrics;
+
+import com.antares.spring.annotation.ComponentScan;
+import com.antares.spring.annotation.Configuration;
+import com.antares.spring.annotation.Import;
+
+@Configuration
+@ComponentScan
+@Import(MetricsConfiguration.class)
+public class MetricsApplication {
+
+}
@@ -0,0 +1,97 @@
+package com.antares.spring.aop.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.aop.ProxyResolver;
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.io.PropertyResolver;
+
+public class MetricsTest {
+
+    @Test
+    public void testTimedAndCounted() {
+        try (var ctx = new AnnotationConfigApplicationContext(MetricsApplication.class, new PropertyResolver(new Properties()))) {
+            MeterRegistry registry = ctx.getBean(MeterRegistry.class);
+            assertSame(registry, ctx.getBean(MetricsBeanPostProcessor.class).getRegistry());
+
+            OrderService orders = ctx.getBean(OrderService.class);
+            assertSame(OrderService.class, orders.getClass().getSuperclass());
+            assertEquals("order:apple", orders.create("apple"));
+            assertEquals("order:pear", orders.create("pear"));
+            assertThrows(IllegalArgumentException.class, () -> orders.create(""));
+            assertEquals(42, orders.count());
+
+            TimerSnapshot create = registry.getTimer("order.create").snapshot();
+            assertEquals(3, create.count());
+            assertEquals(1, create.errors());
+            // class-level @Counted applies to all methods:
+            assertEquals(3, registry.getCounter("OrderService.create").getCount());
+            assertEquals(1, registry.getCounter("OrderService.create").getFailures());
+            assertEquals(1, registry.getCounter("OrderService.count").getCount());
+            assertNull(registry.getTimer("OrderService.count"));
+            // Object methods are not counted:
+            orders.toString();
+            assertNull(registry.getCounter("OrderService.toString"));
+        }
+    }
+
+    @Test
+    public void testUnannotatedMethodsNotIntercepted() {
+        try (var ctx = new AnnotationConfigApplicationContext(MetricsApplication.class, new PropertyResolver(new Properties()))) {
+            MeterRegistry registry = ctx.getBean(MeterRegistry.class);
+            PlainService plain = ctx.getBean(PlainService.class);
+            assertTrue(ProxyResolver.getInstance().isProxy(plain));
+            assertEquals("hello", plain.hello());
+            assertEquals("bye", plain.bye());
+            assertEquals(1, registry.getTimer("PlainService.hello").snapshot().count());
+            assertNull(registry.getTimer("PlainService.bye"));
+            assertEquals(List.of("PlainService.hello"), registry.snapshot().stream().map(TimerSnapshot::name).toList());
+        }
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxMicros());
+        assertEquals(500_500, histogram.getMeanMicros(), 0.1);
+        assertWithin(500_000, histogram.percentile(50));
+        assertWithin(990_000, histogram.percentile(99));
+        assertEquals(1_000_000, histogram.percentile(100));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMicros());
+        assertEquals(0, histogram.percentile(99));
+        // exact below 64us:
+        var small = new LatencyHistogram();
+        small.recordMicros(3);
+        small.recordMicros(7);
+        assertEquals(3, small.percentile(50));
+        assertEquals(7, small.percentile(99));
+        // bucket index is monotonic and covers MAX_VALUE:
+        for (long v = 1; v < LatencyHistogram.MAX_VALUE; v = v * 3 + 1) {
+            int index = LatencyHistogram.indexOf(v);
+            assertTrue(LatencyHistogram.highestValueOf(index) >= v);
+            assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < v);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE));
+    }
+
+    void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.04, "expected ~" + expected + " but was " + actual);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.antares.spring.aop.metrics;
+
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.Counted;
+import com.antares.spring.annotation.Timed;
+
+@Component
+@Counted
+public class OrderService {
+
+    @Timed("order.create")
+    public String create(String item) {
+        if (item.isEmpty()) {
+            throw new IllegalArgumentException("empty item");
+        }
+        return "order:" + item;
+    }
+
+    public int count() {
+        return 42;
+    }
+}
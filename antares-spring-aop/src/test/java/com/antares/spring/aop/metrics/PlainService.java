@@ -0,0 +1,17 @@
+package com.antares.spring.aop.metrics;
+
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.Timed;
+
+@Component
+public class PlainService {
+
+    @Timed
+    public String hello() {
+        return "hello";
+    }
+
+    public String bye() {
+        return "bye";
+    }
+}
@@ -0,0 +1,68 @@
+package com.antares.spring.aop.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.exception.BulkheadFullException;
+import com.antares.spring.exception.CallNotPermittedException;
+import com.antares.spring.io.PropertyResolver;
+
+public class BulkheadTest {
+
+    @Test
+    public void testSemaphoreBulkhead() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(ResilienceApplication.class, new PropertyResolver(new Properties()))) {
+            SlowService service = ctx.getBean(SlowService.class);
+            CountDownLatch started = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<String> f1 = executor.submit(() -> service.slow(started, release));
+                Future<String> f2 = executor.submit(() -> service.slow(started, release));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                // third call rejected immediately:
+                assertThrows(BulkheadFullException.class, () -> service.slow(new CountDownLatch(1), release));
+                BulkheadLimiter.BulkheadStats stats = ctx.getBean(BulkheadRegistry.class).getLimiter("slow").getStats();
+                assertEquals(2, stats.active());
+                assertEquals(1, stats.rejected());
+                release.countDown();
+                assertEquals("done", f1.get());
+                assertEquals("done", f2.get());
+            }
+            assertEquals(0, ctx.getBean(BulkheadRegistry.class).getLimiter("slow").getStats().active());
+        }
+    }
+
+    @Test
+    public void testThreadPoolBulkhead() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(ResilienceApplication.class, new PropertyResolver(new Properties()))) {
+            SlowService service = ctx.getBean(SlowService.class);
+            CountDownLatch release = new CountDownLatch(1);
+            // caller returns immediately, one running and one queued:
+            var f1 = service.pooled(release);
+            var f2 = service.pooled(release);
+            assertThrows(BulkheadFullException.class, () -> service.pooled(release));
+            release.countDown();
+            assertTrue(f1.get(5, TimeUnit.SECONDS).startsWith("bulkhead-pooled-"));
+            assertTrue(f2.get(5, TimeUnit.SECONDS).startsWith("bulkhead-pooled-"));
+            assertEquals(2, ctx.getBean(BulkheadRegistry.class).getLimiter("pooled").getStats().accepted());
+        }
+    }
+
+    @Test
+    public void testRetryOnBulkheadFull() {
+        var policy = new RetryPolicy(3, 10, 2.0, 100, 0, new Class[] { RuntimeException.class }, new Class[0]);
+        assertTrue(policy.isRetryable(new BulkheadFullException("full")));
+        assertFalse(policy.isRetryable(new CallNotPermittedException("open")));
+    }
+}
@@ -0,0 +1,53 @@
+package com.antares.spring.aop.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.antares.spring.annotation.CircuitBreaker;
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.Retry;
+
+@Component
+public class RemoteService {
+
+    final AtomicInteger calls = new AtomicInteger();
+
+    @Retry(maxAttempts = 3, delay = 10, jitter = 0)
+    public String flaky(int failures) {
+        if (calls.incrementAndGet() <= failures) {
+            throw new IllegalStateException("failure " + calls.get());
+        }
+        return "ok after " + calls.get();
+    }
+
+    @Retry(maxAttempts = 3, delay = 10, noRetryOn = IllegalArgumentException.class)
+    public String badInput() {
+        calls.incrementAndGet();
+        throw new IllegalArgumentException("bad input");
+    }
+
+    @Retry(maxAttempts = 3, delay = 10)
+    public CompletableFuture<String> flakyAsync(int failures) {
+        if (calls.incrementAndGet() <= failures) {
+            return CompletableFuture.failedFuture(new IllegalStateException("failure " + calls.get()));
+        }
+        return CompletableFuture.completedFuture("ok after " + calls.get());
+    }
+
+    @CircuitBreaker(value = "remote", slidingWindowSize = 4, minimumCalls = 4, waitDurationInOpenState = 200, permittedCallsInHalfOpenState = 2)
+    public String call(boolean fail) {
+        calls.incrementAndGet();
+        if (fail) {
+            throw new IllegalStateException("remote failure");
+        }
+        return "ok";
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+
+    public void reset() {
+        calls.set(0);
+    }
+}
@@ -0,0 +1,12 @@
+package com.antares.spring.aop.resilience;
+
+import com.antares.spring.annotation.ComponentScan;
+import com.antares.spring.annotation.Configuration;
+import com.antares.spring.annotation.Import;
+
+@Configuration
+@ComponentScan
+@Import(ResilienceConfiguration.class)
+public class ResilienceApplication {
+
+}
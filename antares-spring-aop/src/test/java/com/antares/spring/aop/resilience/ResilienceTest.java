@@ -0,0 +1,109 @@
+package com.antares.spring.aop.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.aop.resilience.Breaker.Status;
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.exception.CallNotPermittedException;
+import com.antares.spring.io.PropertyResolver;
+
+public class ResilienceTest {
+
+    @Test
+    public void testRetry() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(ResilienceApplication.class, new PropertyResolver(new Properties()))) {
+            RemoteService remote = ctx.getBean(RemoteService.class);
+            // 虚拟线程中直接重试:
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                executor.submit(() -> {
+                    assertEquals("ok after 3", remote.flaky(2));
+
+                    remote.reset();
+                    assertThrows(IllegalStateException.class, () -> remote.flaky(5));
+                    assertEquals(3, remote.getCalls());
+
+                    remote.reset();
+                    assertThrows(IllegalArgumentException.class, () -> remote.badInput());
+                    assertEquals(1, remote.getCalls());
+                    return null;
+                }).get();
+            }
+
+            // 平台线程中交给虚拟线程重试:
+            remote.reset();
+            assertEquals("ok after 3", remote.flaky(2));
+            remote.reset();
+            assertThrows(IllegalStateException.class, () -> remote.flaky(5));
+            assertEquals(3, remote.getCalls());
+        }
+    }
+
+    @Test
+    public void testRetryAsync() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(ResilienceApplication.class, new PropertyResolver(new Properties()))) {
+            RemoteService remote = ctx.getBean(RemoteService.class);
+            assertEquals("ok after 3", remote.flakyAsync(2).get(5, TimeUnit.SECONDS));
+
+            remote.reset();
+            var e = assertThrows(ExecutionException.class, () -> remote.flakyAsync(5).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals(3, remote.getCalls());
+        }
+    }
+
+    @Test
+    public void testCircuitBreaker() throws Exception {
+        try (var ctx = new AnnotationConfigApplicationContext(ResilienceApplication.class, new PropertyResolver(new Properties()))) {
+            RemoteService remote = ctx.getBean(RemoteService.class);
+            remote.call(false);
+            remote.call(false);
+            Breaker breaker = ctx.getBean(CircuitBreakerRegistry.class).getBreaker("remote");
+            assertEquals(-1, breaker.getFailureRate());
+            assertThrows(IllegalStateException.class, () -> remote.call(true));
+            assertEquals(Status.CLOSED, breaker.getStatus());
+            // 2 of 4 failed:
+            assertThrows(IllegalStateException.class, () -> remote.call(true));
+            assertEquals(Status.OPEN, breaker.getStatus());
+
+            remote.reset();
+            assertThrows(CallNotPermittedException.class, () -> remote.call(false));
+            assertEquals(0, remote.getCalls());
+
+            // half-open after wait, one failure opens again:
+            Thread.sleep(250);
+            assertThrows(IllegalStateException.class, () -> remote.call(true));
+            assertEquals(Status.OPEN, breaker.getStatus());
+
+            // two successful probes close the breaker:
+            Thread.sleep(250);
+            assertEquals("ok", remote.call(false));
+            assertEquals(Status.HALF_OPEN, breaker.getStatus());
+            assertEquals("ok", remote.call(false));
+            assertEquals(Status.CLOSED, breaker.getStatus());
+        }
+    }
+
+    @Test
+    public void testBackoff() {
+        var policy = new RetryPolicy(5, 100, 2.0, 500, 0, new Class[] { RuntimeException.class }, new Class[0]);
+        assertEquals(100, policy.delayMillis(1));
+        assertEquals(200, policy.delayMillis(2));
+        assertEquals(400, policy.delayMillis(3));
+        assertEquals(500, policy.delayMillis(4));
+        var jittered = new RetryPolicy(5, 100, 2.0, 500, 0.5, new Class[] { RuntimeException.class }, new Class[0]);
+        for (int i = 0; i < 100; i++) {
+            long delay = jittered.delayMillis(1);
+            assertTrue(delay >= 50 && delay <= 150);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.antares.spring.aop.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.antares.spring.annotation.Bulkhead;
+import com.antares.spring.annotation.Component;
+
+@Component
+public class SlowService {
+
+    @Bulkhead(value = "slow", maxConcurrentCalls = 2)
+    public String slow(CountDownLatch started, CountDownLatch release) throws InterruptedException {
+        started.countDown();
+        release.await(5, TimeUnit.SECONDS);
+        return "done";
+    }
+
+    @Bulkhead(value = "pooled", type = Bulkhead.Type.THREAD_POOL, maxConcurrentCalls = 1, queueSize = 1)
+    public CompletableFuture<String> pooled(CountDownLatch release) throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+}
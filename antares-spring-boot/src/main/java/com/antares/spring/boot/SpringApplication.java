@@ -3,7 +3,11 @@ package com.antares.spring.boot;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.catalina.Context;
 import org.apache.catalina.Server;
@@ -26,6 +30,11 @@ public class SpringApplication {
 
     final Logger logger = LoggerFactory.getLogger(SpringApplication.class);
 
+    // 优先级最低的默认配置:
+    Properties defaultProperties = new Properties();
+    // 自定义类型转换，用于@Value和Web请求参数:
+    Map<Class<?>, Function<String, ?>> converters = new LinkedHashMap<>();
+
     public static void run(String webDir, String baseDir, Class<?> configClass, String... args) throws Exception {
         new SpringApplication().start(webDir, baseDir, configClass, args);
     }
@@ -41,7 +50,8 @@ public class SpringApplication {
         logger.info("Starting {} using Java {} with PID {} (started by {} in {})", configClass.getSimpleName(),
                 javaVersion, pid, user, pwd);
 
-        PropertyResolver propertyResolver = WebUtils.createPropertyResolver();
+        PropertyResolver propertyResolver = WebUtils.createPropertyResolver(args, this.defaultProperties);
+        this.converters.forEach((type, converter) -> addConverter(propertyResolver, type, converter));
         Server server = startTomcat(webDir, baseDir, configClass, propertyResolver);
 
         // started info:
@@ -69,6 +79,19 @@ public class SpringApplication {
         return tomcat.getServer();
     }
 
+    public void setDefaultProperties(Properties defaultProperties) {
+        this.defaultProperties = defaultProperties;
+    }
+
+    public <T> void addConverter(Class<T> type, Function<String, ? extends T> converter) {
+        this.converters.put(type, converter);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> void addConverter(PropertyResolver propertyResolver, Class<T> type, Function<String, ?> converter) {
+        propertyResolver.getConversionService().addConverter(type, (Function<String, ? extends T>) converter);
+    }
+
     protected void printBanner() {
         String banner = ClassPathUtils.readString("/banner.txt");
         banner.lines().forEach(System.out::println);
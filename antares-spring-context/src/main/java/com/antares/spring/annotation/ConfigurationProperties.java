@@ -0,0 +1,22 @@
+package com.antares.spring.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 将prefix下的配置绑定到record或JavaBean，标注在类上时该类自动注册为Bean，
+ * 标注在@Bean方法上时绑定到返回的实例。
+ *
+ * 属性名按kebab-case匹配，例如poolSize对应${prefix}.pool-size。
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Documented
+public @interface ConfigurationProperties {
+
+    // 配置前缀，例如"spring.datasource"
+    String value();
+}
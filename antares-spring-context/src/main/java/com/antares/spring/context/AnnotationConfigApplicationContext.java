@@ -9,6 +9,8 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -17,6 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -26,6 +29,7 @@ import com.antares.spring.annotation.Autowired;
 import com.antares.spring.annotation.Bean;
 import com.antares.spring.annotation.Component;
 import com.antares.spring.annotation.ComponentScan;
+import com.antares.spring.annotation.ConfigurationProperties;
 import com.antares.spring.annotation.Configuration;
 import com.antares.spring.annotation.Import;
 import com.antares.spring.annotation.Order;
@@ -37,8 +41,15 @@ import com.antares.spring.exception.BeanNotOfRequiredTypeException;
 import com.antares.spring.exception.NoSuchBeanDefinitionException;
 import com.antares.spring.exception.NoUniqueBeanDefinitionException;
 import com.antares.spring.exception.UnsatisfiedDependencyException;
+import com.antares.spring.io.ClassMetadata;
+import com.antares.spring.io.ClassMetadataCache;
+import com.antares.spring.io.ClassMetadataReader;
+import com.antares.spring.io.PropertyBinder;
+import com.antares.spring.io.PropertyChangeListener;
 import com.antares.spring.io.PropertyResolver;
+import com.antares.spring.io.Resource;
 import com.antares.spring.io.ResourceResolver;
+import com.antares.spring.utils.ClassPathUtils;
 import com.antares.spring.utils.ClassUtils;
 
 import jakarta.annotation.Nullable;
@@ -51,9 +62,12 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
     protected final Map<String, BeanDefinition> beans;
     protected final PropertyResolver propertyResolver;
+    protected final PropertyBinder propertyBinder;
+    protected final ClassLoader classLoader;
 
     private List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
     private Set<String> creatingBeanNames;
+    private List<PropertyChangeListener> propertyChangeListeners = new ArrayList<>();
 
     /**
      * 扫描指定的包下的所有Class，并创建BeanDefinition
@@ -65,6 +79,8 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         ApplicationContextUtils.setApplicationContext(this);
 
         this.propertyResolver = propertyResolver;
+        this.propertyBinder = new PropertyBinder(propertyResolver);
+        this.classLoader = ClassPathUtils.getContextClassLoader();
 
         // 扫描获取所有Bean的Class类型
         Set<String> beanClassNames = scanForClassNames(configClass);
@@ -117,6 +133,19 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         this.beans.values().forEach(def -> {
             initBean(def);
         });
+
+        // 注册配置变化的监听器，注册的是getBean()返回的实例(Proxy)，监听方法同样经过拦截器:
+        this.beans.values().stream().sorted()
+                .filter(def -> PropertyChangeListener.class.isAssignableFrom(def.getBeanClass()))
+                .forEach(def -> {
+                    if (def.getRequiredInstance() instanceof PropertyChangeListener listener) {
+                        this.propertyResolver.addPropertyChangeListener(listener);
+                        this.propertyChangeListeners.add(listener);
+                    } else {
+                        logger.warn("Proxy of bean '{}' does not implement PropertyChangeListener, ignored.",
+                                def.getName());
+                    }
+                });
     }
 
     /**
@@ -308,24 +337,37 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         logger.atInfo().log("component scan in packages: {}", Arrays.toString(scanPackages));
 
         Set<String> classNameSet = new HashSet<>();
-        for (String pkg : scanPackages) {
-            // 扫描包下的所有Class
-            logger.atDebug().log("scan package: {}", pkg);
-            var rr = new ResourceResolver(pkg);
-            List<String> classList = rr.scan(res -> {
-                String name = res.name();
-                if (name.endsWith(".class")) {
-                    return name.substring(0, name.length() - 6).replace("/", ".").replace("\\", ".");
+        // 配置了spring.scan.cache-file时复用上次启动解析的结果:
+        String cacheFile = this.propertyResolver.getProperty("spring.scan.cache-file");
+        ClassMetadataCache cache = cacheFile == null ? null : ClassMetadataCache.load(Path.of(cacheFile));
+        try (var reader = new ClassMetadataReader(this.classLoader)) {
+            for (String pkg : scanPackages) {
+                // 扫描包下的所有Class
+                logger.atDebug().log("scan package: {}", pkg);
+                var rr = new ResourceResolver(pkg);
+                Function<Resource, String> mapper = res -> {
+                    String name = res.name();
+                    if (name.endsWith(".class")) {
+                        String className = name.substring(0, name.length() - 6).replace("/", ".").replace("\\", ".");
+                        // 解析.class文件，只保留候选类，DTO、工具类等不会被加载:
+                        ClassMetadata metadata = cache == null ? reader.read(res) : cache.get(res, reader);
+                        return metadata != null && isCandidateComponent(reader, metadata) ? className : null;
+                    }
+                    return null;
+                };
+                // 有缓存时，未变化的目录或jar直接使用上次的候选类，不再遍历:
+                List<String> classList = cache == null ? rr.scan(mapper) : cache.scan(rr, mapper);
+                // 这里不使用logger.atDebug().log()，是为了防止lambda中重复判断日志等级降低效率
+                if (logger.isDebugEnabled()) {
+                    classList.forEach((className) -> {
+                        logger.debug("class found by @ComponentScan: {}", className);
+                    });
                 }
-                return null;
-            });
-            // 这里不使用logger.atDebug().log()，是为了防止lambda中重复判断日志等级降低效率
-            if (logger.isDebugEnabled()) {
-                classList.forEach((className) -> {
-                    logger.debug("class found by @ComponentScan: {}", className);
-                });
+                classNameSet.addAll(classList);
             }
-            classNameSet.addAll(classList);
+        }
+        if (cache != null) {
+            cache.save();
         }
 
         // 查找@Import(Xyz.class)
@@ -345,23 +387,37 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         return classNameSet;
     }
 
+    /*
+     * 标注了@Component(含元注解)或@ConfigurationProperties的类才是候选类
+     */
+    boolean isCandidateComponent(ClassMetadataReader reader, ClassMetadata metadata) {
+        if (metadata.isAnnotation() || metadata.isInterface() || metadata.isEnum()) {
+            return false;
+        }
+        return reader.hasAnnotation(metadata, Component.class.getName())
+                || reader.hasAnnotation(metadata, ConfigurationProperties.class.getName());
+    }
+
     Map<String, BeanDefinition> createBeanDefinitions(Set<String> beanClassNames) {
         Map<String, BeanDefinition> defs = new HashMap<>();
         for (String className : beanClassNames) {
-            // 获取class
+            // 获取class，不执行静态初始化
             Class<?> clazz = null;
             try {
-                clazz = Class.forName(className);
+                clazz = Class.forName(className, false, this.classLoader);
             } catch (ClassNotFoundException e) {
                 throw new BeanCreationException(e);
             }
-            if (clazz.isAnnotation() || clazz.isEnum() || clazz.isInterface() || clazz.isRecord()) {
+            // @ConfigurationProperties类可以是record，由PropertyBinder创建:
+            ConfigurationProperties properties = ClassUtils.findAnnotation(clazz, ConfigurationProperties.class);
+            if (clazz.isAnnotation() || clazz.isEnum() || clazz.isInterface()
+                    || (clazz.isRecord() && properties == null)) {
                 continue;
             }
 
             // 是否标注@Component，我们只注入@ComponentScan包下标注了@Component注解的类
             Component component = ClassUtils.findAnnotation(clazz, Component.class);
-            if (component != null) {
+            if (component != null || properties != null) {
                 logger.atDebug().log("found component: {}", clazz.getName());
                 // 获取类上的访问修饰符
                 int mod = clazz.getModifiers();
@@ -373,7 +429,8 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                 }
 
                 String beanName = ClassUtils.getBeanName(clazz);
-                var def = new BeanDefinition(beanName, clazz, getSuitableConstructor(clazz), getOrder(clazz),
+                var def = new BeanDefinition(beanName, clazz,
+                        properties == null ? getSuitableConstructor(clazz) : null, getOrder(clazz),
                         clazz.isAnnotationPresent(Primary.class),
                         // name of init / destroy method
                         null, null,
@@ -520,6 +577,11 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                     String.format("Circular dependency detected when create bean {%s}", def.getName()));
         }
 
+        // @ConfigurationProperties类没有构造函数，由PropertyBinder创建:
+        final ConfigurationProperties properties = def.getFactoryName() == null
+                ? ClassUtils.findAnnotation(def.getBeanClass(), ConfigurationProperties.class)
+                : null;
+
         // 创建实例：通过构造函数或工厂方法
         Executable createFn = null;
         if (def.getFactoryName() == null) {
@@ -531,8 +593,8 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
         }
 
         // 构造函数或工厂的参数及注解
-        final Parameter[] parameters = createFn.getParameters();
-        final Annotation[][] parameterAnnos = createFn.getParameterAnnotations();
+        final Parameter[] parameters = createFn == null ? new Parameter[0] : createFn.getParameters();
+        final Annotation[][] parameterAnnos = createFn == null ? new Annotation[0][] : createFn.getParameterAnnotations();
         // 存储注入的结果
         Object[] args = new Object[parameters.length];
         for (int i = 0; i < parameters.length; i++) {
@@ -574,7 +636,7 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
             final Class<?> type = parameter.getType();
             if (value != null) {
                 // @Value注解
-                args[i] = this.propertyResolver.getRequiredProperty(value.value(), type);
+                args[i] = this.propertyResolver.getRequiredProperty(value.value(), parameter.getParameterizedType());
             } else {
                 // @Autowired注解
                 String name = autowired.name();
@@ -609,7 +671,9 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
         // 至此我们获取了构造函数中参数的具体实例，接下来创建实例
         Object instance = null;
-        if (def.getFactoryName() == null) {
+        if (properties != null) {
+            instance = this.propertyBinder.bind(properties.value(), def.getBeanClass());
+        } else if (def.getFactoryName() == null) {
             // 通过构造函数创建
             try {
                 instance = def.getConstructor().newInstance(args);
@@ -629,6 +693,11 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
                         String.format(String.format("Exception when create bean '%s': %s",
                                 def.getName(), def.getBeanClass().getName()), e));
             }
+            // @Bean方法上的@ConfigurationProperties绑定到返回的实例:
+            ConfigurationProperties factoryProperties = def.getFactoryMethod().getAnnotation(ConfigurationProperties.class);
+            if (factoryProperties != null && instance != null) {
+                this.propertyBinder.bindTo(factoryProperties.value(), instance);
+            }
         }
         def.setInstance(instance);
 
@@ -743,7 +812,8 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
 
         // @Value注入
         if (value != null) {
-            Object propValue = this.propertyResolver.getRequiredProperty(value.value(), accessileType);
+            Type genericType = field != null ? field.getGenericType() : method.getGenericParameterTypes()[0];
+            Object propValue = this.propertyResolver.getRequiredProperty(value.value(), genericType);
             if (field != null) {
                 logger.atDebug().log("Field injection: {}.{} = {}",
                         def.getBeanClass().getName(), accessibleName, propValue);
@@ -868,6 +938,9 @@ public class AnnotationConfigApplicationContext implements ConfigurableApplicati
     @Override
     public void close() {
         logger.atInfo().log("Closing {}...", this.getClass().getName());
+        this.propertyChangeListeners.forEach(this.propertyResolver::removePropertyChangeListener);
+        this.propertyChangeListeners.clear();
+        this.propertyResolver.closeResources();
         this.beans.values().forEach(def -> {
             final Object beanInstance = getProxiedInstance(def);
             callMethod(beanInstance, def.getDestroyMethod(), def.getDestroyMethodName());
@@ -0,0 +1,19 @@
+package com.antares.spring.exception;
+
+public class PropertyBindingException extends NestedRuntimeException {
+
+    public PropertyBindingException() {
+    }
+
+    public PropertyBindingException(String message) {
+        super(message);
+    }
+
+    public PropertyBindingException(Throwable cause) {
+        super(cause);
+    }
+
+    public PropertyBindingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.antares.spring.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 只读的ByteBuffer仅在回调内有效，不能保存引用
+ */
+@FunctionalInterface
+public interface ByteBufferCallback<T> {
+    T doWithByteBuffer(ByteBuffer buffer) throws IOException;
+}
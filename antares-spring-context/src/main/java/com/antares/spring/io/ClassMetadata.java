@@ -0,0 +1,197 @@
+package com.antares.spring.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 从.class文件直接解析的类信息，不加载类。
+ *
+ * 只解析常量池、访问标志、父类和类上的RuntimeVisibleAnnotations，annotations为注解的类名(不含注解参数)。
+ */
+public record ClassMetadata(String className, int access, @Nullable String superClassName, List<String> annotations) {
+
+    static final int MAGIC = 0xCAFEBABE;
+
+    static final int ACC_INTERFACE = 0x0200;
+    static final int ACC_ANNOTATION = 0x2000;
+    static final int ACC_ENUM = 0x4000;
+
+    public boolean isInterface() {
+        return (this.access & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (this.access & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (this.access & ACC_ENUM) != 0;
+    }
+
+    public boolean isRecord() {
+        return "java.lang.Record".equals(this.superClassName);
+    }
+
+    public static ClassMetadata parse(byte[] data) {
+        return new Parser(ByteBuffer.wrap(data)).parse();
+    }
+
+    static class Parser {
+
+        final ByteBuffer buffer;
+        // 常量池中每一项的起始位置(tag之后)，下标从1开始:
+        int[] offsets;
+        byte[] tags;
+
+        Parser(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        ClassMetadata parse() {
+            if (this.buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a class file.");
+            }
+            // minor_version, major_version:
+            skip(4);
+            readConstantPool();
+            int access = u2();
+            String className = className(u2());
+            int superIndex = u2();
+            String superClassName = superIndex == 0 ? null : className(superIndex);
+            // interfaces:
+            skip(2 * u2());
+            skipMembers(); // fields
+            skipMembers(); // methods
+            List<String> annotations = List.of();
+            int attributeCount = u2();
+            for (int i = 0; i < attributeCount; i++) {
+                String name = utf8(u2());
+                int length = this.buffer.getInt();
+                if ("RuntimeVisibleAnnotations".equals(name)) {
+                    annotations = readAnnotations();
+                } else {
+                    skip(length);
+                }
+            }
+            return new ClassMetadata(className, access, superClassName, annotations);
+        }
+
+        void readConstantPool() {
+            int count = u2();
+            this.offsets = new int[count];
+            this.tags = new byte[count];
+            for (int i = 1; i < count; i++) {
+                byte tag = this.buffer.get();
+                this.tags[i] = tag;
+                this.offsets[i] = this.buffer.position();
+                switch (tag) {
+                    case 1 -> skip(u2()); // Utf8
+                    case 7, 8, 16, 19, 20 -> skip(2); // Class, String, MethodType, Module, Package
+                    case 15 -> skip(3); // MethodHandle
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> skip(4);
+                    case 5, 6 -> {
+                        // Long和Double占两项:
+                        skip(8);
+                        i++;
+                    }
+                    default -> throw new IllegalArgumentException("Invalid constant pool tag: " + tag);
+                }
+            }
+        }
+
+        void skipMembers() {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                // access_flags, name_index, descriptor_index:
+                skip(6);
+                skipAttributes();
+            }
+        }
+
+        void skipAttributes() {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                skip(2);
+                skip(this.buffer.getInt());
+            }
+        }
+
+        List<String> readAnnotations() {
+            int count = u2();
+            List<String> annotations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                annotations.add(descriptorToClassName(utf8(u2())));
+                skipElementValuePairs();
+            }
+            return List.copyOf(annotations);
+        }
+
+        void skipElementValuePairs() {
+            int pairs = u2();
+            for (int i = 0; i < pairs; i++) {
+                skip(2);
+                skipElementValue();
+            }
+        }
+
+        void skipElementValue() {
+            char tag = (char) this.buffer.get();
+            switch (tag) {
+                case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> skip(2);
+                case 'e' -> skip(4);
+                case '@' -> {
+                    skip(2);
+                    skipElementValuePairs();
+                }
+                case '[' -> {
+                    int count = u2();
+                    for (int i = 0; i < count; i++) {
+                        skipElementValue();
+                    }
+                }
+                default -> throw new IllegalArgumentException("Invalid element value tag: " + tag);
+            }
+        }
+
+        String className(int classIndex) {
+            int nameIndex = this.buffer.getShort(this.offsets[classIndex]) & 0xffff;
+            return utf8(nameIndex).replace('/', '.');
+        }
+
+        String utf8(int index) {
+            if (this.tags[index] != 1) {
+                throw new IllegalArgumentException("Constant pool entry " + index + " is not Utf8.");
+            }
+            int offset = this.offsets[index];
+            int length = this.buffer.getShort(offset) & 0xffff;
+            // 常量池使用modified UTF-8，交给readUTF解码:
+            try {
+                return new DataInputStream(new ByteArrayInputStream(this.buffer.array(), offset, length + 2)).readUTF();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int u2() {
+            return this.buffer.getShort() & 0xffff;
+        }
+
+        void skip(int n) {
+            this.buffer.position(this.buffer.position() + n);
+        }
+    }
+
+    /*
+     * Lcom/foo/Bar; -> com.foo.Bar
+     */
+    static String descriptorToClassName(String descriptor) {
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+}
@@ -0,0 +1,307 @@
+package com.antares.spring.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.antares.spring.io.ResourceResolver.FoundFile;
+
+/**
+ * 保存在磁盘上的扫描结果，key为.class资源的位置，按(大小, 修改时间)判断是否变化，
+ * 未变化时直接使用上次解析的ClassMetadata，只重新解析变化的.class文件。
+ *
+ * jar中的资源使用jar文件的大小和修改时间。大小和修改时间优先使用ResourceResolver扫描时读取的属性，
+ * 命中缓存时不再逐个读取.class文件的属性。save()合并上次的条目，本次未扫描到且文件已不存在的条目被清除，
+ * 多个容器扫描不同的包时不会互相覆盖。缓存文件损坏或版本不一致时当作空缓存。
+ *
+ * scan()还按位置(包目录或jar中的包)保存mapper的结果，jar按jar文件的(大小, 修改时间)，目录按其下所有目录及文件的
+ * (大小, 修改时间)判断是否变化。目录中增删文件会改变目录的修改时间，因此只需读取已记录路径的属性，不再遍历目录，
+ * 也不再读取jar的中央目录和.class文件。结果中用到的组合注解定义在其他位置时，其变化不会使结果失效。
+ */
+public class ClassMetadataCache {
+
+    static final int VERSION = 2;
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final Path file;
+    final Map<String, Entry> cached;
+    final Map<String, Entry> used = new ConcurrentHashMap<>();
+    final Map<String, RootEntry> cachedRoots;
+    final Map<String, RootEntry> usedRoots = new ConcurrentHashMap<>();
+    // jar文件只读取一次属性:
+    final Map<Path, long[]> jarStamps = new ConcurrentHashMap<>();
+    volatile boolean changed = false;
+
+    record Entry(long size, long lastModified, ClassMetadata metadata) {
+    }
+
+    /**
+     * 一个位置的扫描结果，stamps为判断该位置是否变化的文件属性
+     */
+    record RootEntry(List<FoundFile> stamps, List<String> results) {
+
+        boolean isChanged() {
+            for (FoundFile stamp : this.stamps) {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(stamp.path(), BasicFileAttributes.class);
+                    if (stamp.isDirectory() != attrs.isDirectory()
+                            || (!stamp.isDirectory() && stamp.size() != attrs.size())
+                            || stamp.lastModified() != attrs.lastModifiedTime().toMillis()) {
+                        return true;
+                    }
+                } catch (IOException e) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    ClassMetadataCache(Path file, Map<String, Entry> cached, Map<String, RootEntry> cachedRoots) {
+        this.file = file;
+        this.cached = cached;
+        this.cachedRoots = cachedRoots;
+    }
+
+    public static ClassMetadataCache load(Path file) {
+        Map<String, Entry> cached = new ConcurrentHashMap<>();
+        Map<String, RootEntry> cachedRoots = new ConcurrentHashMap<>();
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() == VERSION) {
+                int count = input.readInt();
+                for (int i = 0; i < count; i++) {
+                    String key = input.readUTF();
+                    cached.put(key, readEntry(input));
+                }
+                int roots = input.readInt();
+                for (int i = 0; i < roots; i++) {
+                    String key = input.readUTF();
+                    cachedRoots.put(key, readRootEntry(input));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // 首次启动
+        } catch (IOException | RuntimeException e) {
+            LoggerFactory.getLogger(ClassMetadataCache.class).warn("Ignore invalid scan cache: " + file, e);
+            cached.clear();
+            cachedRoots.clear();
+        }
+        return new ClassMetadataCache(file, cached, cachedRoots);
+    }
+
+    /**
+     * 扫描basePackage的所有位置，位置未变化时直接使用上次mapper的结果，不遍历目录，也不调用mapper。
+     * 结果按位置缓存，同一个缓存文件只能对应一种mapper。
+     */
+    public List<String> scan(ResourceResolver resolver, Function<Resource, String> mapper) {
+        String basePackagePath = resolver.getBasePackagePath();
+        List<String> results = new ArrayList<>();
+        try {
+            for (URI root : resolver.findRoots(basePackagePath)) {
+                String key = root.toString();
+                RootEntry entry = this.cachedRoots.get(key);
+                if (entry == null || entry.isChanged()) {
+                    List<Resource> resources = new ArrayList<>();
+                    List<FoundFile> stamps = new ArrayList<>();
+                    resolver.scanRoot(root, basePackagePath, resources, stamps);
+                    resources.sort((r1, r2) -> r1.name().compareTo(r2.name()));
+                    entry = new RootEntry(List.copyOf(stamps),
+                            resources.stream().map(mapper).filter(Objects::nonNull).toList());
+                    this.changed = true;
+                } else {
+                    logger.atDebug().log("reuse scan result of {}: {} results.", key, entry.results().size());
+                }
+                this.usedRoots.put(key, entry);
+                results.addAll(entry.results());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+        return results;
+    }
+
+    /**
+     * 获取缓存的ClassMetadata，资源不存在或已变化时重新解析
+     */
+    public ClassMetadata get(Resource resource, ClassMetadataReader reader) {
+        try {
+            String key = toKey(resource);
+            long[] stamp = getStamp(resource);
+            Entry entry = this.cached.get(key);
+            if (entry == null || entry.size() != stamp[0] || entry.lastModified() != stamp[1]) {
+                ClassMetadata metadata = reader.read(resource);
+                if (metadata == null) {
+                    return null;
+                }
+                entry = new Entry(stamp[0], stamp[1], metadata);
+                this.changed = true;
+            }
+            this.used.put(key, entry);
+            return entry.metadata();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 有变化时写入缓存文件，先写临时文件再替换，多个进程同时写入不会产生损坏的文件
+     */
+    public void save() {
+        if (!this.changed) {
+            return;
+        }
+        Map<String, Entry> merged = new HashMap<>(this.used);
+        for (var e : this.cached.entrySet()) {
+            if (!merged.containsKey(e.getKey()) && exists(e.getKey())) {
+                merged.put(e.getKey(), e.getValue());
+            }
+        }
+        Map<String, RootEntry> mergedRoots = new HashMap<>(this.usedRoots);
+        for (var e : this.cachedRoots.entrySet()) {
+            List<FoundFile> stamps = e.getValue().stamps();
+            if (!mergedRoots.containsKey(e.getKey()) && !stamps.isEmpty() && Files.exists(stamps.get(0).path())) {
+                mergedRoots.put(e.getKey(), e.getValue());
+            }
+        }
+        try {
+            Path dir = this.file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, this.file.getFileName().toString(), ".tmp");
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                output.writeInt(VERSION);
+                output.writeInt(merged.size());
+                for (var e : merged.entrySet()) {
+                    output.writeUTF(e.getKey());
+                    writeEntry(output, e.getValue());
+                }
+                output.writeInt(mergedRoots.size());
+                for (var e : mergedRoots.entrySet()) {
+                    output.writeUTF(e.getKey());
+                    writeRootEntry(output, e.getValue());
+                }
+            }
+            Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.atDebug().log("save scan cache: {}, {} classes, {} roots.", this.file, merged.size(), mergedRoots.size());
+        } catch (IOException e) {
+            logger.warn("Failed to save scan cache: " + this.file, e);
+        }
+    }
+
+    long[] getStamp(Resource resource) throws IOException {
+        if (resource.lastModified() >= 0) {
+            return new long[] { resource.size(), resource.lastModified() };
+        }
+        if (!resource.isJar()) {
+            return readStamp(resource.filePath());
+        }
+        Path jar = resource.jarPath();
+        long[] stamp = this.jarStamps.get(jar);
+        if (stamp == null) {
+            stamp = readStamp(jar);
+            this.jarStamps.put(jar, stamp);
+        }
+        return stamp;
+    }
+
+    /*
+     * 未扫描到的条目对应的文件或jar是否还存在，key与toKey()对应
+     */
+    static boolean exists(String key) {
+        try {
+            if (key.startsWith("jar:")) {
+                return Files.isRegularFile(new Resource(key.substring(0, key.indexOf("!/") + 1), "").jarPath());
+            }
+            return Files.isRegularFile(new Resource(key, "").filePath());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    static long[] readStamp(Path path) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        return new long[] { attrs.size(), attrs.lastModifiedTime().toMillis() };
+    }
+
+    static String toKey(Resource resource) {
+        return resource.path().startsWith("jar:") ? resource.path() + "/" + resource.name() : resource.path();
+    }
+
+    static Entry readEntry(DataInputStream input) throws IOException {
+        long size = input.readLong();
+        long lastModified = input.readLong();
+        String className = input.readUTF();
+        int access = input.readInt();
+        String superClassName = input.readUTF();
+        int n = input.readInt();
+        List<String> annotations = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            annotations.add(input.readUTF());
+        }
+        var metadata = new ClassMetadata(className, access, superClassName.isEmpty() ? null : superClassName,
+                List.copyOf(annotations));
+        return new Entry(size, lastModified, metadata);
+    }
+
+    static void writeEntry(DataOutputStream output, Entry entry) throws IOException {
+        ClassMetadata metadata = entry.metadata();
+        output.writeLong(entry.size());
+        output.writeLong(entry.lastModified());
+        output.writeUTF(metadata.className());
+        output.writeInt(metadata.access());
+        output.writeUTF(metadata.superClassName() == null ? "" : metadata.superClassName());
+        output.writeInt(metadata.annotations().size());
+        for (String anno : metadata.annotations()) {
+            output.writeUTF(anno);
+        }
+    }
+
+    static RootEntry readRootEntry(DataInputStream input) throws IOException {
+        int n = input.readInt();
+        List<FoundFile> stamps = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            stamps.add(new FoundFile(Path.of(input.readUTF()), input.readLong(), input.readLong()));
+        }
+        int m = input.readInt();
+        List<String> results = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            results.add(input.readUTF());
+        }
+        return new RootEntry(List.copyOf(stamps), List.copyOf(results));
+    }
+
+    static void writeRootEntry(DataOutputStream output, RootEntry entry) throws IOException {
+        output.writeInt(entry.stamps().size());
+        for (FoundFile stamp : entry.stamps()) {
+            output.writeUTF(stamp.path().toString());
+            output.writeLong(stamp.size());
+            output.writeLong(stamp.lastModified());
+        }
+        output.writeInt(entry.results().size());
+        for (String result : entry.results()) {
+            output.writeUTF(result);
+        }
+    }
+}
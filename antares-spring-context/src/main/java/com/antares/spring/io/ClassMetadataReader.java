@@ -0,0 +1,133 @@
+package com.antares.spring.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 读取.class资源并解析为ClassMetadata，用于在加载类之前判断是否标注了某个注解(含元注解)。
+ *
+ * 扫描到的Resource直接读取文件或jar条目，不再经过ClassLoader查找；注解的元注解通过ClassLoader读取，
+ * 结果按注解类名缓存，线程安全。读取过的jar保持打开直到close()。
+ */
+public class ClassMetadataReader implements AutoCloseable {
+
+    final ClassLoader classLoader;
+    // 注解类名 -> 该注解上直接或间接标注的所有注解:
+    final Map<String, Set<String>> metaAnnotations = new ConcurrentHashMap<>();
+    final Map<Path, JarFile> jarFiles = new ConcurrentHashMap<>();
+
+    public ClassMetadataReader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 读取类名对应的.class资源，不存在时返回null
+     */
+    @Nullable
+    public ClassMetadata read(String className) {
+        String path = className.replace('.', '/') + ".class";
+        try (InputStream input = this.classLoader.getResourceAsStream(path)) {
+            return input == null ? null : ClassMetadata.parse(input.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 读取扫描到的.class资源，jar中的条目不存在时返回null
+     */
+    @Nullable
+    public ClassMetadata read(Resource resource) {
+        try {
+            if (!resource.isJar()) {
+                return ClassMetadata.parse(Files.readAllBytes(resource.filePath()));
+            }
+            JarFile jarFile = getJarFile(resource.jarPath());
+            JarEntry entry = jarFile.getJarEntry(resource.name());
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream input = jarFile.getInputStream(entry)) {
+                return ClassMetadata.parse(input.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    JarFile getJarFile(Path path) {
+        JarFile jarFile = this.jarFiles.get(path);
+        if (jarFile == null) {
+            jarFile = this.jarFiles.computeIfAbsent(path, p -> {
+                try {
+                    return new JarFile(p.toFile(), false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return jarFile;
+    }
+
+    @Override
+    public void close() {
+        for (JarFile jarFile : this.jarFiles.values()) {
+            try {
+                jarFile.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        this.jarFiles.clear();
+    }
+
+    /**
+     * 类上是否直接或通过元注解标注了annotationName
+     */
+    public boolean hasAnnotation(ClassMetadata metadata, String annotationName) {
+        for (String anno : metadata.annotations()) {
+            if (anno.equals(annotationName) || getMetaAnnotations(anno).contains(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Set<String> getMetaAnnotations(String annotationName) {
+        Set<String> found = this.metaAnnotations.get(annotationName);
+        if (found == null) {
+            found = new HashSet<>();
+            collectMetaAnnotations(annotationName, found);
+            this.metaAnnotations.putIfAbsent(annotationName, Set.copyOf(found));
+        }
+        return found;
+    }
+
+    void collectMetaAnnotations(String annotationName, Set<String> found) {
+        // 与ClassUtils.findAnnotation()一致，跳过@Target、@Retention等:
+        if (annotationName.startsWith("java.lang.annotation.")) {
+            return;
+        }
+        ClassMetadata metadata = read(annotationName);
+        if (metadata == null) {
+            return;
+        }
+        for (String anno : metadata.annotations()) {
+            // found同时防止注解互相标注时无限递归:
+            if (found.add(anno)) {
+                collectMetaAnnotations(anno, found);
+            }
+        }
+    }
+}
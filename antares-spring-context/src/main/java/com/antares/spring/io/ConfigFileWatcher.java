@@ -0,0 +1,133 @@
+package com.antares.spring.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.antares.spring.utils.YamlUtils;
+
+/**
+ * 监控文件系统中的.yml/.yaml/.properties配置文件，文件变化后重新加载，替换PropertyResolver中由
+ * PropertySource.file()创建的同名PropertySource。
+ *
+ * 编辑器保存文件时通常会触发多次事件，收到事件后等待debounceMillis再加载，期间的事件合并为一次。
+ * 加载失败(例如文件写了一半)时保留原配置，等待下一次变化。
+ */
+public class ConfigFileWatcher implements AutoCloseable {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final Path file;
+    final PropertyResolver propertyResolver;
+    final long debounceMillis;
+    final WatchService watchService;
+    final Thread thread;
+
+    public ConfigFileWatcher(Path file, PropertyResolver propertyResolver) {
+        this(file, propertyResolver, 200);
+    }
+
+    public ConfigFileWatcher(Path file, PropertyResolver propertyResolver, long debounceMillis) {
+        this.file = file.toAbsolutePath().normalize();
+        this.propertyResolver = propertyResolver;
+        this.debounceMillis = debounceMillis;
+        try {
+            // 监控所在目录，以便覆盖写入和原子替换(rename)都能被检测到:
+            this.watchService = this.file.getFileSystem().newWatchService();
+            this.file.getParent().register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.thread = Thread.ofVirtual().name("config-watcher").start(this::watch);
+        logger.info("watching config file: {}", this.file);
+    }
+
+    /**
+     * 按扩展名加载配置文件
+     */
+    public static Properties load(Path file) {
+        Properties props = new Properties();
+        String name = file.getFileName().toString();
+        if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+            Map<String, Object> map = YamlUtils.loadYamlAsPlainMap(file);
+            map.forEach((key, value) -> props.put(key, value));
+        } else {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return props;
+    }
+
+    void watch() {
+        try {
+            while (true) {
+                WatchKey key = this.watchService.take();
+                boolean changed = isFileChanged(key);
+                // 合并debounceMillis内的后续事件:
+                WatchKey next;
+                while ((next = this.watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed = isFileChanged(next) || changed;
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.info("stop watching config file: {}", this.file);
+        }
+    }
+
+    boolean isFileChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || this.file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    void reload() {
+        if (!Files.isRegularFile(this.file)) {
+            return;
+        }
+        try {
+            PropertyChangeEvent event = this.propertyResolver.reload(PropertySource.file(this.file));
+            logger.info("reload config file: {}, {} properties changed.", this.file, event.changedKeys().size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reload config file: " + this.file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.watchService.close();
+            this.thread.join(1000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.antares.spring.io;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * String到目标类型的转换，@Value、@ConfigurationProperties和Web请求参数共用。
+ *
+ * 目标类型对应的转换函数解析一次后缓存在ClassValue中，调用方可以预先取得函数，之后每次转换只是一次函数调用。
+ * 除注册的类型外，还支持枚举(忽略大小写)，以及逗号分隔的数组、List、Set和Collection。
+ * 集合按泛型参数转换元素，例如List&lt;Long&gt;，原始类型的集合元素为String。
+ */
+public class ConversionService {
+
+    static final Function<String, Object> UNSUPPORTED = s -> {
+        throw new IllegalStateException();
+    };
+
+    final Map<Class<?>, Function<String, ?>> converters = new ConcurrentHashMap<>();
+
+    // 注册新的转换函数时整体替换:
+    volatile ClassValue<Function<String, ?>> resolved = newResolved();
+
+    public ConversionService() {
+        addConverter(String.class, s -> s);
+        addConverter(boolean.class, s -> Boolean.parseBoolean(s));
+        addConverter(Boolean.class, s -> Boolean.valueOf(s));
+
+        addConverter(byte.class, s -> Byte.parseByte(s));
+        addConverter(Byte.class, s -> Byte.valueOf(s));
+
+        addConverter(short.class, s -> Short.parseShort(s));
+        addConverter(Short.class, s -> Short.valueOf(s));
+
+        addConverter(int.class, s -> Integer.parseInt(s));
+        addConverter(Integer.class, s -> Integer.valueOf(s));
+
+        addConverter(long.class, s -> Long.parseLong(s));
+        addConverter(Long.class, s -> Long.valueOf(s));
+
+        addConverter(float.class, s -> Float.parseFloat(s));
+        addConverter(Float.class, s -> Float.valueOf(s));
+
+        addConverter(double.class, s -> Double.parseDouble(s));
+        addConverter(Double.class, s -> Double.valueOf(s));
+
+        addConverter(BigInteger.class, s -> new BigInteger(s.strip()));
+        addConverter(BigDecimal.class, s -> new BigDecimal(s.strip()));
+        addConverter(UUID.class, s -> UUID.fromString(s.strip()));
+
+        addConverter(LocalDate.class, s -> LocalDate.parse(s));
+        addConverter(LocalTime.class, s -> LocalTime.parse(s));
+        addConverter(LocalDateTime.class, s -> LocalDateTime.parse(s));
+        addConverter(ZonedDateTime.class, s -> ZonedDateTime.parse(s));
+        addConverter(Duration.class, s -> PropertyResolver.parseDuration(s));
+        addConverter(ZoneId.class, s -> ZoneId.of(s));
+        addConverter(DataSize.class, s -> DataSize.parse(s));
+    }
+
+    /**
+     * 注册或替换转换函数
+     */
+    public <T> void addConverter(Class<T> type, Function<String, ? extends T> converter) {
+        this.converters.put(type, converter);
+        this.resolved = newResolved();
+    }
+
+    public boolean canConvert(Class<?> type) {
+        return this.resolved.get(type) != UNSUPPORTED;
+    }
+
+    /**
+     * 获取转换函数，不支持时抛出IllegalArgumentException
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Function<String, T> getConverter(Class<T> type) {
+        Function<String, ?> fn = this.resolved.get(type);
+        if (fn == UNSUPPORTED) {
+            throw new IllegalArgumentException("Unsupported value type: " + type.getName());
+        }
+        return (Function<String, T>) fn;
+    }
+
+    public <T> T convert(String value, Class<T> type) {
+        return getConverter(type).apply(value);
+    }
+
+    /**
+     * 是否可以转换到带泛型参数的类型，例如@RequestParam List&lt;Long&gt;
+     */
+    public boolean canConvert(Type type) {
+        return resolveGeneric(type) != UNSUPPORTED;
+    }
+
+    /**
+     * 获取带泛型参数的类型的转换函数，不支持时抛出IllegalArgumentException
+     */
+    public Function<String, ?> getConverter(Type type) {
+        Function<String, ?> fn = resolveGeneric(type);
+        if (fn == UNSUPPORTED) {
+            throw new IllegalArgumentException("Unsupported value type: " + type.getTypeName());
+        }
+        return fn;
+    }
+
+    public Object convert(String value, Type type) {
+        return getConverter(type).apply(value);
+    }
+
+    Function<String, ?> resolveGeneric(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return this.resolved.get(clazz);
+        }
+        if (type instanceof ParameterizedType pt && pt.getRawType() instanceof Class<?> raw
+                && (raw == List.class || raw == Collection.class || raw == Set.class)
+                && pt.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            // 元素类型不能再是数组或集合:
+            if (elementType.isArray() || Collection.class.isAssignableFrom(elementType) || !canConvert(elementType)) {
+                return UNSUPPORTED;
+            }
+            Function<String, ?> element = getConverter(elementType);
+            if (raw == Set.class) {
+                return s -> {
+                    Set<Object> set = new LinkedHashSet<>();
+                    for (String item : split(s)) {
+                        set.add(element.apply(item));
+                    }
+                    return Collections.unmodifiableSet(set);
+                };
+            }
+            return s -> {
+                List<String> items = split(s);
+                List<Object> list = new ArrayList<>(items.size());
+                for (String item : items) {
+                    list.add(element.apply(item));
+                }
+                return Collections.unmodifiableList(list);
+            };
+        }
+        return UNSUPPORTED;
+    }
+
+    ClassValue<Function<String, ?>> newResolved() {
+        return new ClassValue<>() {
+            @Override
+            protected Function<String, ?> computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Function<String, ?> resolve(Class<?> type) {
+        Function<String, ?> fn = this.converters.get(type);
+        if (fn != null) {
+            return fn;
+        }
+        if (type.isEnum()) {
+            // 枚举忽略大小写，允许用'-'代替'_':
+            return s -> Enum.valueOf((Class) type, s.strip().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (!canConvert(componentType) || componentType.isArray()) {
+                return UNSUPPORTED;
+            }
+            Function<String, ?> component = getConverter(componentType);
+            return s -> {
+                List<String> items = split(s);
+                Object array = Array.newInstance(componentType, items.size());
+                for (int i = 0; i < items.size(); i++) {
+                    Array.set(array, i, component.apply(items.get(i)));
+                }
+                return array;
+            };
+        }
+        if (type == List.class || type == Collection.class) {
+            return s -> Collections.unmodifiableList(split(s));
+        }
+        if (type == Set.class) {
+            return s -> Collections.unmodifiableSet(new LinkedHashSet<>(split(s)));
+        }
+        return UNSUPPORTED;
+    }
+
+    static List<String> split(String value) {
+        List<String> items = new ArrayList<>();
+        for (String s : value.split(",")) {
+            if (!s.isBlank()) {
+                items.add(s.strip());
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,43 @@
+package com.antares.spring.io;
+
+import java.util.Locale;
+
+/**
+ * 以字节为单位的数据大小，支持B/KB/MB/GB/TB后缀(1KB = 1024B)，没有后缀时单位为字节，例如"512KB"、"10MB"。
+ */
+public record DataSize(long bytes) {
+
+    public static DataSize ofKilobytes(long kilobytes) {
+        return new DataSize(kilobytes * 1024);
+    }
+
+    public static DataSize ofMegabytes(long megabytes) {
+        return new DataSize(megabytes * 1024 * 1024);
+    }
+
+    public static DataSize parse(String text) {
+        String s = text.strip().toUpperCase(Locale.ROOT);
+        int end = s.length();
+        while (end > 0 && Character.isLetter(s.charAt(end - 1))) {
+            end--;
+        }
+        long value = Long.parseLong(s.substring(0, end).strip());
+        long unit = switch (s.substring(end)) {
+            case "", "B" -> 1L;
+            case "K", "KB" -> 1L << 10;
+            case "M", "MB" -> 1L << 20;
+            case "G", "GB" -> 1L << 30;
+            case "T", "TB" -> 1L << 40;
+            default -> throw new IllegalArgumentException("Invalid data size: " + text);
+        };
+        return new DataSize(Math.multiplyExact(value, unit));
+    }
+
+    public long toKilobytes() {
+        return this.bytes / 1024;
+    }
+
+    public long toMegabytes() {
+        return this.bytes / 1024 / 1024;
+    }
+}
@@ -0,0 +1,93 @@
+package com.antares.spring.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 编译后的占位符表达式，由字面量和${key:default}片段组成，不可变，可被缓存复用。
+ *
+ * 例如"jdbc:mysql://${DB_HOST:localhost}:${DB_PORT:3306}/db"编译为：
+ * Literal("jdbc:mysql://"), Placeholder("DB_HOST", "localhost"), Literal(":"), Placeholder("DB_PORT", "3306"), Literal("/db")
+ */
+record PlaceholderExpr(List<Segment> segments) {
+
+    static final String PREFIX = "${";
+    static final String SUFFIX = "}";
+    static final char SEPARATOR = ':';
+
+    sealed interface Segment permits Literal, Placeholder {
+    }
+
+    record Literal(String text) implements Segment {
+    }
+
+    /**
+     * defaultValue为null表示没有默认值，默认值本身也是表达式，可以嵌套
+     */
+    record Placeholder(String key, @Nullable PlaceholderExpr defaultValue) implements Segment {
+    }
+
+    static boolean hasPlaceholder(String value) {
+        return value.contains(PREFIX);
+    }
+
+    static PlaceholderExpr parse(String expr) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < expr.length()) {
+            int start = expr.indexOf(PREFIX, pos);
+            int end = start < 0 ? -1 : findPlaceholderEnd(expr, start);
+            if (end < 0) {
+                // 没有或未闭合的${作为字面量:
+                literal.append(expr, pos, expr.length());
+                break;
+            }
+            literal.append(expr, pos, start);
+            if (!literal.isEmpty()) {
+                segments.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+            segments.add(parsePlaceholder(expr.substring(start + PREFIX.length(), end)));
+            pos = end + SUFFIX.length();
+        }
+        if (!literal.isEmpty()) {
+            segments.add(new Literal(literal.toString()));
+        }
+        return new PlaceholderExpr(List.copyOf(segments));
+    }
+
+    static Placeholder parsePlaceholder(String content) {
+        // key中不允许嵌套，第一个':'之后均为默认值:
+        int idx = content.indexOf(SEPARATOR);
+        if (idx < 0) {
+            return new Placeholder(content.strip(), null);
+        }
+        return new Placeholder(content.substring(0, idx).strip(), parse(content.substring(idx + 1)));
+    }
+
+    /*
+     * 查找与start处${匹配的}，跳过嵌套的${...}
+     */
+    static int findPlaceholderEnd(String expr, int start) {
+        int depth = 0;
+        int i = start + PREFIX.length();
+        while (i < expr.length()) {
+            if (expr.startsWith(PREFIX, i)) {
+                depth++;
+                i += PREFIX.length();
+            } else if (expr.startsWith(SUFFIX, i)) {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+                i += SUFFIX.length();
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,388 @@
+package com.antares.spring.io;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.antares.spring.exception.PropertyBindingException;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 将prefix下的配置绑定到record或JavaBean，支持嵌套对象、List/Set/数组、Map及PropertyResolver支持的所有值类型。
+ *
+ * List按prefix.list[0]、prefix.list[1]绑定，也可以是逗号分隔的prefix.list=a,b,c；
+ * Map按prefix.map.key绑定，key为对象时取第一段。
+ *
+ * 每个类的绑定计划(构造方法、属性、setter)只计算一次，配置的值每次绑定时重新解析。
+ */
+public class PropertyBinder {
+
+    static final ClassValue<BindingPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected BindingPlan computeValue(Class<?> type) {
+            return BindingPlan.of(type);
+        }
+    };
+
+    final PropertyResolver propertyResolver;
+
+    public PropertyBinder(PropertyResolver propertyResolver) {
+        this.propertyResolver = propertyResolver;
+    }
+
+    /**
+     * 创建clazz的实例并绑定prefix下的配置
+     */
+    public <T> T bind(String prefix, Class<T> clazz) {
+        return clazz.cast(new Binding().bindObject(prefix, clazz));
+    }
+
+    /**
+     * 绑定prefix下的配置到已存在的实例，只设置存在的配置项
+     */
+    public <T> T bindTo(String prefix, T instance) {
+        BindingPlan plan = PLANS.get(instance.getClass());
+        if (plan.record()) {
+            throw new PropertyBindingException("Cannot bind to existing record: " + instance.getClass().getName());
+        }
+        new Binding().bindProperties(prefix, plan, instance);
+        return instance;
+    }
+
+    /*
+     * 一次绑定，持有配置key的快照用于按前缀查找
+     */
+    class Binding {
+
+        final NavigableSet<String> names = new TreeSet<>(propertyResolver.getPropertyNames(""));
+
+        Object bindObject(String prefix, Class<?> clazz) {
+            BindingPlan plan = PLANS.get(clazz);
+            if (plan.record()) {
+                Object[] args = new Object[plan.properties().size()];
+                for (int i = 0; i < args.length; i++) {
+                    BindingProperty property = plan.properties().get(i);
+                    Object value = bindProperty(prefix, property);
+                    args[i] = value != null ? value : defaultValue(property.rawType());
+                }
+                return plan.newInstance(args);
+            }
+            return bindProperties(prefix, plan, plan.newInstance());
+        }
+
+        Object bindProperties(String prefix, BindingPlan plan, Object instance) {
+            for (BindingProperty property : plan.properties()) {
+                Object value = bindProperty(prefix, property);
+                if (value != null) {
+                    property.set(instance, value);
+                }
+            }
+            return instance;
+        }
+
+        @Nullable
+        Object bindProperty(String prefix, BindingProperty property) {
+            Object value = bindValue(join(prefix, property.key()), property.type());
+            if (value == null && !property.key().equals(property.name())) {
+                value = bindValue(join(prefix, property.name()), property.type());
+            }
+            return value;
+        }
+
+        /*
+         * 绑定key对应的值，不存在时返回null
+         */
+        @Nullable
+        Object bindValue(String key, Type type) {
+            Class<?> raw = rawType(type);
+            if (propertyResolver.isConvertible(raw)) {
+                return convert(key, raw, propertyResolver.getProperty(key));
+            }
+            if (raw.isArray() || Collection.class.isAssignableFrom(raw)) {
+                Type elementType = raw.isArray() ? componentType(type) : typeArgument(type, 0);
+                List<Object> items = bindElements(key, elementType);
+                if (items == null) {
+                    return null;
+                }
+                if (raw.isArray()) {
+                    Object array = Array.newInstance(rawType(elementType), items.size());
+                    for (int i = 0; i < items.size(); i++) {
+                        Array.set(array, i, items.get(i));
+                    }
+                    return array;
+                }
+                return Set.class.isAssignableFrom(raw) ? Collections.unmodifiableSet(new LinkedHashSet<>(items))
+                        : Collections.unmodifiableList(items);
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return bindMap(key, typeArgument(type, 1));
+            }
+            if (raw.isInterface() || raw.getName().startsWith("java.")) {
+                throw new PropertyBindingException("Unsupported type " + type.getTypeName() + " for property: " + key);
+            }
+            // 嵌套对象，没有任何子配置时不创建:
+            if (names.subSet(key + ".", key + "/").isEmpty()) {
+                return null;
+            }
+            return bindObject(key, raw);
+        }
+
+        @Nullable
+        List<Object> bindElements(String key, Type elementType) {
+            // prefix.list[0], prefix.list[1].name...
+            SortedSet<String> indexed = names.subSet(key + "[", key + "\\");
+            if (!indexed.isEmpty()) {
+                Set<Integer> indexes = new TreeSet<>();
+                for (String name : indexed) {
+                    int end = name.indexOf(']', key.length());
+                    if (end > 0) {
+                        try {
+                            indexes.add(Integer.parseInt(name.substring(key.length() + 1, end)));
+                        } catch (NumberFormatException e) {
+                            // ignore
+                        }
+                    }
+                }
+                List<Object> items = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    Object item = bindValue(key + "[" + index + "]", elementType);
+                    if (item != null) {
+                        items.add(item);
+                    }
+                }
+                return items;
+            }
+            // prefix.list=a,b,c:
+            String value = propertyResolver.getProperty(key);
+            if (value == null) {
+                return null;
+            }
+            Class<?> elementClass = rawType(elementType);
+            if (!propertyResolver.isConvertible(elementClass)) {
+                throw new PropertyBindingException(
+                        "Cannot bind comma-separated value to " + elementType.getTypeName() + " for property: " + key);
+            }
+            List<Object> items = new ArrayList<>();
+            for (String s : value.split(",")) {
+                if (!s.isBlank()) {
+                    items.add(convert(key, elementClass, s.strip()));
+                }
+            }
+            return items;
+        }
+
+        @Nullable
+        Map<String, Object> bindMap(String key, Type valueType) {
+            String prefix = key + ".";
+            SortedSet<String> children = names.subSet(prefix, key + "/");
+            if (children.isEmpty()) {
+                return null;
+            }
+            // 值为简单类型时key为剩余部分，否则为第一段:
+            boolean scalar = propertyResolver.isConvertible(rawType(valueType));
+            Set<String> mapKeys = new LinkedHashSet<>();
+            for (String name : children) {
+                String rest = name.substring(prefix.length());
+                if (!scalar) {
+                    int end = indexOfAny(rest, '.', '[');
+                    rest = end < 0 ? rest : rest.substring(0, end);
+                }
+                mapKeys.add(rest);
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (String mapKey : mapKeys) {
+                Object value = bindValue(prefix + mapKey, valueType);
+                if (value != null) {
+                    map.put(mapKey, value);
+                }
+            }
+            return Collections.unmodifiableMap(map);
+        }
+
+        @Nullable
+        Object convert(String key, Class<?> clazz, @Nullable String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return propertyResolver.convert(clazz, value);
+            } catch (RuntimeException e) {
+                throw new PropertyBindingException(
+                        String.format("Failed to bind property '%s' to %s: %s", key, clazz.getName(), value), e);
+            }
+        }
+    }
+
+    static String join(String prefix, String name) {
+        return prefix.isEmpty() ? name : prefix + "." + name;
+    }
+
+    static int indexOfAny(String s, char c1, char c2) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == c1 || c == c2) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType pt) {
+            return (Class<?>) pt.getRawType();
+        }
+        if (type instanceof GenericArrayType gat) {
+            return Array.newInstance(rawType(gat.getGenericComponentType()), 0).getClass();
+        }
+        throw new PropertyBindingException("Unsupported type: " + type.getTypeName());
+    }
+
+    static Type componentType(Type type) {
+        return type instanceof GenericArrayType gat ? gat.getGenericComponentType()
+                : ((Class<?>) type).getComponentType();
+    }
+
+    static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType pt) {
+            return pt.getActualTypeArguments()[index];
+        }
+        // 未指定泛型参数时按String处理:
+        return String.class;
+    }
+
+    @Nullable
+    static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    /*
+     * poolSize -> pool-size
+     */
+    static String toKebabCase(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0 && !Character.isUpperCase(name.charAt(i - 1))) {
+                    sb.append('-');
+                }
+                sb.append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
+
+/*
+ * 类的绑定计划：record按规范构造方法绑定，JavaBean按无参构造方法及setter/字段绑定
+ */
+record BindingPlan(Class<?> type, boolean record, Constructor<?> constructor, List<BindingProperty> properties) {
+
+    static BindingPlan of(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new PropertyBindingException("Cannot bind to abstract type: " + type.getName());
+        }
+        List<BindingProperty> properties = new ArrayList<>();
+        try {
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] types = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    RecordComponent component = components[i];
+                    types[i] = component.getType();
+                    properties.add(new BindingProperty(component.getName(),
+                            PropertyBinder.toKebabCase(component.getName()), component.getGenericType(), null, null));
+                }
+                Constructor<?> constructor = type.getDeclaredConstructor(types);
+                constructor.setAccessible(true);
+                return new BindingPlan(type, true, constructor, List.copyOf(properties));
+            }
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int mod = field.getModifiers();
+                    if (Modifier.isStatic(mod) || Modifier.isFinal(mod) || field.isSynthetic()) {
+                        continue;
+                    }
+                    Method setter = findSetter(type, field);
+                    if (setter == null) {
+                        field.setAccessible(true);
+                    }
+                    properties.add(new BindingProperty(field.getName(), PropertyBinder.toKebabCase(field.getName()),
+                            field.getGenericType(), setter, setter == null ? field : null));
+                }
+            }
+            return new BindingPlan(type, false, constructor, List.copyOf(properties));
+        } catch (NoSuchMethodException e) {
+            throw new PropertyBindingException("No default constructor found in class: " + type.getName(), e);
+        } catch (RuntimeException e) {
+            throw new PropertyBindingException("Cannot create binding plan for class: " + type.getName(), e);
+        }
+    }
+
+    @Nullable
+    static Method findSetter(Class<?> type, Field field) {
+        String name = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        try {
+            Method setter = type.getMethod(name, field.getType());
+            return Modifier.isStatic(setter.getModifiers()) ? null : setter;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    Object newInstance(Object... args) {
+        try {
+            return this.constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new PropertyBindingException("Cannot create instance of class: " + this.type.getName(), e);
+        }
+    }
+}
+
+/*
+ * 一个可绑定的属性，key为kebab-case形式
+ */
+record BindingProperty(String name, String key, Type type, @Nullable Method setter, @Nullable Field field) {
+
+    Class<?> rawType() {
+        return PropertyBinder.rawType(this.type);
+    }
+
+    void set(Object instance, Object value) {
+        try {
+            if (this.setter != null) {
+                this.setter.invoke(instance, value);
+            } else {
+                this.field.set(instance, value);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new PropertyBindingException("Cannot set property '" + this.name + "' of class: "
+                    + instance.getClass().getName(), e);
+        }
+    }
+}
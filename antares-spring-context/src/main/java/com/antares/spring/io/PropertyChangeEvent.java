@@ -0,0 +1,59 @@
+package com.antares.spring.io;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 一次配置变化中新增、修改及删除的key，新的值通过source查询。
+ */
+public record PropertyChangeEvent(PropertyResolver source, Set<String> added, Set<String> modified,
+        Set<String> removed) {
+
+    static PropertyChangeEvent diff(PropertyResolver source, Map<String, String> oldProperties,
+            Map<String, String> newProperties) {
+        Set<String> added = new TreeSet<>();
+        Set<String> modified = new TreeSet<>();
+        Set<String> removed = new TreeSet<>();
+        for (Map.Entry<String, String> entry : newProperties.entrySet()) {
+            String oldValue = oldProperties.get(entry.getKey());
+            if (oldValue == null) {
+                added.add(entry.getKey());
+            } else if (!oldValue.equals(entry.getValue())) {
+                modified.add(entry.getKey());
+            }
+        }
+        for (String key : oldProperties.keySet()) {
+            if (!newProperties.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        return new PropertyChangeEvent(source, Collections.unmodifiableSet(added), Collections.unmodifiableSet(modified),
+                Collections.unmodifiableSet(removed));
+    }
+
+    public boolean isEmpty() {
+        return this.added.isEmpty() && this.modified.isEmpty() && this.removed.isEmpty();
+    }
+
+    public Set<String> changedKeys() {
+        Set<String> keys = new TreeSet<>(this.added);
+        keys.addAll(this.modified);
+        keys.addAll(this.removed);
+        return keys;
+    }
+
+    /**
+     * key本身或其下任意配置(prefix.xxx、prefix[0])是否发生变化
+     */
+    public boolean isChanged(String prefix) {
+        for (String key : changedKeys()) {
+            if (key.startsWith(prefix) && (key.length() == prefix.length() || key.charAt(prefix.length()) == '.'
+                    || key.charAt(prefix.length()) == '[')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
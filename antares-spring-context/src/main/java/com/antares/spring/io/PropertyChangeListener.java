@@ -0,0 +1,12 @@
+package com.antares.spring.io;
+
+/**
+ * 配置变化的监听器，实现此接口的Bean由容器自动注册到PropertyResolver。
+ *
+ * 在修改配置的线程(例如配置文件监控线程)中调用，此时PropertyResolver已返回新的配置。
+ */
+@FunctionalInterface
+public interface PropertyChangeListener {
+
+    void onPropertyChange(PropertyChangeEvent event);
+}
@@ -1,17 +1,24 @@
 package com.antares.spring.io;
 
+import java.lang.reflect.Type;
 import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.Nullable;
 
@@ -21,65 +28,57 @@ import jakarta.annotation.Nullable;
  * 支持的：
  * 1. 按配置的key查询，例如：getProperty("app.title");
  * 2. 以${abc.xyz}形式的查询，例如，getProperty("${app.title}")，常用于@Value("${app.title}")注入；
- * 3. 带默认值的，以${abc.xyz:defaultValue}形式的查询，例如，getProperty("${app.title:Summer}")，常用于@Value("${app.title:Summer}")注入。
+ * 3. 带默认值的，以${abc.xyz:defaultValue}形式的查询，例如，getProperty("${app.title:Summer}")，常用于@Value("${app.title:Summer}")注入；
+ * 4. 组合及嵌套查询，例如：jdbc.url=jdbc:mysql://${DB_HOST:localhost}:${DB_PORT:3306}/${DB_NAME:${APP_NAME}}
+ * 
+ * 表达式只编译一次并缓存，解析结果缓存到配置被修改为止，循环引用会抛出IllegalArgumentException。
+ * 
+ * 多个PropertySource按优先级合并为一个不可变的查询表，查询时间与层数无关；
+ * 修改/重新加载时整体替换快照并通知PropertyChangeListener，读取不加锁。
+ * 修改和通知在同一个锁内完成，listener按修改的顺序收到事件。
  * 
  * 不支持的：
- * 1. 组合查询，例如：jdbc.url=jdbc:mysql//${DB_HOST:localhost}:${DB_PORT:3306}/${DB_NAME}
- * 2. #{...}表达式，例如：#{appBean.version() + 1}
+ * 1. #{...}表达式，例如：#{appBean.version() + 1}
  */
 public class PropertyResolver {
 
-    Map<String, String> properties = new HashMap<>();
-
-    // 存储Class -> Function
-    Map<Class<?>, Function<String, Object>> converters = new HashMap<>();
+    // 超过此数量后不再缓存表达式及解析结果，避免拼接的key导致无限增长:
+    static final int MAX_CACHED_EXPRESSIONS = 10_000;
 
-    public PropertyResolver(Properties props) {
-        // 存入环境变量
-        this.properties.putAll(System.getenv());
-
-        // 载入YAML配置文件
-        // Map<String, Object> configs = YamlUtils.loadYamlAsPlainMap("/application.yml");
-        // for (String key : configs.keySet()) {
-        //     Object value = configs.get(key);
-        //     this.properties.put(key, String.valueOf(value));
-        // }
-
-        // 存入Properties
-        Set<String> names = props.stringPropertyNames();
-        for (String name : names) {
-            this.properties.put(name, props.getProperty(name));
-        }
+    final Logger logger = LoggerFactory.getLogger(getClass());
 
-        // register converters:
-        converters.put(String.class, s -> s);
-        converters.put(boolean.class, s -> Boolean.parseBoolean(s));
-        converters.put(Boolean.class, s -> Boolean.valueOf(s));
+    // 按优先级从高到低排列:
+    volatile List<PropertySource> propertySources;
 
-        converters.put(byte.class, s -> Byte.parseByte(s));
-        converters.put(Byte.class, s -> Byte.valueOf(s));
+    // 当前配置快照，修改时整体替换:
+    volatile Snapshot snapshot;
 
-        converters.put(short.class, s -> Short.parseShort(s));
-        converters.put(Short.class, s -> Short.valueOf(s));
+    // 表达式 -> 编译结果:
+    final Map<String, PlaceholderExpr> expressions = new ConcurrentHashMap<>();
 
-        converters.put(int.class, s -> Integer.parseInt(s));
-        converters.put(Integer.class, s -> Integer.valueOf(s));
+    final List<PropertyChangeListener> listeners = new CopyOnWriteArrayList<>();
+    // 修改快照及通知listener时持有，保证事件顺序:
+    final Object updateLock = new Object();
 
-        converters.put(long.class, s -> Long.parseLong(s));
-        converters.put(Long.class, s -> Long.valueOf(s));
+    // 随ApplicationContext关闭的资源，例如ConfigFileWatcher:
+    final List<AutoCloseable> resources = new CopyOnWriteArrayList<>();
 
-        converters.put(float.class, s -> Float.parseFloat(s));
-        converters.put(Float.class, s -> Float.valueOf(s));
+    // 类型转换，可注册自定义类型:
+    final ConversionService conversionService = new ConversionService();
 
-        converters.put(double.class, s -> Double.parseDouble(s));
-        converters.put(Double.class, s -> Double.valueOf(s));
+    /**
+     * Properties优先于环境变量
+     */
+    public PropertyResolver(Properties props) {
+        this(List.of(PropertySource.of("properties", props), PropertySource.environment()));
+    }
 
-        converters.put(LocalDate.class, s -> LocalDate.parse(s));
-        converters.put(LocalTime.class, s -> LocalTime.parse(s));
-        converters.put(LocalDateTime.class, s -> LocalDateTime.parse(s));
-        converters.put(ZonedDateTime.class, s -> ZonedDateTime.parse(s));
-        converters.put(Duration.class, s -> Duration.parse(s));
-        converters.put(ZoneId.class, s -> ZoneId.of(s));
+    /**
+     * 按优先级从高到低传入PropertySource
+     */
+    public PropertyResolver(List<PropertySource> propertySources) {
+        this.propertySources = List.copyOf(propertySources);
+        this.snapshot = new Snapshot(flatten(this.propertySources), relaxedProperties(this.propertySources));
     }
 
     /**
@@ -90,23 +89,21 @@ public class PropertyResolver {
      */
     @Nullable
     public String getProperty(String key) {
-        // 表达式查询(${abc.xyz:defaultValue})
-        PropertyExpr keyExpr = parsePropertyExpr(key);
-        if (keyExpr != null) {
-            // 递归调用以支持嵌套的表达式，如${app.title:${APP_NAME:Summer}}
-            if (keyExpr.defaultValue() != null) {
-                // 带有默认值
-                return getProperty(keyExpr.key(), keyExpr.defaultValue());
-            } else {
-                // 不带默认值
-                return getRequiredProperty(keyExpr.key());
-            }
-        }
-
-        // 普通key查询
-        String value = this.properties.get(key);
+        // 整个解析过程使用同一个快照，解析结果也缓存在该快照中:
+        Snapshot snapshot = this.snapshot;
+        String value = snapshot.resolved().get(key);
         if (value != null) {
-            return parseValue(value);
+            return value;
+        }
+        if (PlaceholderExpr.hasPlaceholder(key)) {
+            // 表达式查询(${abc.xyz:defaultValue})
+            value = resolve(compile(key), snapshot, new ArrayDeque<>());
+        } else {
+            // 普通key查询
+            value = resolveKey(key, snapshot, new ArrayDeque<>());
+        }
+        if (value != null && snapshot.resolved().size() < MAX_CACHED_EXPRESSIONS) {
+            snapshot.resolved().put(key, value);
         }
         return value;
     }
@@ -156,23 +153,208 @@ public class PropertyResolver {
     }
 
     /**
-     * parseValue中又调用了getProperty，本质是递归
+     * 解析可能包含${...}的值
      * 
      * @param value
      * @return
      */
     String parseValue(String value) {
-        PropertyExpr valueExpr = parsePropertyExpr(value);
-        if (valueExpr == null) {
+        if (!PlaceholderExpr.hasPlaceholder(value)) {
             return value;
         }
-        if (valueExpr.defaultValue() != null) {
-            return getProperty(valueExpr.key(), valueExpr.defaultValue());
-        } else {
-            return getRequiredProperty(valueExpr.key());
+        return resolve(compile(value), this.snapshot, new ArrayDeque<>());
+    }
+
+    /**
+     * 设置配置，已缓存的解析结果失效
+     */
+    public void setProperty(String key, String value) {
+        Objects.requireNonNull(value);
+        update(properties -> properties.put(key, value));
+    }
+
+    /**
+     * 删除配置，已缓存的解析结果失效
+     */
+    public void removeProperty(String key) {
+        update(properties -> properties.remove(key));
+    }
+
+    /**
+     * 替换同名的PropertySource并重新合并，返回变化的配置；setProperty()设置的值会被丢弃
+     */
+    public PropertyChangeEvent reload(PropertySource source) {
+        return update(properties -> {
+            List<PropertySource> sources = new ArrayList<>(this.propertySources);
+            int index = -1;
+            for (int i = 0; i < sources.size(); i++) {
+                if (sources.get(i).name().equals(source.name())) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                throw new IllegalArgumentException("Property source not found: " + source.name());
+            }
+            sources.set(index, source);
+            this.propertySources = List.copyOf(sources);
+            properties.clear();
+            properties.putAll(flatten(sources));
+        });
+    }
+
+    public List<PropertySource> getPropertySources() {
+        return this.propertySources;
+    }
+
+    public void addPropertyChangeListener(PropertyChangeListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removePropertyChangeListener(PropertyChangeListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * 添加随ApplicationContext关闭的资源
+     */
+    public void addResource(AutoCloseable resource) {
+        this.resources.add(resource);
+    }
+
+    /**
+     * 关闭并移除通过addResource()添加的资源，由ApplicationContext.close()调用
+     */
+    public void closeResources() {
+        for (AutoCloseable resource : this.resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.warn("Exception when close resource: " + resource, e);
+            }
+        }
+        this.resources.clear();
+    }
+
+    /*
+     * 复制当前配置并修改，替换快照后在调用线程中通知listener。
+     * 通知完成前其他修改会等待，listener中不应执行耗时操作。
+     */
+    PropertyChangeEvent update(Consumer<Map<String, String>> modifier) {
+        synchronized (this.updateLock) {
+            Snapshot current = this.snapshot;
+            List<PropertySource> sources = this.propertySources;
+            Map<String, String> properties = new HashMap<>(current.properties());
+            modifier.accept(properties);
+            PropertyChangeEvent event = PropertyChangeEvent.diff(this, current.properties(), properties);
+            if (event.isEmpty()) {
+                return event;
+            }
+            this.snapshot = new Snapshot(properties, sources == this.propertySources ? current.relaxed()
+                    : relaxedProperties(this.propertySources));
+            logger.atInfo().log("properties changed: {}", event.changedKeys());
+            for (PropertyChangeListener listener : this.listeners) {
+                try {
+                    listener.onPropertyChange(event);
+                } catch (RuntimeException e) {
+                    logger.warn("Exception when notify property change listener: " + listener, e);
+                }
+            }
+            return event;
         }
     }
 
+    /*
+     * 从优先级最低的PropertySource开始依次覆盖
+     */
+    static Map<String, String> flatten(List<PropertySource> sources) {
+        Map<String, String> properties = new HashMap<>();
+        for (int i = sources.size() - 1; i >= 0; i--) {
+            PropertySource source = sources.get(i);
+            if (source.relaxedNames()) {
+                // 已有的key按环境变量命名匹配，例如SPRING_DATASOURCE_DRIVERCLASSNAME覆盖spring.datasource.driver-class-name:
+                for (Map.Entry<String, String> entry : properties.entrySet()) {
+                    String value = source.properties().get(PropertySource.toEnvironmentName(entry.getKey()));
+                    if (value != null) {
+                        entry.setValue(value);
+                    }
+                }
+            }
+            properties.putAll(source.properties());
+        }
+        return properties;
+    }
+
+    /*
+     * 合并relaxedNames的PropertySource，优先级高的覆盖优先级低的
+     */
+    static Map<String, String> relaxedProperties(List<PropertySource> sources) {
+        Map<String, String> relaxed = new HashMap<>();
+        for (int i = sources.size() - 1; i >= 0; i--) {
+            PropertySource source = sources.get(i);
+            if (source.relaxedNames()) {
+                relaxed.putAll(source.properties());
+            }
+        }
+        return relaxed;
+    }
+
+    /*
+     * 查询key并解析值中的${...}，resolving记录正在解析的key用于检测循环引用
+     */
+    @Nullable
+    String resolveKey(String key, Snapshot snapshot, Deque<String> resolving) {
+        String value = snapshot.properties().get(key);
+        if (value == null) {
+            // 未配置的key按环境变量命名查询，例如app.mode查询APP_MODE:
+            value = snapshot.relaxed().get(PropertySource.toEnvironmentName(key));
+        }
+        if (value == null || !PlaceholderExpr.hasPlaceholder(value)) {
+            return value;
+        }
+        if (resolving.contains(key)) {
+            throw new IllegalArgumentException(
+                    "Circular placeholder reference: " + String.join(" -> ", resolving) + " -> " + key);
+        }
+        resolving.addLast(key);
+        try {
+            return resolve(compile(value), snapshot, resolving);
+        } finally {
+            resolving.removeLast();
+        }
+    }
+
+    String resolve(PlaceholderExpr expr, Snapshot snapshot, Deque<String> resolving) {
+        StringBuilder sb = new StringBuilder();
+        for (PlaceholderExpr.Segment segment : expr.segments()) {
+            switch (segment) {
+                case PlaceholderExpr.Literal literal -> sb.append(literal.text());
+                case PlaceholderExpr.Placeholder placeholder -> {
+                    String value = resolveKey(placeholder.key(), snapshot, resolving);
+                    if (value == null) {
+                        // 不带默认值的${key}必须存在:
+                        if (placeholder.defaultValue() == null) {
+                            throw new NullPointerException("Property '" + placeholder.key() + "' not found.");
+                        }
+                        value = resolve(placeholder.defaultValue(), snapshot, resolving);
+                    }
+                    sb.append(value);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    PlaceholderExpr compile(String expr) {
+        PlaceholderExpr compiled = this.expressions.get(expr);
+        if (compiled == null) {
+            compiled = PlaceholderExpr.parse(expr);
+            if (this.expressions.size() < MAX_CACHED_EXPRESSIONS) {
+                this.expressions.put(expr, compiled);
+            }
+        }
+        return compiled;
+    }
+
     public String getRequiredProperty(String key) {
         String value = getProperty(key);
         return Objects.requireNonNull(value, "Property '" + key + "' not found.");
@@ -183,43 +365,82 @@ public class PropertyResolver {
         return Objects.requireNonNull(value, "Property '" + key + "' not found.");
     }
 
+    /**
+     * 获取配置并转换到带泛型参数的类型，例如@Value注入的List&lt;Long&gt;
+     */
+    public Object getRequiredProperty(String key, Type targetType) {
+        if (targetType instanceof Class<?> clazz) {
+            return getRequiredProperty(key, clazz);
+        }
+        String value = getProperty(key);
+        return this.conversionService.convert(Objects.requireNonNull(value, "Property '" + key + "' not found."),
+                targetType);
+    }
+
+    public ConversionService getConversionService() {
+        return this.conversionService;
+    }
+
     /*
      * 转换到指定Class类型
      */
-    @SuppressWarnings("unchecked")
     <T> T convert(Class<T> clazz, String value) {
-        Function<String, Object> fn = this.converters.get(clazz);
-        if (fn == null) {
-            throw new IllegalArgumentException("Unsupported value type: " + clazz.getName());
-        }
-        return (T) fn.apply(value);
+        return this.conversionService.convert(value, clazz);
     }
 
     /*
-     * 对${...}表达式进行解析
-     */
-    PropertyExpr parsePropertyExpr(String expr) {
-        if (expr.startsWith("${") && expr.endsWith("}")) {
-            // 是否存在defaultValue
-            int idx = expr.indexOf(":");
-            if (idx == -1) {
-                // 没有defaultValue(${key})
-                String key = expr.substring(2, expr.length() - 1);
-                return new PropertyExpr(key, null);
-            } else {
-                // 有defaultValue(${key:defaultValue})
-                String key = expr.substring(2, idx);
-                String defaultValue = expr.substring(idx + 1, expr.length() - 1);
-                return new PropertyExpr(key, defaultValue);
+     * 是否为可直接转换的简单类型，数组和集合由PropertyBinder按索引绑定
+     */
+    boolean isConvertible(Class<?> clazz) {
+        return !clazz.isArray() && !Collection.class.isAssignableFrom(clazz) && this.conversionService.canConvert(clazz);
+    }
+
+    /*
+     * 以prefix开头的所有配置key
+     */
+    List<String> getPropertyNames(String prefix) {
+        List<String> names = new ArrayList<>();
+        for (String name : this.snapshot.properties().keySet()) {
+            if (name.startsWith(prefix)) {
+                names.add(name);
             }
         }
-        return null;
+        return names;
     }
-}
 
-/*
- * 保存表达式的解析结果
- */
-record PropertyExpr(String key, String defaultValue) {
+    /*
+     * 支持ISO-8601格式(P2DT3H4M)及带单位的格式(500ms/30s/5m/2h/1d)，没有单位时为毫秒
+     */
+    static Duration parseDuration(String value) {
+        String s = value.strip();
+        if (s.startsWith("P") || s.startsWith("-P")) {
+            return Duration.parse(s);
+        }
+        int end = s.length();
+        while (end > 0 && Character.isLetter(s.charAt(end - 1))) {
+            end--;
+        }
+        long amount = Long.parseLong(s.substring(0, end).strip());
+        ChronoUnit unit = switch (s.substring(end).toLowerCase(Locale.ROOT)) {
+            case "ns" -> ChronoUnit.NANOS;
+            case "us" -> ChronoUnit.MICROS;
+            case "", "ms" -> ChronoUnit.MILLIS;
+            case "s" -> ChronoUnit.SECONDS;
+            case "m" -> ChronoUnit.MINUTES;
+            case "h" -> ChronoUnit.HOURS;
+            case "d" -> ChronoUnit.DAYS;
+            default -> throw new IllegalArgumentException("Invalid duration: " + value);
+        };
+        return Duration.of(amount, unit);
+    }
+
+    /*
+     * 不可变的配置快照及其解析结果缓存，配置变化后旧的解析结果不会写入新快照
+     */
+    record Snapshot(Map<String, String> properties, Map<String, String> relaxed, Map<String, String> resolved) {
 
-}
\ No newline at end of file
+        Snapshot(Map<String, String> properties, Map<String, String> relaxed) {
+            this(Map.copyOf(properties), Map.copyOf(relaxed), new ConcurrentHashMap<>());
+        }
+    }
+}
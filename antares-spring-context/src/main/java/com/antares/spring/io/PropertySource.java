@@ -0,0 +1,123 @@
+package com.antares.spring.io;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.antares.spring.utils.ClassPathUtils;
+import com.antares.spring.utils.YamlUtils;
+
+/**
+ * 一层不可变的配置，多个PropertySource按优先级合并为PropertyResolver中的查询表。
+ *
+ * relaxedNames为true时(环境变量)，SPRING_DATASOURCE_URL可覆盖其他层中的spring.datasource.url，
+ * 规则为：转为大写，'.'和'['替换为'_'，删除'-'和']'。其他层中没有的key只在查询时按此规则匹配，
+ * 环境变量不会以小写点分形式批量加入配置，例如PATH不会变成path。
+ */
+public record PropertySource(String name, Map<String, String> properties, boolean relaxedNames) {
+
+    // classpath中的配置在同一ClassLoader下只解析一次，多个容器共享:
+    static final Map<ClassLoader, Map<String, Optional<PropertySource>>> CLASSPATH_CACHE = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    public PropertySource(String name, Map<String, String> properties) {
+        this(name, properties, false);
+    }
+
+    public PropertySource {
+        properties = Map.copyOf(properties);
+    }
+
+    public static PropertySource of(String name, Properties props) {
+        Map<String, String> map = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            map.put(key, props.getProperty(key));
+        }
+        return new PropertySource(name, map);
+    }
+
+    /**
+     * 命令行参数，只处理--key=value形式，--flag等价于--flag=true
+     */
+    public static PropertySource commandLine(String... args) {
+        Map<String, String> map = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.length() > 2) {
+                int idx = arg.indexOf('=');
+                if (idx < 0) {
+                    map.put(arg.substring(2), "true");
+                } else {
+                    map.put(arg.substring(2, idx), arg.substring(idx + 1));
+                }
+            }
+        }
+        return new PropertySource("commandLineArgs", map);
+    }
+
+    public static PropertySource systemProperties() {
+        return of("systemProperties", System.getProperties());
+    }
+
+    public static PropertySource environment() {
+        return new PropertySource("systemEnvironment", System.getenv(), true);
+    }
+
+    /**
+     * 加载classpath中的.yml/.yaml/.properties，不存在时返回empty，结果被缓存
+     */
+    public static Optional<PropertySource> classpath(String path) {
+        return CLASSPATH_CACHE.computeIfAbsent(ClassPathUtils.getContextClassLoader(), cl -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, PropertySource::loadClasspath);
+    }
+
+    public static void clearCache() {
+        CLASSPATH_CACHE.clear();
+    }
+
+    static Optional<PropertySource> loadClasspath(String path) {
+        // 先检查资源是否存在，缺失的profile文件是常态，不走异常路径:
+        if (ClassPathUtils.getContextClassLoader().getResource(path.startsWith("/") ? path.substring(1) : path) == null) {
+            return Optional.empty();
+        }
+        Properties props = new Properties();
+        if (path.endsWith(".yml") || path.endsWith(".yaml")) {
+            YamlUtils.loadYamlAsPlainMap(path).forEach((key, value) -> props.put(key, value));
+        } else {
+            ClassPathUtils.readInputStream(path, (input) -> {
+                props.load(input);
+                return true;
+            });
+        }
+        return Optional.of(of("classpath:" + path, props));
+    }
+
+    /**
+     * 加载文件系统中的.yml/.yaml/.properties，名称为文件的绝对路径
+     */
+    public static PropertySource file(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        return of("file:" + path, ConfigFileWatcher.load(path));
+    }
+
+    /*
+     * spring.datasource.driver-class-name -> SPRING_DATASOURCE_DRIVERCLASSNAME
+     */
+    static String toEnvironmentName(String key) {
+        StringBuilder sb = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            switch (c) {
+                case '.', '[' -> sb.append('_');
+                case '-', ']' -> {
+                }
+                default -> sb.append(Character.toUpperCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,8 +1,41 @@
 package com.antares.spring.io;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /*
- * Resource类型表示文件
+ * Resource类型表示文件，文件系统中的path为"file:"加绝对路径，jar中的path为"jar:file:/path/to/xyz.jar!"
+ *
+ * size和lastModified为扫描时读取的文件(jar中的资源为jar文件)属性，未知时为-1
  */
-public record Resource(String path, String name) {
-    
+public record Resource(String path, String name, long size, long lastModified) {
+
+    public Resource(String path, String name) {
+        this(path, name, -1, -1);
+    }
+
+    public boolean isJar() {
+        return this.path.startsWith("jar:");
+    }
+
+    /**
+     * 文件系统中资源的路径
+     */
+    public Path filePath() {
+        return Path.of(this.path.substring("file:".length()));
+    }
+
+    /**
+     * jar中资源所在的jar文件，path中是解码后的URI，重新编码后转换，兼容Windows路径及空格等字符
+     */
+    public Path jarPath() {
+        String file = this.path.substring("jar:file:".length(), this.path.length() - 1);
+        try {
+            return Paths.get(new URI("file", null, file, null));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid jar resource: " + this.path, e);
+        }
+    }
 }
@@ -7,19 +7,40 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.FileSystems;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jakarta.annotation.Nullable;
+
+/**
+ * 扫描classpath中basePackage下的所有资源。
+ *
+ * jar包只读取一次中央目录，得到的条目名按(路径, 大小, 修改时间)缓存，之后按前缀过滤，不创建FileSystem，
+ * 也不保留打开的JarFile；目录用ForkJoin并行遍历，与Files.walk()一样不进入符号链接的目录，避免循环链接。
+ * mapper在调用线程中按资源名顺序调用，返回结果按资源名排序。
+ *
+ * 扫描按位置(包目录或jar中的包)进行，ClassMetadataCache据此在位置未变化时跳过整个位置的扫描。
+ */
 public class ResourceResolver {
     /*
      * 这行代码创建了一个 Logger 对象。
@@ -29,24 +50,31 @@ public class ResourceResolver {
      */
     Logger logger = LoggerFactory.getLogger(getClass());
 
+    // jar文件 -> 已排序的条目名，多次扫描、多个容器共享:
+    static final Map<Path, JarIndex> JAR_INDEXES = new ConcurrentHashMap<>();
+
     String basePackage;
 
     public ResourceResolver(String basePackage) {
         this.basePackage = basePackage;
     }
 
+    public static void clearCache() {
+        JAR_INDEXES.clear();
+    }
+
     /*
      * <R> 表示方法使用了一个泛型类型。这个泛型类型将允许方法在调用时指定返回类型。
      * List<R> 是返回类型
      * Function<Resource, R> 是 Java 中的函数式接口，它接受一个 Resource 类型的输入，并返回一个类型为 R 的输出。
      */
     public <R> List<R> scan(Function<Resource, R> mapper) {
-        String basePackagePath = basePackage.replace(".", "/");
-
+        String basePackagePath = getBasePackagePath();
         try {
-            List<R> collector = new ArrayList<>();
-            scan0(basePackagePath, collector, mapper);
-            return collector;
+            List<Resource> resources = new ArrayList<>();
+            scan0(basePackagePath, resources);
+            resources.sort((r1, r2) -> r1.name().compareTo(r2.name()));
+            return resources.stream().map(mapper).filter(Objects::nonNull).collect(Collectors.toList());
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } catch (URISyntaxException e) {
@@ -54,46 +82,211 @@ public class ResourceResolver {
         }
     }
 
-    <R> void scan0(String basePackagePath, List<R> collector, Function<Resource, R> mapper)
-            throws IOException, URISyntaxException {
+    void scan0(String basePackagePath, List<Resource> collector) throws IOException, URISyntaxException {
         logger.atDebug().log("scan path: {}", basePackagePath);
+        for (URI root : findRoots(basePackagePath)) {
+            scanRoot(root, basePackagePath, collector, null);
+        }
+    }
+
+    String getBasePackagePath() {
+        return this.basePackage.replace(".", "/");
+    }
+
+    /**
+     * basePackage在classpath中的所有位置：包目录或jar中的包
+     */
+    List<URI> findRoots(String basePackagePath) throws IOException, URISyntaxException {
+        List<URI> roots = new ArrayList<>();
         Enumeration<URL> en = getContextClassLoader().getResources(basePackagePath);
         while (en.hasMoreElements()) {
-            URL url = en.nextElement();
-            URI uri = url.toURI();
-            // 删除后导文件分隔符，防止出现异常
-            String uriStr = removeTrailingSlash(uriToString(uri));
-            //去掉包名
-            String uriBaseStr = uriStr.substring(0, uriStr.length() - basePackagePath.length());
-            if (uriBaseStr.startsWith("file:")) {
-                uriBaseStr = uriBaseStr.substring(5);
-            }
-            if (uriBaseStr.startsWith("jar:")) {
-                scanFile(true, uriBaseStr, jarUriToPath(basePackagePath, uri), collector, mapper);
-            } else {
-                scanFile(false, uriBaseStr, Paths.get(uri), collector, mapper);
-            }
+            roots.add(en.nextElement().toURI());
         }
+        return roots;
     }
 
-    <R> void scanFile(boolean isJar, String base, Path root, List<R> collector, Function<Resource, R> mapper)
+    /**
+     * 扫描一个位置，stamps不为null时收集判断该位置是否变化的文件属性：
+     * jar为jar文件本身，目录为其下所有目录及文件
+     */
+    void scanRoot(URI root, String basePackagePath, List<Resource> collector, @Nullable List<FoundFile> stamps)
             throws IOException, URISyntaxException {
-        String baseDir = removeTrailingSlash(base);
-        Files.walk(root).filter(Files::isRegularFile).forEach(file -> {
-            Resource res = null;
-            if (isJar) {
-                res = new Resource(baseDir, removeLeadingSlash(file.toString()));
-            } else {
-                String path = file.toString();
-                String name = removeLeadingSlash(path.substring(baseDir.length()));
-                res = new Resource("file:" + path, name);
+        if ("jar".equals(root.getScheme())) {
+            scanJar(root, basePackagePath, collector, stamps);
+        } else {
+            scanDirectory(Paths.get(root), basePackagePath, collector, stamps);
+        }
+    }
+
+    /*
+     * jar:file:/path/to/xyz.jar!/com/foo
+     */
+    void scanJar(URI uri, String basePackagePath, List<Resource> collector, @Nullable List<FoundFile> stamps)
+            throws IOException, URISyntaxException {
+        String uriStr = uri.toString();
+        int n = uriStr.indexOf("!/");
+        if (n < 0) {
+            throw new URISyntaxException(uriStr, "Invalid jar URI");
+        }
+        Path jar = Paths.get(new URI(uriStr.substring(4, n)));
+        String decoded = uriToString(uri);
+        String base = decoded.substring(0, decoded.indexOf("!/") + 1);
+        String pkgPath = removeTrailingSlash(basePackagePath);
+        String prefix = pkgPath.isEmpty() ? "" : pkgPath + "/";
+        JarIndex index = getJarIndex(jar);
+        if (stamps != null) {
+            stamps.add(new FoundFile(jar, index.size(), index.lastModified()));
+        }
+        for (String name : index.entriesWithPrefix(prefix)) {
+            Resource res = new Resource(base, name, index.size(), index.lastModified());
+            logger.atDebug().log("found resource: {}", res);
+            collector.add(res);
+        }
+    }
+
+    void scanDirectory(Path dir, String basePackagePath, List<Resource> collector) {
+        scanDirectory(dir, basePackagePath, collector, null);
+    }
+
+    void scanDirectory(Path dir, String basePackagePath, List<Resource> collector, @Nullable List<FoundFile> stamps) {
+        // 由包目录向上得到classpath根目录:
+        Path root = dir;
+        String pkgPath = removeTrailingSlash(basePackagePath);
+        for (int i = pkgPath.isEmpty() ? 0 : pkgPath.split("/").length; i > 0 && root != null; i--) {
+            root = root.getParent();
+        }
+        if (root == null) {
+            throw new IllegalArgumentException("Invalid package directory: " + dir);
+        }
+        long lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(dir).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (FoundFile file : new DirectoryWalker(dir, lastModified).invoke()) {
+            if (stamps != null) {
+                stamps.add(file);
             }
+            if (file.isDirectory()) {
+                continue;
+            }
+            String name = root.relativize(file.path()).toString().replace('\\', '/');
+            Resource res = new Resource("file:" + file.path(), name, file.size(), file.lastModified());
             logger.atDebug().log("found resource: {}", res);
-            R r = mapper.apply(res);
-            if (r != null) {
-                collector.add(r);
+            collector.add(res);
+        }
+    }
+
+    /*
+     * 读取jar的中央目录，文件未变化时复用缓存
+     */
+    static JarIndex getJarIndex(Path jar) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(jar, BasicFileAttributes.class);
+        long size = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        JarIndex index = JAR_INDEXES.get(jar);
+        if (index != null && index.size() == size && index.lastModified() == lastModified) {
+            return index;
+        }
+        List<String> names = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar.toFile(), false)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (!entry.isDirectory()) {
+                    names.add(entry.getName());
+                }
+            }
+        }
+        String[] sorted = names.toArray(String[]::new);
+        Arrays.sort(sorted);
+        index = new JarIndex(size, lastModified, sorted);
+        JAR_INDEXES.put(jar, index);
+        return index;
+    }
+
+    /**
+     * jar中已排序的条目名(不含目录)
+     */
+    record JarIndex(long size, long lastModified, String[] names) {
+
+        List<String> entriesWithPrefix(String prefix) {
+            int start = Arrays.binarySearch(this.names, prefix);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            int end = start;
+            while (end < this.names.length && this.names[end].startsWith(prefix)) {
+                end++;
             }
-        });
+            return Collections.unmodifiableList(Arrays.asList(this.names).subList(start, end));
+        }
+    }
+
+    /**
+     * 遍历时读取的文件属性，ClassMetadataCache据此判断文件是否变化，不必再次读取；目录的size为-1
+     */
+    record FoundFile(Path path, long size, long lastModified) {
+
+        boolean isDirectory() {
+            return this.size < 0;
+        }
+    }
+
+    /**
+     * 并行遍历目录，每个子目录一个任务，结果包含目录本身，目录中增删文件会改变目录的修改时间
+     */
+    static class DirectoryWalker extends RecursiveTask<List<FoundFile>> {
+
+        final Path dir;
+        final long lastModified;
+
+        DirectoryWalker(Path dir, long lastModified) {
+            this.dir = dir;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        protected List<FoundFile> compute() {
+            List<FoundFile> files = new ArrayList<>();
+            files.add(new FoundFile(this.dir, -1, this.lastModified));
+            List<DirectoryWalker> subTasks = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.dir)) {
+                for (Path path : stream) {
+                    // 不跟随符号链接进入目录，链接到文件时仍作为资源:
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class,
+                            LinkOption.NOFOLLOW_LINKS);
+                    if (attrs.isDirectory()) {
+                        DirectoryWalker task = new DirectoryWalker(path, attrs.lastModifiedTime().toMillis());
+                        task.fork();
+                        subTasks.add(task);
+                        continue;
+                    }
+                    if (attrs.isSymbolicLink()) {
+                        attrs = readLinkTarget(path);
+                    }
+                    if (attrs != null && attrs.isRegularFile()) {
+                        files.add(new FoundFile(path, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (DirectoryWalker task : subTasks) {
+                files.addAll(task.join());
+            }
+            return files;
+        }
+
+        // 链接目标不存在时返回null:
+        static BasicFileAttributes readLinkTarget(Path link) {
+            try {
+                return Files.readAttributes(link, BasicFileAttributes.class);
+            } catch (IOException e) {
+                return null;
+            }
+        }
     }
 
     /*
@@ -117,25 +310,7 @@ public class ResourceResolver {
     }
 
     /*
-     * 将指向 JAR 文件的 URI对象转换为文件系统中的一个 Path 对象
-     * 并根据传入的 basePackagePath 获取该 JAR 文件内部的路径
-     */
-    Path jarUriToPath(String basePackagePath, URI jarUri) throws IOException {
-        return FileSystems.newFileSystem(jarUri, Map.of()).getPath(basePackagePath);
-    }
-
-    /*
-     * 删除前导的文件分隔符（不能使用 File.separator，必须逐个判断）
-     */
-    String removeLeadingSlash(String s) {
-        if (s.startsWith("/") || s.startsWith("\\")) {
-            s = s.substring(1);
-        }
-        return s;
-    }
-
-    /*
-     * 作用同上
+     * 删除后导的文件分隔符
      */
     String removeTrailingSlash(String s) {
         if (s.endsWith("/") || s.endsWith("\\")) {
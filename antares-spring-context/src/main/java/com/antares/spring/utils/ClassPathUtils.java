@@ -4,21 +4,84 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+import com.antares.spring.io.ByteBufferCallback;
 import com.antares.spring.io.InputStreamCallback;
 
 
 public class ClassPathUtils {
+
+    // 小于此大小的文件直接读入缓冲池中的数组，映射反而更慢:
+    static final int MAP_THRESHOLD = 16 * 1024;
+    static final int POOLED_BUFFER_SIZE = 64 * 1024;
+    static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    // 读取资源的缓冲区，回调返回后归还:
+    static final BlockingQueue<byte[]> BUFFER_POOL = new ArrayBlockingQueue<>(16);
+
     public static <T> T readInputStream(String path, InputStreamCallback<T> inputStreamCallback) {
+        return readByteBuffer(path, (buffer) -> inputStreamCallback.doWithInputStream(new ByteBufferInputStream(buffer)));
+    }
+
+    /**
+     * 读取classpath中的资源，都不会复制到新的数组。
+     *
+     * 文件系统中不小于MAP_THRESHOLD的资源在每次调用时映射为只读内存，回调返回后关闭channel，不缓存映射；
+     * 较小的文件及jar中的资源读入缓冲池中的数组。
+     */
+    public static <T> T readByteBuffer(String path, ByteBufferCallback<T> byteBufferCallback) {
         if (path.startsWith("/")) {
             path = path.substring(1);
         }
-        try (InputStream input = getContextClassLoader().getResourceAsStream(path)) {
-            if (input == null) {
+        try {
+            URL url = getContextClassLoader().getResource(path);
+            if (url == null) {
                 throw new FileNotFoundException("File not found in classpath: " + path);
             }
-            return inputStreamCallback.doWithInputStream(input);
+            if ("file".equals(url.getProtocol())) {
+                try (FileChannel channel = FileChannel.open(toPath(url), StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    if (size > Integer.MAX_VALUE) {
+                        throw new IOException("File too large: " + url);
+                    }
+                    if (size >= MAP_THRESHOLD) {
+                        return byteBufferCallback.doWithByteBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                    }
+                    byte[] data = borrowBuffer();
+                    try {
+                        int length = readFully(channel, ByteBuffer.wrap(data));
+                        return byteBufferCallback.doWithByteBuffer(ByteBuffer.wrap(data, 0, length).asReadOnlyBuffer());
+                    } finally {
+                        releaseBuffer(data);
+                    }
+                }
+            }
+            byte[] data = borrowBuffer();
+            try {
+                int length = 0;
+                try (InputStream input = url.openStream()) {
+                    int n;
+                    while ((n = input.read(data, length, data.length - length)) >= 0) {
+                        length += n;
+                        if (length == data.length) {
+                            data = Arrays.copyOf(data, data.length * 2);
+                        }
+                    }
+                }
+                return byteBufferCallback.doWithByteBuffer(ByteBuffer.wrap(data, 0, length).asReadOnlyBuffer());
+            } finally {
+                releaseBuffer(data);
+            }
         } catch (IOException e) {
             e.printStackTrace();
             throw new UncheckedIOException(e);
@@ -26,13 +89,38 @@ public class ClassPathUtils {
     }
 
     public static String readString(String path) {
-        return readInputStream(path, (input) -> {
-            byte[] data = input.readAllBytes();
-            return new String(data, StandardCharsets.UTF_8);
+        return readByteBuffer(path, (buffer) -> {
+            return StandardCharsets.UTF_8.decode(buffer).toString();
         });
     }
 
-    static ClassLoader getContextClassLoader() {
+    static Path toPath(URL url) throws IOException {
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    static byte[] borrowBuffer() {
+        byte[] pooled = BUFFER_POOL.poll();
+        return pooled == null ? new byte[POOLED_BUFFER_SIZE] : pooled;
+    }
+
+    static void releaseBuffer(byte[] data) {
+        if (data.length <= MAX_POOLED_BUFFER_SIZE) {
+            BUFFER_POOL.offer(data);
+        }
+    }
+
+    // 读取到EOF或缓冲区已满，文件在读取期间被截断时返回实际读取的长度:
+    static int readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        }
+        return buffer.position();
+    }
+
+    public static ClassLoader getContextClassLoader() {
         ClassLoader cl = null;
         cl = Thread.currentThread().getContextClassLoader();
         if (cl == null) {
@@ -40,4 +128,43 @@ public class ClassPathUtils {
         }
         return cl;
     }
+
+    static class ByteBufferInputStream extends InputStream {
+
+        final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
 }
@@ -0,0 +1,222 @@
+package com.antares.spring.utils;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+
+/**
+ * 直接消费SnakeYAML的解析事件生成扁平的key-value，不构造中间的Map/List对象树。
+ *
+ * 所有值按字符串处理，List展开为key[0]、key[1]...，支持锚点/别名(&a, *a)及合并(<<: *a)。
+ * 多文档时后面的文档覆盖前面的同名key。
+ */
+class YamlFlattener {
+
+    static final String MERGE_KEY = "<<";
+
+    // 当前节点的key，各层共用一个StringBuilder，退出时截断:
+    final StringBuilder path = new StringBuilder(128);
+    final Deque<Frame> frames = new ArrayDeque<>();
+
+    final Map<String, Object> plain = new LinkedHashMap<>();
+    // 按写入顺序记录的key，用于收集锚点下的所有值:
+    final List<String> writtenKeys = new ArrayList<>();
+    // 锚点 -> 相对于锚点节点的key及值:
+    final Map<String, List<String[]>> anchors = new HashMap<>();
+
+    static Map<String, Object> flatten(InputStream input) {
+        var reader = new StreamReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        var flattener = new YamlFlattener();
+        flattener.consume(new ParserImpl(reader, new LoaderOptions()));
+        return flattener.plain;
+    }
+
+    void consume(Parser parser) {
+        while (parser.peekEvent() != null) {
+            Event event = parser.getEvent();
+            switch (event.getEventId()) {
+                case DocumentStart -> {
+                    this.frames.clear();
+                    this.path.setLength(0);
+                }
+                case Scalar -> onScalar((ScalarEvent) event);
+                case Alias -> onAlias((AliasEvent) event);
+                case MappingStart -> onContainerStart((NodeEvent) event, true);
+                case SequenceStart -> onContainerStart((NodeEvent) event, false);
+                case MappingEnd, SequenceEnd -> onContainerEnd();
+                case StreamEnd -> {
+                    return;
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    void onScalar(ScalarEvent event) {
+        Frame frame = this.frames.peek();
+        if (frame != null && frame.mapping && frame.expectKey) {
+            // mapping中的key:
+            String key = event.getValue();
+            frame.merge = MERGE_KEY.equals(key) && event.isPlain();
+            this.path.setLength(frame.pathLength);
+            if (!frame.merge) {
+                if (frame.pathLength > 0) {
+                    this.path.append('.');
+                }
+                this.path.append(key);
+            }
+            frame.expectKey = false;
+            return;
+        }
+        enterNode();
+        String key = this.path.toString();
+        put(key, event.getValue());
+        if (event.getAnchor() != null) {
+            List<String[]> entries = new ArrayList<>(1);
+            entries.add(new String[] { "", event.getValue() });
+            this.anchors.put(event.getAnchor(), entries);
+        }
+        exitNode();
+    }
+
+    void onAlias(AliasEvent event) {
+        Frame frame = this.frames.peek();
+        if (frame != null && frame.mapping && frame.expectKey) {
+            throw new IllegalArgumentException("Alias as mapping key is not supported: " + event.getStartMark());
+        }
+        List<String[]> entries = this.anchors.get(event.getAnchor());
+        if (entries == null) {
+            throw new IllegalArgumentException("Anchor not found: " + event.getAnchor());
+        }
+        // <<: *a或<<: [*a, *b]，合并到所在mapping:
+        boolean merge = frame != null && (frame.merge || frame.mergeSequence);
+        if (merge) {
+            this.path.setLength(frame.pathLength);
+        } else {
+            enterNode();
+        }
+        String base = this.path.toString();
+        for (String[] entry : entries) {
+            String key = join(base, entry[0]);
+            // 合并时不覆盖mapping中已有的key:
+            if (!merge || !this.plain.containsKey(key)) {
+                put(key, entry[1]);
+            }
+        }
+        if (frame != null && frame.merge) {
+            frame.merge = false;
+            frame.expectKey = true;
+        } else if (!merge) {
+            exitNode();
+        }
+    }
+
+    void onContainerStart(NodeEvent event, boolean mapping) {
+        Frame parent = this.frames.peek();
+        if (parent != null && parent.mapping && parent.expectKey) {
+            throw new IllegalArgumentException("Complex mapping key is not supported: " + event.getStartMark());
+        }
+        if (parent != null && parent.merge && mapping) {
+            throw new IllegalArgumentException("Merge key only supports alias: " + event.getStartMark());
+        }
+        boolean mergeSequence = parent != null && parent.merge;
+        if (!mergeSequence) {
+            enterNode();
+        }
+        Frame frame = new Frame(mapping, this.path.length(), event.getAnchor(), this.writtenKeys.size());
+        frame.mergeSequence = mergeSequence;
+        this.frames.push(frame);
+    }
+
+    void onContainerEnd() {
+        Frame frame = this.frames.pop();
+        if (frame.anchor != null) {
+            List<String[]> entries = new ArrayList<>();
+            for (int i = frame.firstWrittenKey; i < this.writtenKeys.size(); i++) {
+                String key = this.writtenKeys.get(i);
+                entries.add(new String[] { key.substring(frame.pathLength), (String) this.plain.get(key) });
+            }
+            this.anchors.put(frame.anchor, entries);
+        }
+        this.path.setLength(frame.pathLength);
+        Frame parent = this.frames.peek();
+        if (parent != null && parent.merge) {
+            // <<: [*a, *b]结束:
+            parent.merge = false;
+            parent.expectKey = true;
+            return;
+        }
+        exitNode();
+    }
+
+    /*
+     * 设置当前节点的path
+     */
+    void enterNode() {
+        Frame frame = this.frames.peek();
+        if (frame == null) {
+            this.path.setLength(0);
+        } else if (!frame.mapping) {
+            this.path.setLength(frame.pathLength);
+            this.path.append('[').append(frame.index++).append(']');
+        }
+    }
+
+    void exitNode() {
+        Frame frame = this.frames.peek();
+        if (frame != null && frame.mapping) {
+            frame.expectKey = true;
+        }
+    }
+
+    void put(String key, String value) {
+        this.plain.put(key, value);
+        this.writtenKeys.add(key);
+    }
+
+    static String join(String base, String relative) {
+        if (relative.isEmpty()) {
+            return base;
+        }
+        if (base.isEmpty()) {
+            return relative.charAt(0) == '.' ? relative.substring(1) : relative;
+        }
+        char c = relative.charAt(0);
+        return c == '.' || c == '[' ? base + relative : base + "." + relative;
+    }
+
+    static class Frame {
+        final boolean mapping;
+        final int pathLength;
+        final String anchor;
+        final int firstWrittenKey;
+        boolean expectKey = true;
+        boolean merge = false;
+        boolean mergeSequence = false;
+        int index = 0;
+
+        Frame(boolean mapping, int pathLength, String anchor, int firstWrittenKey) {
+            this.mapping = mapping;
+            this.pathLength = pathLength;
+            this.anchor = anchor;
+            this.firstWrittenKey = firstWrittenKey;
+        }
+    }
+}
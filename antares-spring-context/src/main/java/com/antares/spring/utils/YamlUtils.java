@@ -1,7 +1,10 @@
 package com.antares.spring.utils;
 
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 import org.yaml.snakeyaml.DumperOptions;
@@ -18,39 +21,42 @@ import org.yaml.snakeyaml.resolver.Resolver;
  */
 public class YamlUtils {
 
-    @SuppressWarnings("unchecked")
     public static Map<String, Object> loadYaml(String path) {
-        var loaderOptions = new LoaderOptions();
-        var dumperOptions = new DumperOptions();
-        var representer = new Representer(dumperOptions);
-        var resolver = new NoImplicitResolver();
-        var yaml = new Yaml(new Constructor(loaderOptions), representer, dumperOptions, loaderOptions, resolver);
         return ClassPathUtils.readInputStream(path, (input) -> {
-            return (Map<String, Object>) yaml.load(input);
+            return loadYaml(input);
         });
     }
 
+    /**
+     * 加载为扁平的key-value，值均为String，List展开为key[0]、key[1]...
+     */
     public static Map<String, Object> loadYamlAsPlainMap(String path) {
-        Map<String, Object> data = loadYaml(path);
-        Map<String, Object> plain = new LinkedHashMap<>();
-        convertTo(data, "", plain);
-        return plain;
+        return ClassPathUtils.readInputStream(path, (input) -> {
+            return YamlFlattener.flatten(input);
+        });
     }
 
-    static void convertTo(Map<String, Object> source, String prefix, Map<String, Object> plain) {
-        for (String key : source.keySet()) {
-            Object value = source.get(key);
-            if (value instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> subMap = (Map<String, Object>) value;
-                convertTo(subMap, prefix + key + ".", plain);
-            } else if (value instanceof List) {
-                plain.put(prefix + key, value);
-            } else {
-                plain.put(prefix + key, value.toString());
-            }
+    /**
+     * 从文件系统加载，用于classpath之外的配置文件
+     */
+    public static Map<String, Object> loadYamlAsPlainMap(Path file) {
+        try (InputStream input = Files.newInputStream(file)) {
+            return YamlFlattener.flatten(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> loadYaml(InputStream input) {
+        var loaderOptions = new LoaderOptions();
+        var dumperOptions = new DumperOptions();
+        var representer = new Representer(dumperOptions);
+        var resolver = new NoImplicitResolver();
+        var yaml = new Yaml(new Constructor(loaderOptions), representer, dumperOptions, loaderOptions, resolver);
+        Map<String, Object> data = (Map<String, Object>) yaml.load(input);
+        return data == null ? Map.of() : data;
+    }
 }
 
 /**
@@ -0,0 +1,15 @@
+package com.antares.scan.dto;
+
+/**
+ * 没有@Component，扫描时不应被加载或初始化
+ */
+public class PlainDto {
+
+    public static final String INITIALIZED = "antares.scan.dto.initialized";
+
+    static {
+        System.setProperty(INITIALIZED, "true");
+    }
+
+    public String name;
+}
@@ -0,0 +1,29 @@
+package com.antares.scan.properties;
+
+import java.time.Duration;
+
+import com.antares.spring.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("jdbc.pool")
+public class PoolProperties {
+
+    int maximumPoolSize = 10;
+    int minimumIdle = 1;
+    Duration idleTimeout = Duration.ofMinutes(10);
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+}
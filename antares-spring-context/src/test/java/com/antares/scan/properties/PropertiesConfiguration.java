@@ -0,0 +1,17 @@
+package com.antares.scan.properties;
+
+import com.antares.spring.annotation.Bean;
+import com.antares.spring.annotation.ConfigurationProperties;
+import com.antares.spring.annotation.Configuration;
+
+@Configuration
+public class PropertiesConfiguration {
+
+    @Bean
+    @ConfigurationProperties("jdbc.replica-pool")
+    PoolProperties replicaPoolProperties() {
+        var properties = new PoolProperties();
+        properties.setMaximumPoolSize(2);
+        return properties;
+    }
+}
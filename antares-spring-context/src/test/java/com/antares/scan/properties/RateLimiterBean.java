@@ -0,0 +1,27 @@
+package com.antares.scan.properties;
+
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.Value;
+import com.antares.spring.io.PropertyChangeEvent;
+import com.antares.spring.io.PropertyChangeListener;
+
+@Component
+public class RateLimiterBean implements PropertyChangeListener {
+
+    volatile int permitsPerSecond;
+
+    public RateLimiterBean(@Value("${rate-limit.permits:100}") int permits) {
+        this.permitsPerSecond = permits;
+    }
+
+    @Override
+    public void onPropertyChange(PropertyChangeEvent event) {
+        if (event.isChanged("rate-limit")) {
+            this.permitsPerSecond = event.source().getProperty("${rate-limit.permits:100}", int.class);
+        }
+    }
+
+    public int getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
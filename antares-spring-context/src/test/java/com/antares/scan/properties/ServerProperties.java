@@ -0,0 +1,23 @@
+package com.antares.scan.properties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.antares.spring.annotation.ConfigurationProperties;
+import com.antares.spring.io.DataSize;
+
+@ConfigurationProperties("server")
+public record ServerProperties(String host, int port, Duration timeout, DataSize maxBodySize, List<String> allowedOrigins,
+        Map<String, String> headers, Ssl ssl, List<Endpoint> endpoints) {
+
+    public record Ssl(boolean enabled, String keyStore) {
+    }
+
+    public record Endpoint(String path, Mode mode) {
+    }
+
+    public enum Mode {
+        READ_ONLY, READ_WRITE
+    }
+}
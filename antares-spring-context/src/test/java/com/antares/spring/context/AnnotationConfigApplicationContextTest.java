@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,15 +15,19 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.antares.imported.LocalDateConfiguration;
 import com.antares.imported.ZonedDateConfiguration;
 import com.antares.scan.ScanApplication;
 import com.antares.scan.convert.ValueConverterBean;
 import com.antares.scan.custom.annotation.CustomAnnotationBean;
+import com.antares.scan.dto.PlainDto;
 import com.antares.scan.init.AnnotationInitBean;
 import com.antares.scan.init.SpecifyInitBean;
 import com.antares.scan.nested.OuterBean;
@@ -33,10 +39,14 @@ import com.antares.scan.primary.TeacherBean;
 import com.antares.scan.proxy.InjectProxyOnConstructorBean;
 import com.antares.scan.proxy.InjectProxyOnPropertyBean;
 import com.antares.scan.proxy.OriginBean;
+import com.antares.scan.properties.PoolProperties;
+import com.antares.scan.properties.RateLimiterBean;
+import com.antares.scan.properties.ServerProperties;
 import com.antares.scan.proxy.SecondProxyBean;
 import com.antares.scan.sub1.Sub1Bean;
 import com.antares.scan.sub1.sub2.Sub2Bean;
 import com.antares.scan.sub1.sub2.sub3.Sub3Bean;
+import com.antares.spring.io.DataSize;
 import com.antares.spring.io.PropertyResolver;
 
 public class AnnotationConfigApplicationContextTest {
@@ -113,6 +123,31 @@ public class AnnotationConfigApplicationContextTest {
         ctx.getBean(Sub3Bean.class);
     }
 
+    @Test
+    public void testScanCache(@TempDir Path dir) {
+        Path cacheFile = dir.resolve("scan.cache");
+        var pr = createPropertyResolver();
+        pr.setProperty("spring.scan.cache-file", cacheFile.toString());
+        try (var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, pr)) {
+            assertNotNull(ctx.getBean(Sub3Bean.class));
+        }
+        assertTrue(Files.isRegularFile(cacheFile));
+        // 第二次启动使用缓存:
+        try (var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, pr)) {
+            assertNotNull(ctx.getBean(Sub3Bean.class));
+            assertNotNull(ctx.findBeanDefinition("customAnnotation"));
+        }
+    }
+
+    @Test
+    public void testScanWithoutInitialization() {
+        try (var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver())) {
+            // 非@Component类只解析.class文件，不会被初始化:
+            assertNull(ctx.findBeanDefinition("plainDto"));
+            assertNull(System.getProperty(PlainDto.INITIALIZED));
+        }
+    }
+
     /*
      * ===========分割线================
      */
@@ -167,6 +202,51 @@ public class AnnotationConfigApplicationContextTest {
         assertEquals(ZoneId.of("Asia/Shanghai"), bean.injectedZoneId);
     }
 
+    @Test
+    public void testConfigurationProperties() {
+        var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, createPropertyResolver());
+        var server = ctx.getBean(ServerProperties.class);
+        assertEquals("localhost", server.host());
+        assertEquals(8443, server.port());
+        assertEquals(Duration.ofSeconds(30), server.timeout());
+        assertEquals(DataSize.ofMegabytes(2), server.maxBodySize());
+        assertEquals(List.of("https://a.example.com", "https://b.example.com"), server.allowedOrigins());
+        assertEquals(Map.of("X-Frame-Options", "DENY", "X-Version", "v1.0"), server.headers());
+        assertEquals(new ServerProperties.Ssl(true, "classpath:keystore.p12"), server.ssl());
+        assertEquals(List.of(new ServerProperties.Endpoint("/api", ServerProperties.Mode.READ_WRITE),
+                new ServerProperties.Endpoint("/public", ServerProperties.Mode.READ_ONLY)), server.endpoints());
+
+        // JavaBean只绑定存在的配置，保留默认值:
+        PoolProperties pool = ctx.getBean("poolProperties");
+        assertEquals(50, pool.getMaximumPoolSize());
+        assertEquals(5, pool.getMinimumIdle());
+        assertEquals(Duration.ofMinutes(10), pool.getIdleTimeout());
+
+        // @Bean方法返回的实例:
+        PoolProperties replica = ctx.getBean("replicaPoolProperties");
+        assertEquals(2, replica.getMaximumPoolSize());
+        assertEquals(Duration.ofMillis(1500), replica.getIdleTimeout());
+    }
+
+    @Test
+    public void testPropertyChangeListener() {
+        var pr = createPropertyResolver();
+        var closed = new AtomicBoolean();
+        pr.addResource(() -> closed.set(true));
+        RateLimiterBean bean;
+        try (var ctx = new AnnotationConfigApplicationContext(ScanApplication.class, pr)) {
+            bean = ctx.getBean(RateLimiterBean.class);
+            assertEquals(100, bean.getPermitsPerSecond());
+            pr.setProperty("rate-limit.permits", "250");
+            assertEquals(250, bean.getPermitsPerSecond());
+        }
+        // 容器关闭后不再通知:
+        pr.setProperty("rate-limit.permits", "50");
+        assertEquals(250, bean.getPermitsPerSecond());
+        // 容器关闭时关闭资源:
+        assertTrue(closed.get());
+    }
+
     /*
      * ===========分割线================
      */
@@ -209,6 +289,22 @@ public class AnnotationConfigApplicationContextTest {
         ps.put("convert.zoneddatetime", "2023-03-29T20:45:01+08:00[Asia/Shanghai]");
         ps.put("convert.duration", "P2DT3H4M");
         ps.put("convert.zoneid", "Asia/Shanghai");
+        ps.put("server.port", "8443");
+        ps.put("server.timeout", "30s");
+        ps.put("server.max-body-size", "2MB");
+        ps.put("server.allowed-origins", "https://a.example.com, https://b.example.com");
+        ps.put("server.headers.X-Frame-Options", "DENY");
+        ps.put("server.headers.X-Version", "${app.version}");
+        ps.put("server.ssl.enabled", "true");
+        ps.put("server.ssl.key-store", "classpath:keystore.p12");
+        ps.put("server.endpoints[0].path", "/api");
+        ps.put("server.endpoints[0].mode", "read-write");
+        ps.put("server.endpoints[1].path", "/public");
+        ps.put("server.endpoints[1].mode", "READ_ONLY");
+        ps.put("server.host", "${SERVER_HOST:localhost}");
+        ps.put("jdbc.pool.maximum-pool-size", "50");
+        ps.put("jdbc.pool.minimumIdle", "5");
+        ps.put("jdbc.replica-pool.idle-timeout", "1500");
         var pr = new PropertyResolver(ps);
         return pr;
     }
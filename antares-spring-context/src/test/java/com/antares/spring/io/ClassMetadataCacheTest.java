@@ -0,0 +1,162 @@
+package com.antares.spring.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.antares.scan.sub1.Sub1Bean;
+import com.antares.spring.annotation.Component;
+import com.antares.spring.utils.ClassPathUtils;
+
+public class ClassMetadataCacheTest {
+
+    ClassMetadataReader reader = new ClassMetadataReader(ClassPathUtils.getContextClassLoader());
+
+    @Test
+    public void reuseUnchanged(@TempDir Path dir) throws IOException {
+        String className = Sub1Bean.class.getName();
+        String name = className.replace('.', '/') + ".class";
+        Path classFile = dir.resolve("Sub1Bean.class");
+        byte[] data = ClassPathUtils.readInputStream(name, input -> input.readAllBytes());
+        Files.write(classFile, data);
+        FileTime time = FileTime.fromMillis(1_700_000_000_000L);
+        Files.setLastModifiedTime(classFile, time);
+        var resource = new Resource("file:" + classFile, name);
+
+        Path cacheFile = dir.resolve("scan.cache");
+        var cache = ClassMetadataCache.load(cacheFile);
+        assertEquals(List.of(Component.class.getName()), cache.get(resource, reader).annotations());
+        cache.save();
+        assertTrue(Files.isRegularFile(cacheFile));
+
+        // 大小和修改时间不变时不再读取.class文件:
+        Files.write(classFile, new byte[data.length]);
+        Files.setLastModifiedTime(classFile, time);
+        var reloaded = ClassMetadataCache.load(cacheFile);
+        assertEquals(className, reloaded.get(resource, reader).className());
+
+        // 文件变化后重新解析:
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(time.toMillis() + 1000));
+        assertThrows(IllegalArgumentException.class, () -> reloaded.get(resource, reader));
+    }
+
+    @Test
+    public void mergeOnSave(@TempDir Path dir) throws IOException {
+        String className = Sub1Bean.class.getName();
+        String name = className.replace('.', '/') + ".class";
+        byte[] data = ClassPathUtils.readInputStream(name, input -> input.readAllBytes());
+        Path fileA = dir.resolve("A.class");
+        Path fileB = dir.resolve("B.class");
+        Files.write(fileA, data);
+        Files.write(fileB, data);
+        // 使用扫描时读取的属性，不再读取文件属性:
+        var resA = new Resource("file:" + fileA, name, data.length, 1000);
+        var resB = new Resource("file:" + fileB, name, data.length, 1000);
+
+        Path cacheFile = dir.resolve("scan.cache");
+        var first = ClassMetadataCache.load(cacheFile);
+        first.get(resA, reader);
+        first.save();
+        // 另一次扫描只用到B，保存后A仍然保留:
+        var second = ClassMetadataCache.load(cacheFile);
+        second.get(resB, reader);
+        second.save();
+        assertEquals(2, ClassMetadataCache.load(cacheFile).cached.size());
+
+        // 文件已删除的条目被清除:
+        Files.delete(fileA);
+        Files.write(fileB, data);
+        var third = ClassMetadataCache.load(cacheFile);
+        third.get(new Resource("file:" + fileB, name, data.length, 2000), reader);
+        third.save();
+        assertEquals(1, ClassMetadataCache.load(cacheFile).cached.size());
+    }
+
+    @Test
+    public void jarPath() {
+        var resource = new Resource("jar:file:/opt/my app/lib/a.jar!", "com/foo/A.class");
+        assertEquals(Path.of("/opt/my app/lib/a.jar"), resource.jarPath());
+        assertTrue(resource.isJar());
+    }
+
+    @Test
+    public void ignoreInvalidCache(@TempDir Path dir) throws IOException {
+        Path cacheFile = dir.resolve("scan.cache");
+        Files.write(cacheFile, new byte[] { 0, 0, 0, 1, 0, 0, 0, 9, 1 });
+        var cache = ClassMetadataCache.load(cacheFile);
+        assertTrue(cache.cached.isEmpty());
+    }
+
+    @Test
+    public void reuseUnchangedRoots(@TempDir Path dir) throws IOException {
+        Path pkg = Files.createDirectories(dir.resolve("com/foo/bar"));
+        Files.writeString(pkg.resolve("A.txt"), "a");
+        FileTime time = FileTime.fromMillis(1_700_000_000_000L);
+        Files.setLastModifiedTime(pkg, time);
+        Path jar = dir.resolve("lib.jar");
+        ResourceResolverTest.writeJar(jar, "com/", "com/foo/", "com/foo/J.txt", "org/X.txt");
+        Path cacheFile = dir.resolve("scan.cache");
+        List<String> mapped = new ArrayList<>();
+        Function<Resource, String> mapper = res -> {
+            mapped.add(res.name());
+            return res.name();
+        };
+        withClassLoader(new URL[] { dir.toUri().toURL(), jar.toUri().toURL() }, () -> {
+            var first = ClassMetadataCache.load(cacheFile);
+            assertEquals(List.of("com/foo/J.txt", "com/foo/bar/A.txt"),
+                    first.scan(new ResourceResolver("com.foo"), mapper).stream().sorted().toList());
+            assertEquals(2, mapped.size());
+            first.save();
+
+            // 目录及jar都未变化，不再遍历也不调用mapper:
+            mapped.clear();
+            var second = ClassMetadataCache.load(cacheFile);
+            assertEquals(List.of("com/foo/J.txt", "com/foo/bar/A.txt"),
+                    second.scan(new ResourceResolver("com.foo"), mapper).stream().sorted().toList());
+            assertEquals(List.of(), mapped);
+
+            // 新增文件改变目录的修改时间，只重新扫描该目录:
+            Files.writeString(pkg.resolve("B.txt"), "b");
+            Files.setLastModifiedTime(pkg, FileTime.fromMillis(time.toMillis() + 1000));
+            var third = ClassMetadataCache.load(cacheFile);
+            assertEquals(List.of("com/foo/J.txt", "com/foo/bar/A.txt", "com/foo/bar/B.txt"),
+                    third.scan(new ResourceResolver("com.foo"), mapper).stream().sorted().toList());
+            assertEquals(List.of("com/foo/bar/A.txt", "com/foo/bar/B.txt"), mapped);
+            third.save();
+
+            // 文件原地修改时同样重新扫描:
+            mapped.clear();
+            Files.writeString(pkg.resolve("A.txt"), "aa");
+            ClassMetadataCache.load(cacheFile).scan(new ResourceResolver("com.foo"), mapper);
+            assertEquals(List.of("com/foo/bar/A.txt", "com/foo/bar/B.txt"), mapped);
+        });
+    }
+
+    interface Task {
+        void run() throws IOException;
+    }
+
+    static void withClassLoader(URL[] urls, Task task) throws IOException {
+        Thread current = Thread.currentThread();
+        ClassLoader original = current.getContextClassLoader();
+        try (var cl = new URLClassLoader(urls, null)) {
+            current.setContextClassLoader(cl);
+            task.run();
+        } finally {
+            current.setContextClassLoader(original);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.antares.spring.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.scan.custom.annotation.CustomAnnotation;
+import com.antares.scan.custom.annotation.CustomAnnotationBean;
+import com.antares.scan.properties.ServerProperties;
+import com.antares.scan.sub1.Sub1Bean;
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.ConfigurationProperties;
+import com.antares.spring.utils.ClassPathUtils;
+
+import jakarta.annotation.PostConstruct;
+
+public class ClassMetadataReaderTest {
+
+    ClassMetadataReader reader = new ClassMetadataReader(ClassPathUtils.getContextClassLoader());
+
+    @Test
+    public void readClass() {
+        ClassMetadata metadata = reader.read(Sub1Bean.class.getName());
+        assertEquals(Sub1Bean.class.getName(), metadata.className());
+        assertEquals(Object.class.getName(), metadata.superClassName());
+        assertEquals(List.of(Component.class.getName()), metadata.annotations());
+        assertFalse(metadata.isInterface() || metadata.isAnnotation() || metadata.isEnum() || metadata.isRecord());
+    }
+
+    @Test
+    public void readAnnotationAndRecord() {
+        ClassMetadata anno = reader.read(CustomAnnotation.class.getName());
+        assertTrue(anno.isAnnotation());
+        assertTrue(anno.isInterface());
+
+        ClassMetadata record = reader.read(ServerProperties.class.getName());
+        assertTrue(record.isRecord());
+        assertTrue(reader.hasAnnotation(record, ConfigurationProperties.class.getName()));
+        assertFalse(reader.hasAnnotation(record, Component.class.getName()));
+
+        assertNull(reader.read("com.antares.NotExist"));
+    }
+
+    @Test
+    public void metaAnnotation() {
+        ClassMetadata metadata = reader.read(CustomAnnotationBean.class.getName());
+        assertEquals(List.of(CustomAnnotation.class.getName()), metadata.annotations());
+        assertTrue(reader.hasAnnotation(metadata, Component.class.getName()));
+        assertFalse(reader.hasAnnotation(reader.read(String.class.getName()), Component.class.getName()));
+    }
+
+    @Test
+    public void readResource() {
+        // jar中的资源直接从jar读取:
+        var rr = new ResourceResolver(PostConstruct.class.getPackageName());
+        List<ClassMetadata> found = rr.scan(res -> res.name().equals("jakarta/annotation/PostConstruct.class")
+                ? reader.read(res) : null);
+        assertEquals(1, found.size());
+        assertTrue(found.get(0).isAnnotation());
+        String jar = rr.scan(res -> res.isJar() ? res.path() : null).get(0);
+        assertNull(reader.read(new Resource(jar, "jakarta/annotation/NotExist.class")));
+        reader.close();
+    }
+}
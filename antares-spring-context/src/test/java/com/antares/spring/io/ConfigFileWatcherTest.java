@@ -0,0 +1,64 @@
+package com.antares.spring.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigFileWatcherTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testReloadYaml() throws Exception {
+        Path file = dir.resolve("application.yml");
+        Files.writeString(file, """
+                pool:
+                  size: 10
+                rate-limit: 100
+                """);
+        var pr = new PropertyResolver(List.of(PropertySource.file(file)));
+        assertEquals(10, pr.getProperty("pool.size", int.class));
+
+        BlockingQueue<PropertyChangeEvent> events = new LinkedBlockingQueue<>();
+        pr.addPropertyChangeListener(events::add);
+        try (var watcher = new ConfigFileWatcher(file, pr, 50)) {
+            Files.writeString(file, """
+                    pool:
+                      size: 20
+                    cache:
+                      ttl: 5s
+                    """);
+            PropertyChangeEvent event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(Set.of("cache.ttl"), event.added());
+            assertEquals(Set.of("pool.size"), event.modified());
+            assertEquals(Set.of("rate-limit"), event.removed());
+            assertEquals(20, pr.getProperty("pool.size", int.class));
+            assertNull(pr.getProperty("rate-limit"));
+
+            // 原子替换，且写入失败的文件不影响原配置:
+            Path tmp = dir.resolve("application.yml.tmp");
+            Files.writeString(tmp, "pool: [unclosed");
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.writeString(tmp, "pool:\n  size: 30\ncache:\n  ttl: 5s\n");
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(Set.of("pool.size"), event.changedKeys());
+            assertEquals(30, pr.getProperty("pool.size", int.class));
+        }
+    }
+}
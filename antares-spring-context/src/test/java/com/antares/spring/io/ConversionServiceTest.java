@@ -0,0 +1,82 @@
+package com.antares.spring.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ConversionServiceTest {
+
+    record Money(BigDecimal amount, String currency) {
+        static Money parse(String s) {
+            String[] ss = s.strip().split(" ");
+            return new Money(new BigDecimal(ss[0]), ss[1]);
+        }
+    }
+
+    @Test
+    public void builtinTypes() {
+        var cs = new ConversionService();
+        assertEquals(123, cs.convert("123", int.class));
+        assertEquals(new BigDecimal("12.50"), cs.convert("12.50", BigDecimal.class));
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid, cs.convert(uuid.toString(), UUID.class));
+        assertEquals(Duration.ofSeconds(30), cs.convert("30s", Duration.class));
+        assertEquals(TimeUnit.MILLISECONDS, cs.convert("milliseconds", TimeUnit.class));
+    }
+
+    @Test
+    public void arraysAndCollections() {
+        var cs = new ConversionService();
+        assertArrayEquals(new int[] { 1, 2, 3 }, cs.convert("1, 2,3", int[].class));
+        assertArrayEquals(new TimeUnit[] { TimeUnit.SECONDS, TimeUnit.DAYS }, cs.convert("seconds,days", TimeUnit[].class));
+        assertEquals(List.of("a", "b"), cs.convert("a, b,", List.class));
+        assertEquals(Set.of("a", "b"), cs.convert("a,b,a", Set.class));
+        assertFalse(cs.canConvert(Object[].class));
+    }
+
+    List<Long> ids;
+    Set<TimeUnit> units;
+    List<? extends Number> numbers;
+    List<List<String>> nested;
+
+    @Test
+    public void genericCollections() throws Exception {
+        var cs = new ConversionService();
+        Type ids = getClass().getDeclaredField("ids").getGenericType();
+        assertEquals(List.of(1L, 2L), cs.convert("1, 2", ids));
+        Type units = getClass().getDeclaredField("units").getGenericType();
+        assertEquals(Set.of(TimeUnit.SECONDS), cs.convert("seconds,SECONDS", units));
+        // 不支持的元素类型:
+        assertFalse(cs.canConvert(getClass().getDeclaredField("numbers").getGenericType()));
+        Type nested = getClass().getDeclaredField("nested").getGenericType();
+        assertThrows(IllegalArgumentException.class, () -> cs.getConverter(nested));
+    }
+
+    @Test
+    public void userConverter() {
+        var cs = new ConversionService();
+        assertFalse(cs.canConvert(Money.class));
+        assertThrows(IllegalArgumentException.class, () -> cs.getConverter(Money.class));
+
+        cs.addConverter(Money.class, Money::parse);
+        assertTrue(cs.canConvert(Money.class));
+        assertEquals(new Money(new BigDecimal("9.99"), "USD"), cs.convert("9.99 USD", Money.class));
+        // 注册后数组也可以转换:
+        assertEquals(2, cs.convert("1 USD, 2 EUR", Money[].class).length);
+        // 转换函数被缓存:
+        assertSame(cs.getConverter(Money.class), cs.getConverter(Money.class));
+    }
+}
@@ -0,0 +1,107 @@
+package com.antares.spring.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.exception.PropertyBindingException;
+
+public class PropertyBinderTest {
+
+    public record MailProperties(String host, int port, Duration timeout, Set<String> admins, int[] retryDelays,
+            Map<String, Account> accounts, Account fallback) {
+    }
+
+    public record Account(String username, List<String> aliases) {
+    }
+
+    public static class CacheProperties {
+        String name = "default";
+        long maxEntries = 100;
+        DataSize maxMemory;
+        List<Account> owners;
+    }
+
+    @Test
+    public void testBindRecord() {
+        var props = new Properties();
+        props.setProperty("mail.host", "smtp.example.com");
+        props.setProperty("mail.timeout", "2m");
+        props.setProperty("mail.admins[0]", "bob@example.com");
+        props.setProperty("mail.admins[1]", "alice@example.com");
+        props.setProperty("mail.admins[2]", "bob@example.com");
+        props.setProperty("mail.retry-delays", "100,200, 400");
+        props.setProperty("mail.accounts.noreply.username", "no-reply");
+        props.setProperty("mail.accounts.noreply.aliases[0]", "donotreply");
+        props.setProperty("mail.accounts.support.username", "support");
+        var binder = new PropertyBinder(new PropertyResolver(props));
+
+        MailProperties mail = binder.bind("mail", MailProperties.class);
+        assertEquals("smtp.example.com", mail.host());
+        assertEquals(0, mail.port());
+        assertEquals(Duration.ofMinutes(2), mail.timeout());
+        assertEquals(List.of("bob@example.com", "alice@example.com"), List.copyOf(mail.admins()));
+        assertArrayEquals(new int[] { 100, 200, 400 }, mail.retryDelays());
+        assertEquals(new Account("no-reply", List.of("donotreply")), mail.accounts().get("noreply"));
+        assertEquals(new Account("support", null), mail.accounts().get("support"));
+        assertNull(mail.fallback());
+
+        // 绑定计划按类缓存:
+        assertSame(PropertyBinder.PLANS.get(MailProperties.class), PropertyBinder.PLANS.get(MailProperties.class));
+    }
+
+    @Test
+    public void testBindJavaBean() {
+        var props = new Properties();
+        props.setProperty("cache.max-entries", "5000");
+        props.setProperty("cache.max-memory", "64MB");
+        props.setProperty("cache.owners[0].username", "bob");
+        props.setProperty("cache.owners[1].username", "alice");
+        props.setProperty("cache.owners[1].aliases", "al, ally");
+        var binder = new PropertyBinder(new PropertyResolver(props));
+
+        CacheProperties cache = binder.bind("cache", CacheProperties.class);
+        assertEquals("default", cache.name);
+        assertEquals(5000, cache.maxEntries);
+        assertEquals(DataSize.ofMegabytes(64), cache.maxMemory);
+        assertEquals(List.of(new Account("bob", null), new Account("alice", List.of("al", "ally"))), cache.owners);
+
+        var existing = new CacheProperties();
+        existing.name = "local";
+        assertSame(existing, binder.bindTo("cache", existing));
+        assertEquals("local", existing.name);
+        assertEquals(5000, existing.maxEntries);
+    }
+
+    @Test
+    public void testBindError() {
+        var props = new Properties();
+        props.setProperty("mail.port", "smtp");
+        var binder = new PropertyBinder(new PropertyResolver(props));
+        var e = assertThrows(PropertyBindingException.class, () -> binder.bind("mail", MailProperties.class));
+        assertEquals("Failed to bind property 'mail.port' to int: smtp", e.getMessage());
+    }
+
+    @Test
+    public void testUnits() {
+        assertEquals(Duration.ofMillis(500), PropertyResolver.parseDuration("500ms"));
+        assertEquals(Duration.ofMillis(500), PropertyResolver.parseDuration("500"));
+        assertEquals(Duration.ofHours(2), PropertyResolver.parseDuration("2h"));
+        assertEquals(Duration.ofDays(1), PropertyResolver.parseDuration("1d"));
+        assertEquals(Duration.parse("PT1M30S"), PropertyResolver.parseDuration("PT1M30S"));
+        assertEquals(new DataSize(512), DataSize.parse("512"));
+        assertEquals(DataSize.ofKilobytes(256), DataSize.parse("256KB"));
+        assertEquals(1L << 30, DataSize.parse("1 GB").bytes());
+        assertThrows(IllegalArgumentException.class, () -> DataSize.parse("1PB"));
+    }
+}
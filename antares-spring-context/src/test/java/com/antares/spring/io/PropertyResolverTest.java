@@ -1,14 +1,20 @@
 package com.antares.spring.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -99,6 +105,108 @@ public class PropertyResolverTest {
         assertEquals("/not-exist", pr.getProperty("${app.path:${app.home:${ENV_NOT_EXIST:/not-exist}}}"));
     }
 
+    @Test
+    public void compositeProperty() {
+        var props = new Properties();
+        props.setProperty("db.host", "10.0.0.1");
+        props.setProperty("db.name", "${app.name:summer}_db");
+        props.setProperty("jdbc.url", "jdbc:mysql://${db.host:localhost}:${db.port:3306}/${db.name}?ssl=${db.ssl:${db.tls:false}}");
+        props.setProperty("loop.a", "x-${loop.b}");
+        props.setProperty("loop.b", "${loop.c:y}-${loop.a}");
+
+        var pr = new PropertyResolver(props);
+        assertEquals("jdbc:mysql://10.0.0.1:3306/summer_db?ssl=false", pr.getProperty("jdbc.url"));
+        assertEquals("10.0.0.1:3306", pr.getProperty("${db.host}:${db.port:3306}"));
+        assertEquals("a:b", pr.getProperty("${not.exist:a:b}"));
+        assertEquals("${app.name:${unclosed}", pr.getProperty("${app.name:${unclosed}"));
+        assertEquals(3306, pr.getProperty("${db.port:33${db.suffix:06}}", int.class));
+        assertThrows(NullPointerException.class, () -> {
+            pr.getProperty("db-${db.port}");
+        });
+
+        // 循环引用:
+        var e = assertThrows(IllegalArgumentException.class, () -> {
+            pr.getProperty("loop.a");
+        });
+        assertEquals("Circular placeholder reference: loop.a -> loop.b -> loop.a", e.getMessage());
+
+        // 修改配置后缓存失效:
+        pr.setProperty("db.port", "3307");
+        assertEquals("jdbc:mysql://10.0.0.1:3307/summer_db?ssl=false", pr.getProperty("jdbc.url"));
+        pr.setProperty("app.name", "${db.host}");
+        assertEquals("10.0.0.1_db", pr.getProperty("db.name"));
+        pr.removeProperty("db.host");
+        assertEquals("localhost:3307", pr.getProperty("${db.host:localhost}:${db.port}"));
+        assertThrows(NullPointerException.class, () -> {
+            pr.getProperty("db.name");
+        });
+    }
+
+    @Test
+    public void propertyChange() {
+        var props = new Properties();
+        props.setProperty("pool.size", "10");
+        props.setProperty("pool.url", "jdbc:${pool.host:localhost}");
+
+        var pr = new PropertyResolver(props);
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        pr.addPropertyChangeListener(events::add);
+        assertEquals("jdbc:localhost", pr.getProperty("pool.url"));
+
+        pr.setProperty("pool.size", "10");
+        assertTrue(events.isEmpty());
+        pr.setProperty("pool.host", "10.0.0.1");
+        assertEquals("jdbc:10.0.0.1", pr.getProperty("pool.url"));
+        assertEquals(Set.of("pool.host"), events.get(0).added());
+        assertTrue(events.get(0).isChanged("pool"));
+        assertFalse(events.get(0).isChanged("pool.h"));
+
+        props.setProperty("pool.size", "20");
+        props.remove("pool.url");
+        PropertyChangeEvent event = pr.reload(PropertySource.of("properties", props));
+        assertEquals(Set.of("pool.size"), event.modified());
+        assertEquals(Set.of("pool.host", "pool.url"), event.removed());
+        assertEquals(2, events.size());
+        assertEquals(20, pr.getProperty("pool.size", int.class));
+        assertNull(pr.getProperty("pool.url"));
+    }
+
+    @Test
+    public void propertySources() {
+        var env = new PropertySource("env", Map.of("SPRING_DATASOURCE_DRIVERCLASSNAME", "org.h2.Driver",
+                "SERVER_ENDPOINTS_0_PATH", "/v2", "APP_MODE", "cluster"), true);
+        var application = PropertySource.classpath("/application.yml").orElseThrow();
+        var defaults = new PropertySource("defaults", Map.of("server.port", "8080", "app.title", "Default",
+                "spring.datasource.driver-class-name", "org.sqlite.JDBC", "server.endpoints[0].path", "/v1"));
+        var pr = new PropertyResolver(List.of(
+                PropertySource.commandLine("--server.port=9090", "--debug", "-x", "positional"), env, application,
+                defaults));
+
+        assertEquals(9090, pr.getProperty("server.port", int.class));
+        assertTrue(pr.getProperty("debug", boolean.class));
+        assertNull(pr.getProperty("x"));
+        assertEquals("Summer Framework", pr.getProperty("app.title"));
+        // 环境变量按relaxed规则覆盖:
+        assertEquals("org.h2.Driver", pr.getProperty("spring.datasource.driver-class-name"));
+        assertEquals("/v2", pr.getProperty("server.endpoints[0].path"));
+        assertEquals("cluster", pr.getProperty("app.mode"));
+        assertEquals("cluster", pr.getProperty("${APP_MODE}"));
+        // 未配置的key只在查询时匹配环境变量，不会批量加入:
+        assertFalse(pr.getPropertyNames("").contains("app.mode"));
+
+        assertTrue(PropertySource.classpath("/application-not-exist.yml").isEmpty());
+        assertSame(application, PropertySource.classpath("/application.yml").orElseThrow());
+        assertEquals("SERVER_MAXBODYSIZE", PropertySource.toEnvironmentName("server.max-body-size"));
+
+        // 只替换同名的PropertySource:
+        PropertyChangeEvent event = pr.reload(new PropertySource("defaults", Map.of("server.port", "8081")));
+        assertEquals(Set.of("spring.datasource.driver-class-name", "server.endpoints[0].path"), event.removed());
+        assertEquals(9090, pr.getProperty("server.port", int.class));
+        assertThrows(IllegalArgumentException.class, () -> {
+            pr.reload(new PropertySource("not-exist", Map.of()));
+        });
+    }
+
     @Test
     @EnabledOnOs(OS.WINDOWS)
     public void propertyHolderOnWin() {
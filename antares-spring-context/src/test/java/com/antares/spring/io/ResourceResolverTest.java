@@ -1,12 +1,24 @@
 package com.antares.spring.io;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -87,4 +99,56 @@ public class ResourceResolverTest {
                 "com/antares/scan/sub1/sub2/sub3/sub3.txt", //
         }, classes.toArray(String[]::new));
     }
+
+    @Test
+    public void scanJarTwice() {
+        var rr = new ResourceResolver(PostConstruct.class.getPackageName());
+        List<String> first = rr.scan(Resource::name);
+        // 重复扫描不再创建FileSystem:
+        List<String> second = rr.scan(Resource::name);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void jarIndex(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("test.jar");
+        writeJar(jar, "com/foo/A.class", "com/foo/bar/B.class", "com/foobar/C.class", "META-INF/x.txt");
+        var index = ResourceResolver.getJarIndex(jar);
+        assertEquals(List.of("com/foo/A.class", "com/foo/bar/B.class"), index.entriesWithPrefix("com/foo/"));
+        assertEquals(List.of(), index.entriesWithPrefix("org/"));
+        assertSame(index, ResourceResolver.getJarIndex(jar));
+
+        // jar变化后重新读取:
+        writeJar(jar, "com/foo/D.class");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        var updated = ResourceResolver.getJarIndex(jar);
+        assertNotSame(index, updated);
+        assertEquals(List.of("com/foo/D.class"), updated.entriesWithPrefix("com/foo/"));
+    }
+
+    @Test
+    public void symlinkLoop(@TempDir Path dir) throws IOException {
+        Path pkg = Files.createDirectories(dir.resolve("com/foo"));
+        Files.writeString(pkg.resolve("a.txt"), "a");
+        try {
+            Files.createSymbolicLink(pkg.resolve("loop"), dir.resolve("com"));
+            Files.createSymbolicLink(pkg.resolve("b.txt"), pkg.resolve("a.txt"));
+        } catch (UnsupportedOperationException | IOException e) {
+            return;
+        }
+        // 不进入循环链接的目录:
+        List<Resource> resources = new ArrayList<>();
+        new ResourceResolver("com.foo").scanDirectory(pkg, "com/foo", resources);
+        assertEquals(List.of("com/foo/a.txt", "com/foo/b.txt"), resources.stream().map(Resource::name).sorted().toList());
+    }
+
+    static void writeJar(Path jar, String... names) throws IOException {
+        try (OutputStream output = Files.newOutputStream(jar); JarOutputStream jarOutput = new JarOutputStream(output)) {
+            for (String name : names) {
+                jarOutput.putNextEntry(new JarEntry(name));
+                jarOutput.write(name.getBytes());
+                jarOutput.closeEntry();
+            }
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.antares.spring.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClassPathUtilsTest {
+
+    @Test
+    public void readLargeFile(@TempDir Path dir) throws IOException {
+        String content = "x".repeat(ClassPathUtils.POOLED_BUFFER_SIZE * 2);
+        Path file = dir.resolve("large.txt");
+        Files.writeString(file, content);
+        withClassLoader(dir, () -> {
+            assertEquals(content, ClassPathUtils.readString("/large.txt"));
+            ClassPathUtils.readByteBuffer("large.txt", buffer -> {
+                assertTrue(buffer.isReadOnly());
+                assertTrue(buffer.isDirect());
+                assertEquals(content.length(), buffer.remaining());
+                return null;
+            });
+            // 不缓存映射，文件被截断后读取新内容:
+            Files.writeString(file, "short");
+            assertEquals("short", ClassPathUtils.readString("large.txt"));
+            Files.delete(file);
+            assertThrows(UncheckedIOException.class, () -> ClassPathUtils.readString("large.txt"));
+        });
+    }
+
+    @Test
+    public void readJarEntry() throws IOException {
+        String path = "jakarta/annotation/PostConstruct.class";
+        byte[] expected;
+        try (var input = ClassPathUtils.getContextClassLoader().getResourceAsStream(path)) {
+            expected = input.readAllBytes();
+        }
+        int length = ClassPathUtils.readByteBuffer(path, buffer -> {
+            assertTrue(buffer.isReadOnly());
+            return buffer.remaining();
+        });
+        assertEquals(expected.length, length);
+        byte[] actual = ClassPathUtils.readInputStream(path, input -> input.readAllBytes());
+        assertEquals(ByteBuffer.wrap(expected), ByteBuffer.wrap(actual));
+    }
+
+    @Test
+    public void readProperties(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("app.properties"), "a=1\nb=2\n");
+        withClassLoader(dir, () -> {
+            Properties props = ClassPathUtils.readInputStream("app.properties", input -> {
+                Properties p = new Properties();
+                p.load(input);
+                return p;
+            });
+            assertEquals("2", props.getProperty("b"));
+            // 小文件读入缓冲池中的数组:
+            boolean direct = ClassPathUtils.readByteBuffer("app.properties", buffer -> buffer.isDirect());
+            assertFalse(direct);
+            assertThrows(UncheckedIOException.class, () -> ClassPathUtils.readString("not-exist.txt"));
+        });
+    }
+
+    interface Task {
+        void run() throws IOException;
+    }
+
+    static void withClassLoader(Path dir, Task task) throws IOException {
+        Thread current = Thread.currentThread();
+        ClassLoader original = current.getContextClassLoader();
+        try (var cl = new URLClassLoader(new URL[] { dir.toUri().toURL() }, null)) {
+            current.setContextClassLoader(cl);
+            task.run();
+        } finally {
+            current.setContextClassLoader(original);
+        }
+    }
+}
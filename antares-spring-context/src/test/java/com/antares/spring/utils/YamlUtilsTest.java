@@ -3,6 +3,10 @@ package com.antares.spring.utils;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -25,5 +29,75 @@ public class YamlUtilsTest {
 
         assertEquals("0x1a2b3c", configs.get("other.hex-data"));
         assertEquals("0x1a2b3c", configs.get("other.hex-string"));
+        assertEquals("Orange", configs.get("other.list[1]"));
+    }
+
+    @Test
+    public void testFlattenEvents() {
+        String yaml = """
+                defaults: &defaults
+                  pool-size: 10
+                  timeout: 30s
+                servers:
+                  - name: a
+                    ports: [80, 443]
+                  - name: b
+                    tags:
+                      - [x, y]
+                      - z
+                dev:
+                  <<: *defaults
+                  pool-size: 2
+                prod:
+                  pool-size: 50
+                  <<: [*defaults]
+                  name: &name prod-db
+                  alias: *name
+                empty:
+                quoted: "a: b"
+                block: |
+                  line1
+                  line2
+                ---
+                defaults:
+                  timeout: 60s
+                """;
+        Map<String, Object> configs = YamlFlattener.flatten(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("10", configs.get("defaults.pool-size"));
+        assertEquals("60s", configs.get("defaults.timeout"));
+        assertEquals("a", configs.get("servers[0].name"));
+        assertEquals("443", configs.get("servers[0].ports[1]"));
+        assertEquals("y", configs.get("servers[1].tags[0][1]"));
+        assertEquals("z", configs.get("servers[1].tags[1]"));
+        assertEquals("2", configs.get("dev.pool-size"));
+        assertEquals("30s", configs.get("dev.timeout"));
+        assertEquals("50", configs.get("prod.pool-size"));
+        assertEquals("30s", configs.get("prod.timeout"));
+        assertEquals("prod-db", configs.get("prod.alias"));
+        assertEquals("", configs.get("empty"));
+        assertEquals("a: b", configs.get("quoted"));
+        assertEquals("line1\nline2\n", configs.get("block"));
+        assertNull(configs.get("<<"));
+    }
+
+    @Test
+    public void testSameAsTree() {
+        // 与先构造对象树再展开的结果一致:
+        Map<String, Object> tree = YamlUtils.loadYaml("/application.yml");
+        Map<String, Object> expected = new LinkedHashMap<>();
+        flattenTree("", tree, expected);
+        assertEquals(expected, YamlUtils.loadYamlAsPlainMap("/application.yml"));
+    }
+
+    static void flattenTree(String key, Object value, Map<String, Object> plain) {
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> flattenTree(key.isEmpty() ? (String) k : key + "." + k, v, plain));
+        } else if (value instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                flattenTree(key + "[" + i + "]", list.get(i), plain);
+            }
+        } else {
+            plain.put(key, String.valueOf(value));
+        }
     }
 }
@@ -7,11 +7,16 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-@Target(ElementType.TYPE)
+@Target({ ElementType.TYPE, ElementType.METHOD })
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 @Inherited
 public @interface Transactional {
 
     String value() default "platformTransactionManager";
+
+    /**
+     * 只读事务可以路由到从库执行，标注在方法上时覆盖类上的设置
+     */
+    boolean readOnly() default false;
 }
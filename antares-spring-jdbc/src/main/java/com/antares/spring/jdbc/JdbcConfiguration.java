@@ -1,11 +1,18 @@
 package com.antares.spring.jdbc;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.sql.DataSource;
 
 import com.antares.spring.annotation.Autowired;
 import com.antares.spring.annotation.Bean;
 import com.antares.spring.annotation.Configuration;
 import com.antares.spring.annotation.Value;
+import com.antares.spring.jdbc.cache.QueryCache;
+import com.antares.spring.jdbc.datasource.LoadBalanceStrategy;
+import com.antares.spring.jdbc.datasource.ReadWriteRoutingDataSource;
+import com.antares.spring.jdbc.metrics.JdbcMetrics;
 import com.antares.spring.jdbc.tx.DataSourceTransactionManager;
 import com.antares.spring.jdbc.tx.PlatformTransactionManager;
 import com.antares.spring.jdbc.tx.TransactionalBeanPostProcessor;
@@ -24,10 +31,37 @@ public class JdbcConfiguration {
             @Value("${spring.datasource.driver-class-name:}") String driver, //
             @Value("${spring.datasource.maximum-pool-size:20}") int maximumPoolSize, //
             @Value("${spring.datasource.minimum-pool-size:1}") int minimumPoolSize, //
-            @Value("${spring.datasource.connection-timeout:30000}") int connTimeout //
+            @Value("${spring.datasource.connection-timeout:30000}") int connTimeout, //
+            // 连接池默认autoCommit=true，非事务执行时无需切换，事务开始和结束时才切换:
+            @Value("${spring.datasource.auto-commit:true}") boolean autoCommit, //
+            // replicas, separated by comma:
+            @Value("${spring.datasource.replica.urls:}") String replicaUrls, //
+            @Value("${spring.datasource.replica.load-balance:round-robin}") String loadBalance, //
+            @Value("${spring.datasource.replica.retry-interval:30000}") long retryInterval, //
+            @Value("${spring.datasource.replica.lag-query:}") String lagQuery, //
+            @Value("${spring.datasource.replica.max-lag:10}") long maxLag, //
+            @Value("${spring.datasource.replica.lag-check-interval:5000}") long lagCheckInterval //
     ) {
+        HikariDataSource primary = createHikariDataSource(url, username, password, driver, maximumPoolSize,
+                minimumPoolSize, connTimeout, autoCommit);
+        if (replicaUrls.isBlank()) {
+            return primary;
+        }
+        List<DataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls.split(",")) {
+            if (!replicaUrl.isBlank()) {
+                replicas.add(createHikariDataSource(replicaUrl.strip(), username, password, driver, maximumPoolSize,
+                        minimumPoolSize, connTimeout, autoCommit));
+            }
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, LoadBalanceStrategy.of(loadBalance), retryInterval,
+                lagQuery, maxLag, lagCheckInterval);
+    }
+
+    HikariDataSource createHikariDataSource(String url, String username, String password, String driver,
+            int maximumPoolSize, int minimumPoolSize, int connTimeout, boolean autoCommit) {
         var config = new HikariConfig();
-        config.setAutoCommit(false);
+        config.setAutoCommit(autoCommit);
         config.setJdbcUrl(url);
         config.setUsername(username);
         config.setPassword(password);
@@ -40,9 +74,45 @@ public class JdbcConfiguration {
         return new HikariDataSource(config);
     }
 
+    @Bean(destroyMethod = "close")
+    JdbcMetrics jdbcMetrics( //
+            // 慢查询阈值(ms)，小于0时不记录:
+            @Value("${spring.datasource.metrics.slow-query-threshold:1000}") long slowQueryThreshold, //
+            // 定期输出统计的间隔(ms)，0表示不输出:
+            @Value("${spring.datasource.metrics.dump-interval:0}") long dumpInterval //
+    ) {
+        var metrics = new JdbcMetrics(slowQueryThreshold);
+        metrics.startDump(dumpInterval);
+        return metrics;
+    }
+
     @Bean
-    JdbcTemplate jdbcTemplate(@Autowired DataSource dataSource) {
-        return new JdbcTemplate(dataSource);
+    JdbcTemplate jdbcTemplate(@Autowired DataSource dataSource, //
+            @Autowired JdbcMetrics jdbcMetrics, //
+            @Value("${spring.datasource.metrics.enabled:false}") boolean metricsEnabled, //
+            // query cache, tables separated by comma:
+            @Value("${spring.datasource.query-cache.enabled:false}") boolean queryCacheEnabled, //
+            @Value("${spring.datasource.query-cache.max-size:1000}") int queryCacheMaxSize, //
+            @Value("${spring.datasource.query-cache.ttl:60000}") long queryCacheTtl, //
+            @Value("${spring.datasource.query-cache.tables:}") String queryCacheTables, //
+            // 失效后在此时间内读主库，应大于从库的复制延迟:
+            @Value("${spring.datasource.query-cache.replica-lag:1000}") long queryCacheReplicaLag //
+    ) {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        if (queryCacheEnabled) {
+            var queryCache = new QueryCache(queryCacheMaxSize, queryCacheTtl);
+            queryCache.setReplicaLagMillis(queryCacheReplicaLag);
+            for (String table : queryCacheTables.split(",")) {
+                if (!table.isBlank()) {
+                    queryCache.addTable(table.strip());
+                }
+            }
+            jdbcTemplate.setQueryCache(queryCache);
+        }
+        if (metricsEnabled) {
+            jdbcTemplate.setMetrics(jdbcMetrics);
+        }
+        return jdbcTemplate;
     }
 
     @Bean
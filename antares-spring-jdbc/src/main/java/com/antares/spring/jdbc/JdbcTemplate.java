@@ -7,42 +7,98 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
 
 import javax.sql.DataSource;
 
 import com.antares.spring.exception.DataAccessException;
+import com.antares.spring.jdbc.cache.QueryCache;
+import com.antares.spring.jdbc.cache.QueryKey;
+import com.antares.spring.jdbc.datasource.DataSourceUtils;
+import com.antares.spring.jdbc.metrics.JdbcMetrics;
+import com.antares.spring.jdbc.tx.TransactionStatus;
 import com.antares.spring.jdbc.tx.TransactionalUtils;
 
+import jakarta.annotation.Nullable;
+
 
 public class JdbcTemplate {
 
     final DataSource dataSource;
 
+    // 非事务执行时setAutoCommit()的调用次数及省去的次数:
+    final LongAdder autoCommitRoundTrips = new LongAdder();
+    final LongAdder avoidedAutoCommitRoundTrips = new LongAdder();
+
+    // 查询结果缓存，为null时不缓存:
+    QueryCache queryCache = null;
+
+    // 执行统计，为null时不统计:
+    JdbcMetrics metrics = null;
+
     public JdbcTemplate(DataSource dataSource) {
         this.dataSource = dataSource;
     }
 
+    public void setQueryCache(QueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    @Nullable
+    public QueryCache getQueryCache() {
+        return this.queryCache;
+    }
+
+    public void setMetrics(JdbcMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Nullable
+    public JdbcMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    public long getAutoCommitRoundTrips() {
+        return this.autoCommitRoundTrips.sum();
+    }
+
+    public long getAvoidedAutoCommitRoundTrips() {
+        return this.avoidedAutoCommitRoundTrips.sum();
+    }
+
     public Number queryForNumber(String sql, Object... args) throws DataAccessException {
-        return queryForObject(sql, NumberRowMapper.instance, args);
+        return queryForObject(sql, Number.class, args);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T queryForObject(String sql, Class<T> clazz, Object... args) throws DataAccessException {
-        if (clazz == String.class) {
-            return (T) queryForObject(sql, StringRowMapper.instance, args);
-        }
-        if (clazz == Boolean.class || clazz == boolean.class) {
-            return (T) queryForObject(sql, BooleanRowMapper.instance, args);
-        }
-        if (Number.class.isAssignableFrom(clazz) || clazz.isPrimitive()) {
-            return (T) queryForObject(sql, NumberRowMapper.instance, args);
-        }
-        return queryForObject(sql, new BeanRowMapper<>(clazz), args);
+        return requireRow(queryWithCache(sql, clazz, false, false, args,
+                (readOnly, nullable) -> doQueryForObject(sql, rowMapperOf(clazz), readOnly, nullable, args)));
+    }
+
+    /**
+     * 查询并缓存结果，无论SQL是否匹配QueryCache的规则。未设置QueryCache时直接查询。
+     */
+    public <T> T queryForObjectCached(String sql, Class<T> clazz, Object... args) throws DataAccessException {
+        return requireRow(queryWithCache(sql, clazz, false, true, args,
+                (readOnly, nullable) -> doQueryForObject(sql, rowMapperOf(clazz), readOnly, nullable, args)));
     }
 
     public <T> T queryForObject(String sql, RowMapper<T> rowMapper, Object... args) throws DataAccessException {
-        return execute(preparedStatementCreator(sql, args),
+        return doQueryForObject(sql, rowMapper, true, false, args);
+    }
+
+    /*
+     * nullable为true时没有结果返回null，以便缓存null结果，否则抛出DataAccessException并计入SQL统计
+     */
+    @Nullable
+    <T> T doQueryForObject(String sql, RowMapper<T> rowMapper, boolean readOnly, boolean nullable, Object[] args)
+            throws DataAccessException {
+        return execute(sql, args, t -> t == null ? 0 : 1, preparedStatementCreator(sql, args),
                 // PreparedStatementCallback
                 (PreparedStatement ps) -> {
                     T t = null;
@@ -55,33 +111,115 @@ public class JdbcTemplate {
                             }
                         }
                     }
-                    if (t == null) {
-                        throw new DataAccessException("Empty result set.");
-                    }
-                    return t;
-                });
+                    return nullable ? t : requireRow(t);
+                }, readOnly);
+    }
+
+    static <T> T requireRow(@Nullable T t) {
+        if (t == null) {
+            throw new DataAccessException("Empty result set.");
+        }
+        return t;
     }
 
     public <T> List<T> queryForList(String sql, Class<T> clazz, Object... args) throws DataAccessException {
-        return queryForList(sql, new BeanRowMapper<>(clazz), args);
+        return queryWithCache(sql, clazz, true, false, args,
+                (readOnly, nullable) -> doQueryForList(sql, new BeanRowMapper<>(clazz), readOnly, args));
+    }
+
+    public <T> List<T> queryForListCached(String sql, Class<T> clazz, Object... args) throws DataAccessException {
+        return queryWithCache(sql, clazz, true, true, args,
+                (readOnly, nullable) -> doQueryForList(sql, new BeanRowMapper<>(clazz), readOnly, args));
     }
 
     public <T> List<T> queryForList(String sql, RowMapper<T> rowMapper, Object... args) throws DataAccessException {
-        return execute(preparedStatementCreator(sql, args),
-                // PreparedStatementCallback
-                (PreparedStatement ps) -> {
-                    List<T> list = new ArrayList<>();
-                    try (ResultSet rs = ps.executeQuery()) {
-                        while (rs.next()) {
-                            list.add(rowMapper.mapRow(rs, rs.getRow()));
-                        }
-                    }
-                    return list;
-                });
+        return doQueryForList(sql, rowMapper, true, args);
+    }
+
+    <T> List<T> doQueryForList(String sql, RowMapper<T> rowMapper, boolean readOnly, Object[] args)
+            throws DataAccessException {
+        return execute(sql, args, List::size, preparedStatementCreator(sql, args), listCallback(rowMapper), readOnly);
+    }
+
+    /**
+     * 最多返回maxRows行，由驱动限制读取的行数，SQL本身不做修改
+     */
+    public <T> List<T> queryForListBounded(String sql, Class<T> clazz, int maxRows, Object... args)
+            throws DataAccessException {
+        return queryForListBounded(sql, rowMapperOf(clazz), maxRows, args);
+    }
+
+    public <T> List<T> queryForListBounded(String sql, RowMapper<T> rowMapper, int maxRows, Object... args)
+            throws DataAccessException {
+        return execute(sql, args, List::size,
+                // PreparedStatementCreator
+                (Connection con) -> {
+                    var ps = con.prepareStatement(sql);
+                    ps.setMaxRows(maxRows);
+                    bindArgs(ps, args);
+                    return ps;
+                }, listCallback(rowMapper), true);
+    }
+
+    /**
+     * 按键集分页查询，sql为不含ORDER BY及LIMIT的查询，例如：
+     *
+     * | Page<User> page = queryForPage("SELECT * FROM users WHERE age > ?", User.class, PageRequest.of("id", 20), 18);
+     *
+     * 与LIMIT/OFFSET不同，每一页都从上一页最后一行的键值开始定位，耗时不随页数增加。
+     */
+    public <T> Page<T> queryForPage(String sql, Class<T> clazz, PageRequest pageRequest, Object... args)
+            throws DataAccessException {
+        return queryForPage(sql, rowMapperOf(clazz), pageRequest, args);
+    }
+
+    public <T> Page<T> queryForPage(String sql, RowMapper<T> rowMapper, PageRequest pageRequest, Object... args)
+            throws DataAccessException {
+        final String column = pageRequest.keyColumn();
+        final int pageSize = pageRequest.pageSize();
+        final Object afterKey = pageRequest.token() == null ? null : PageToken.decode(pageRequest.token());
+        // 包装为子查询，多读取一行用于判断是否有下一页:
+        StringBuilder sb = new StringBuilder(sql.length() + 100);
+        sb.append("SELECT * FROM (").append(sql).append(") t_page");
+        if (afterKey != null) {
+            sb.append(" WHERE t_page.").append(column).append(pageRequest.desc() ? " < ?" : " > ?");
+        }
+        sb.append(" ORDER BY t_page.").append(column).append(pageRequest.desc() ? " DESC" : " ASC");
+        sb.append(" LIMIT ").append(pageSize + 1);
+        Object[] pageArgs = args;
+        if (afterKey != null) {
+            pageArgs = Arrays.copyOf(args, args.length + 1);
+            pageArgs[args.length] = afterKey;
+        }
+        // 记录每页最后一行的键值:
+        final Object[] lastKey = new Object[1];
+        final int[] rows = new int[1];
+        List<T> items = queryForList(sb.toString(), (ResultSet rs, int rowNum) -> {
+            if (++rows[0] == pageSize) {
+                lastKey[0] = rs.getObject(column);
+            }
+            return rowMapper.mapRow(rs, rowNum);
+        }, pageArgs);
+        if (items.size() <= pageSize) {
+            return new Page<>(items, null);
+        }
+        items.remove(pageSize);
+        if (lastKey[0] == null) {
+            throw new DataAccessException("Key column " + column + " is null.");
+        }
+        return new Page<>(items, PageToken.encode(lastKey[0]));
     }
 
     public Number updateAndReturnGeneratedKey(String sql, Object... args) throws DataAccessException {
-        return execute(
+        try {
+            return doUpdateAndReturnGeneratedKey(sql, args);
+        } finally {
+            invalidateQueryCache(sql);
+        }
+    }
+
+    Number doUpdateAndReturnGeneratedKey(String sql, Object... args) throws DataAccessException {
+        return execute(sql, args, key -> 1,
                 // PreparedStatementCreator
                 (Connection con) -> {
                     var ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
@@ -103,26 +241,84 @@ public class JdbcTemplate {
                         }
                     }
                     throw new DataAccessException("Should not reach here.");
-                });
+                }, false);
     }
 
     public int update(String sql, Object... args) throws DataAccessException {
-        return execute(preparedStatementCreator(sql, args),
-                // PreparedStatementCallback
-                (PreparedStatement ps) -> {
-                    return ps.executeUpdate();
-                });
+        try {
+            return execute(sql, args, n -> n, preparedStatementCreator(sql, args),
+                    // PreparedStatementCallback
+                    (PreparedStatement ps) -> {
+                        return ps.executeUpdate();
+                    }, false);
+        } finally {
+            invalidateQueryCache(sql);
+        }
+    }
+
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) throws DataAccessException {
+        try {
+            return execute(sql, null, JdbcTemplate::sumOf,
+                    // PreparedStatementCreator
+                    (Connection con) -> con.prepareStatement(sql),
+                    // PreparedStatementCallback
+                    (PreparedStatement ps) -> {
+                        for (Object[] args : batchArgs) {
+                            bindArgs(ps, args);
+                            ps.addBatch();
+                        }
+                        return ps.executeBatch();
+                    }, false);
+        } finally {
+            invalidateQueryCache(sql);
+        }
     }
 
     public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action) {
+        return execute(psc, action, false);
+    }
+
+    /**
+     * 非事务中的查询可以路由到从库执行
+     */
+    public <T> T executeReadOnly(PreparedStatementCreator psc, PreparedStatementCallback<T> action) {
+        return execute(psc, action, true);
+    }
+
+    <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action, boolean readOnly) {
         return execute((Connection con) -> {
             try (PreparedStatement ps = psc.createPreparedStatement(con)) {
                 return action.doInPreparedStatement(ps);
             }
-        });
+        }, readOnly);
+    }
+
+    /**
+     * 执行SQL并记录耗时(含获取连接)及行数
+     */
+    <T> T execute(String sql, Object[] args, ToLongFunction<T> rowCounter, PreparedStatementCreator psc,
+            PreparedStatementCallback<T> action, boolean readOnly) {
+        final JdbcMetrics m = this.metrics;
+        if (m == null) {
+            return execute(psc, action, readOnly);
+        }
+        final long start = System.nanoTime();
+        T result = null;
+        boolean success = false;
+        try {
+            result = execute(psc, action, readOnly);
+            success = true;
+            return result;
+        } finally {
+            m.record(sql, args, System.nanoTime() - start, success ? rowCounter.applyAsLong(result) : 0, success);
+        }
     }
 
     public <T> T execute(ConnectionCallback<T> action) throws DataAccessException {
+        return execute(action, false);
+    }
+
+    <T> T execute(ConnectionCallback<T> action, boolean readOnly) throws DataAccessException {
         // 尝试获取当前事务连接:
         Connection current = TransactionalUtils.getCurrentConnection();
         if (current != null) {
@@ -133,21 +329,117 @@ public class JdbcTemplate {
             }
         }
         // 获取新连接:
-        try (Connection newConn = dataSource.getConnection()) {
+        final long start = System.nanoTime();
+        try (Connection newConn = DataSourceUtils.getConnection(dataSource, readOnly)) {
+            final JdbcMetrics m = this.metrics;
+            if (m != null) {
+                m.recordConnectionAcquire(System.nanoTime() - start);
+            }
             final boolean autoCommit = newConn.getAutoCommit();
-            if (!autoCommit) {
-                newConn.setAutoCommit(true);
+            if (autoCommit) {
+                // 连接池默认autoCommit=true时无需切换，省去两次setAutoCommit():
+                this.avoidedAutoCommitRoundTrips.add(2);
+                return action.doInConnection(newConn);
             }
-            T result = action.doInConnection(newConn);
-            if (!autoCommit) {
+            newConn.setAutoCommit(true);
+            try {
+                return action.doInConnection(newConn);
+            } finally {
                 newConn.setAutoCommit(false);
+                this.autoCommitRoundTrips.add(2);
             }
-            return result;
         } catch (SQLException e) {
             throw new DataAccessException(e);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    <T> T queryWithCache(String sql, Class<?> resultType, boolean list, boolean cached, Object[] args,
+            QueryLoader<T> loader) {
+        final QueryCache cache = this.queryCache;
+        if (cache == null || !(cached || cache.isCacheable(sql)) || hasPendingWrites()) {
+            return loader.load(true, false);
+        }
+        QueryKey key = QueryKey.of(sql, resultType, list, args);
+        Object value = cache.get(key);
+        if (value != null) {
+            return value == QueryCache.NULL_VALUE ? null : (T) value;
+        }
+        final long version = cache.version(key);
+        // 刚失效的表从主库读取，避免把从库尚未复制的旧数据放入缓存:
+        T result = loader.load(!cache.isRecentlyInvalidated(key), true);
+        if (result instanceof List<?> l) {
+            result = (T) Collections.unmodifiableList(l);
+        }
+        cache.put(key, result, version);
+        return result;
+    }
+
+    /**
+     * 加载缓存未命中的查询，readOnly为false时读主库，nullable为true时没有结果返回null
+     */
+    @FunctionalInterface
+    interface QueryLoader<T> {
+        T load(boolean readOnly, boolean nullable);
+    }
+
+    boolean hasPendingWrites() {
+        TransactionStatus ts = TransactionalUtils.getCurrentTransactionStatus();
+        return ts != null && ts.hasPendingWrites();
+    }
+
+    void invalidateQueryCache(String sql) {
+        final QueryCache cache = this.queryCache;
+        TransactionStatus ts = TransactionalUtils.getCurrentTransactionStatus();
+        if (cache == null) {
+            if (ts != null) {
+                ts.registerWrite(null);
+            }
+            return;
+        }
+        final Set<String> tables = cache.tablesOf(sql);
+        cache.invalidate(tables);
+        if (ts != null) {
+            // 事务提交前其他线程可能重新缓存了旧数据，提交后需再次失效:
+            ts.registerWrite(() -> cache.invalidate(tables));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> RowMapper<T> rowMapperOf(Class<T> clazz) {
+        if (clazz == String.class) {
+            return (RowMapper<T>) StringRowMapper.instance;
+        }
+        if (clazz == Boolean.class || clazz == boolean.class) {
+            return (RowMapper<T>) BooleanRowMapper.instance;
+        }
+        if (Number.class.isAssignableFrom(clazz) || clazz.isPrimitive()) {
+            return (RowMapper<T>) NumberRowMapper.instance;
+        }
+        return new BeanRowMapper<>(clazz);
+    }
+
+    static long sumOf(int[] counts) {
+        long sum = 0;
+        for (int n : counts) {
+            // Statement.SUCCESS_NO_INFO等负值不计入:
+            sum += Math.max(n, 0);
+        }
+        return sum;
+    }
+
+    private <T> PreparedStatementCallback<List<T>> listCallback(RowMapper<T> rowMapper) {
+        return (PreparedStatement ps) -> {
+            List<T> list = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(rowMapper.mapRow(rs, rs.getRow()));
+                }
+            }
+            return list;
+        };
+    }
+
     private PreparedStatementCreator preparedStatementCreator(String sql, Object... args) {
         return (Connection con) -> {
             var ps = con.prepareStatement(sql);
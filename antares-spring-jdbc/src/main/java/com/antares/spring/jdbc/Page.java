@@ -0,0 +1,32 @@
+package com.antares.spring.jdbc;
+
+import java.util.List;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 一页查询结果，nextToken用于读取下一页，最后一页时为null
+ */
+public class Page<T> {
+
+    final List<T> items;
+    final String nextToken;
+
+    public Page(List<T> items, @Nullable String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getItems() {
+        return this.items;
+    }
+
+    @Nullable
+    public String getNextToken() {
+        return this.nextToken;
+    }
+
+    public boolean hasNext() {
+        return this.nextToken != null;
+    }
+}
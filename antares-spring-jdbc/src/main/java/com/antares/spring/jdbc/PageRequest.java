@@ -0,0 +1,42 @@
+package com.antares.spring.jdbc;
+
+import java.util.regex.Pattern;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * 按键集(keyset)分页的请求：按keyColumn排序，从token指向的位置之后读取pageSize行。
+ *
+ * keyColumn必须唯一且出现在查询结果中，通常为主键，例如：
+ *
+ * | PageRequest.of("id", 20)
+ * | PageRequest.of("id", 20).descending().withToken(page.getNextToken())
+ */
+public record PageRequest(String keyColumn, int pageSize, boolean desc, @Nullable String token) {
+
+    static final Pattern COLUMN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    public PageRequest {
+        if (!COLUMN.matcher(keyColumn).matches()) {
+            throw new IllegalArgumentException("Invalid key column: " + keyColumn);
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid page size: " + pageSize);
+        }
+    }
+
+    public static PageRequest of(String keyColumn, int pageSize) {
+        return new PageRequest(keyColumn, pageSize, false, null);
+    }
+
+    public PageRequest descending() {
+        return new PageRequest(keyColumn, pageSize, true, token);
+    }
+
+    /**
+     * 从上一页返回的token继续，token为null时从第一页开始
+     */
+    public PageRequest withToken(@Nullable String token) {
+        return new PageRequest(keyColumn, pageSize, desc, token);
+    }
+}
@@ -0,0 +1,66 @@
+package com.antares.spring.jdbc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.antares.spring.exception.DataAccessException;
+
+/**
+ * 将分页列的值编码为不透明的token，格式为Base64("类型:值")
+ */
+class PageToken {
+
+    static String encode(Object key) {
+        String s;
+        if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            s = "L:" + key;
+        } else if (key instanceof BigDecimal || key instanceof Double || key instanceof Float) {
+            s = "D:" + new BigDecimal(key.toString()).toPlainString();
+        } else if (key instanceof String str) {
+            s = "S:" + str;
+        } else if (key instanceof Timestamp ts) {
+            s = "T:" + ts.toLocalDateTime();
+        } else if (key instanceof LocalDateTime ldt) {
+            s = "T:" + ldt;
+        } else if (key instanceof java.sql.Date d) {
+            s = "d:" + d.toLocalDate();
+        } else if (key instanceof LocalDate ld) {
+            s = "d:" + ld;
+        } else {
+            throw new DataAccessException("Unsupported key column type for pagination: " + key.getClass().getName());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object decode(String token) {
+        String s;
+        try {
+            s = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new DataAccessException("Invalid page token: " + token, e);
+        }
+        if (s.length() < 2 || s.charAt(1) != ':') {
+            throw new DataAccessException("Invalid page token: " + token);
+        }
+        String value = s.substring(2);
+        try {
+            return switch (s.charAt(0)) {
+            case 'L' -> Long.valueOf(value);
+            case 'D' -> new BigDecimal(value);
+            case 'S' -> value;
+            case 'T' -> Timestamp.valueOf(LocalDateTime.parse(value));
+            case 'd' -> java.sql.Date.valueOf(LocalDate.parse(value));
+            default -> throw new DataAccessException("Invalid page token: " + token);
+            };
+        } catch (RuntimeException e) {
+            if (e instanceof DataAccessException dae) {
+                throw dae;
+            }
+            throw new DataAccessException("Invalid page token: " + token, e);
+        }
+    }
+}
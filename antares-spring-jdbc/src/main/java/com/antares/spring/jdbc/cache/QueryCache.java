@@ -0,0 +1,363 @@
+package com.antares.spring.jdbc.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * JdbcTemplate的查询结果缓存，按LRU及TTL淘汰。
+ *
+ * 缓存条目以SQL中的表名作为标签，通过同一个JdbcTemplate执行update/batchUpdate时，
+ * 使相关表的条目失效。只有匹配addTable()/addPattern()的SQL，或显式调用
+ * queryForObjectCached()/queryForListCached()的查询才会被缓存。
+ *
+ * 与ConcurrentLruCache相同，按key的hash分段加锁，LRU是段内近似的。每个表有独立的版本号，
+ * 加载期间只有查询涉及的表失效时才丢弃加载结果。
+ *
+ * 缓存的结果对象会被多个调用方共享，不应被修改。
+ */
+public class QueryCache {
+
+    // 超过此数量后不再缓存SQL的解析结果，避免拼接SQL导致无限增长:
+    static final int MAX_PARSED_SQL = 10_000;
+
+    static final int MAX_SEGMENTS = 16;
+
+    /**
+     * 缓存的null结果，get()返回此值表示命中且结果为null
+     */
+    public static final Object NULL_VALUE = new Object();
+
+    final int maxSize;
+    final long ttlMillis;
+    // 失效后在此时间内的查询应读主库，从库可能尚未复制:
+    long replicaLagMillis = 1000;
+
+    final List<Pattern> patterns = new ArrayList<>();
+    final Set<String> tables = new HashSet<>();
+
+    // SQL -> 表名 / 是否可缓存:
+    final Map<String, Set<String>> sqlTables = new ConcurrentHashMap<>();
+    final Map<String, Boolean> sqlCacheable = new ConcurrentHashMap<>();
+
+    final Segment[] segments;
+
+    // 表名 -> 版本号及最后失效时间，clear()使用allTables:
+    final Map<String, TableVersion> tableVersions = new ConcurrentHashMap<>();
+    final TableVersion allTables = new TableVersion();
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder invalidations = new LongAdder();
+
+    public QueryCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        int n = 1;
+        while (n < MAX_SEGMENTS && n * 2 * 16 <= maxSize) {
+            n *= 2;
+        }
+        this.segments = new Segment[n];
+        int capacity = (maxSize + n - 1) / n;
+        for (int i = 0; i < n; i++) {
+            this.segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * 缓存只涉及指定表的查询
+     */
+    public QueryCache addTable(String table) {
+        this.tables.add(SqlTables.normalize(table));
+        this.sqlCacheable.clear();
+        return this;
+    }
+
+    /**
+     * 缓存匹配正则表达式的查询
+     */
+    public QueryCache addPattern(String regex) {
+        this.patterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.DOTALL));
+        this.sqlCacheable.clear();
+        return this;
+    }
+
+    public void setReplicaLagMillis(long replicaLagMillis) {
+        this.replicaLagMillis = replicaLagMillis;
+    }
+
+    public boolean isCacheable(String sql) {
+        Boolean cacheable = this.sqlCacheable.get(sql);
+        if (cacheable == null) {
+            cacheable = matches(sql);
+            if (this.sqlCacheable.size() < MAX_PARSED_SQL) {
+                this.sqlCacheable.put(sql, cacheable);
+            }
+        }
+        return cacheable;
+    }
+
+    boolean matches(String sql) {
+        for (Pattern pattern : this.patterns) {
+            if (pattern.matcher(sql).matches()) {
+                return true;
+            }
+        }
+        Set<String> queryTables = tablesOf(sql);
+        return !this.tables.isEmpty() && !queryTables.isEmpty() && this.tables.containsAll(queryTables);
+    }
+
+    public Set<String> tablesOf(String sql) {
+        Set<String> result = this.sqlTables.get(sql);
+        if (result == null) {
+            result = Set.copyOf(SqlTables.parse(sql));
+            if (this.sqlTables.size() < MAX_PARSED_SQL) {
+                this.sqlTables.put(sql, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查询涉及的表的版本号之和，任意一个表失效都会使其变化
+     */
+    public long version(QueryKey key) {
+        long version = this.allTables.version.get();
+        for (String table : tablesOf(key.sql())) {
+            version += tableVersion(table).version.get();
+        }
+        return version;
+    }
+
+    /**
+     * 查询涉及的表是否在replicaLagMillis内失效过
+     */
+    public boolean isRecentlyInvalidated(QueryKey key) {
+        long since = System.currentTimeMillis() - this.replicaLagMillis;
+        if (this.allTables.invalidatedAt > since) {
+            return true;
+        }
+        for (String table : tablesOf(key.sql())) {
+            if (tableVersion(table).invalidatedAt > since) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 未命中返回null，命中且结果为null时返回NULL_VALUE
+     */
+    @Nullable
+    public Object get(QueryKey key) {
+        Object value = segmentFor(key).get(key);
+        if (value == null) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        return value;
+    }
+
+    /**
+     * 放入缓存，如果在version之后查询涉及的表失效过则忽略
+     */
+    public void put(QueryKey key, @Nullable Object value, long version) {
+        Set<String> keyTables = tablesOf(key.sql());
+        Entry entry = new Entry(value == null ? NULL_VALUE : value, keyTables,
+                System.currentTimeMillis() + this.ttlMillis);
+        segmentFor(key).put(key, entry, version);
+    }
+
+    /**
+     * 使涉及指定表的缓存失效，tables为空时清空所有缓存
+     */
+    public void invalidate(Collection<String> tables) {
+        this.invalidations.increment();
+        long now = System.currentTimeMillis();
+        // 先递增版本号再移除，段内put时检查版本号，不会写入失效前加载的结果:
+        if (tables.isEmpty()) {
+            this.allTables.invalidate(now);
+            for (Segment segment : this.segments) {
+                segment.clear();
+            }
+            return;
+        }
+        for (String table : tables) {
+            tableVersion(table).invalidate(now);
+        }
+        for (Segment segment : this.segments) {
+            segment.removeTables(tables);
+        }
+    }
+
+    public void clear() {
+        invalidate(Set.of());
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return this.invalidations.sum();
+    }
+
+    /**
+     * 移除过期条目，LRU只在写入时淘汰，可以定期调用此方法释放内存
+     */
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        for (Segment segment : this.segments) {
+            segment.removeExpired(now);
+        }
+    }
+
+    TableVersion tableVersion(String table) {
+        TableVersion tv = this.tableVersions.get(table);
+        return tv != null ? tv : this.tableVersions.computeIfAbsent(table, t -> new TableVersion());
+    }
+
+    Segment segmentFor(QueryKey key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return this.segments[h & (this.segments.length - 1)];
+    }
+
+    final class Segment {
+
+        final int capacity;
+        // 访问顺序的LinkedHashMap实现LRU，以及表名 -> key的索引:
+        final LinkedHashMap<QueryKey, Entry> entries;
+        final Map<String, Set<QueryKey>> tableIndex = new HashMap<>();
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<QueryKey, Entry> eldest) {
+                    if (size() > Segment.this.capacity) {
+                        unindex(eldest.getKey(), eldest.getValue());
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Object get(QueryKey key) {
+            Entry entry = this.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                this.entries.remove(key);
+                unindex(key, entry);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(QueryKey key, Entry entry, long version) {
+            if (version(key) != version) {
+                return;
+            }
+            Entry old = this.entries.put(key, entry);
+            if (old != null) {
+                unindex(key, old);
+            }
+            for (String table : entry.tables) {
+                this.tableIndex.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+            }
+        }
+
+        synchronized void removeTables(Collection<String> tables) {
+            for (String table : tables) {
+                Set<QueryKey> keys = this.tableIndex.remove(table);
+                if (keys != null) {
+                    for (QueryKey key : keys) {
+                        Entry entry = this.entries.remove(key);
+                        if (entry != null) {
+                            unindex(key, entry);
+                        }
+                    }
+                }
+            }
+        }
+
+        synchronized void removeExpired(long now) {
+            Iterator<Map.Entry<QueryKey, Entry>> it = this.entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<QueryKey, Entry> e = it.next();
+                if (e.getValue().expiresAt < now) {
+                    it.remove();
+                    unindex(e.getKey(), e.getValue());
+                }
+            }
+        }
+
+        synchronized void clear() {
+            this.entries.clear();
+            this.tableIndex.clear();
+        }
+
+        synchronized int size() {
+            return this.entries.size();
+        }
+
+        void unindex(QueryKey key, Entry entry) {
+            for (String table : entry.tables) {
+                Set<QueryKey> keys = this.tableIndex.get(table);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        this.tableIndex.remove(table);
+                    }
+                }
+            }
+        }
+    }
+
+    static final class TableVersion {
+        final AtomicLong version = new AtomicLong();
+        volatile long invalidatedAt = 0;
+
+        void invalidate(long now) {
+            this.version.incrementAndGet();
+            this.invalidatedAt = now;
+        }
+    }
+
+    record Entry(Object value, Set<String> tables, long expiresAt) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.antares.spring.jdbc.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 缓存的key：SQL、结果类型、是否为List以及参数
+ */
+public record QueryKey(String sql, Class<?> resultType, boolean list, List<Object> args) {
+
+    public static QueryKey of(String sql, Class<?> resultType, boolean list, Object... args) {
+        // 复制参数，防止调用方修改数组:
+        return new QueryKey(sql, resultType, list, Arrays.asList(args.clone()));
+    }
+}
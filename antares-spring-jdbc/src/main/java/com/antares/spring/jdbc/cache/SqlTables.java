@@ -0,0 +1,139 @@
+package com.antares.spring.jdbc.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 从SQL中提取表名，用于查询缓存的失效，例如：
+ *
+ * | SELECT * FROM users u JOIN addresses a ON ... -> [users, addresses]
+ * | UPDATE users SET name = ? WHERE id = ? -> [users]
+ *
+ * 无法识别表名时返回空集合，调用方应视为影响所有表。
+ */
+public class SqlTables {
+
+    static final Set<String> TABLE_KEYWORDS = Set.of("FROM", "JOIN", "INTO", "UPDATE", "TABLE");
+
+    static final Set<String> SKIP_KEYWORDS = Set.of("IF", "NOT", "EXISTS", "ONLY", "IGNORE");
+
+    static final Set<String> CLAUSE_KEYWORDS = Set.of("WHERE", "GROUP", "ORDER", "LIMIT", "OFFSET", "HAVING", "ON",
+            "USING", "JOIN", "LEFT", "RIGHT", "INNER", "OUTER", "FULL", "CROSS", "NATURAL", "UNION", "EXCEPT",
+            "INTERSECT", "SET", "VALUES", "SELECT", "FOR", "WINDOW", "RETURNING");
+
+    public static Set<String> parse(String sql) {
+        List<String> tokens = tokenize(sql);
+        Set<String> tables = new LinkedHashSet<>();
+        final int n = tokens.size();
+        for (int i = 0; i < n; i++) {
+            String keyword = tokens.get(i).toUpperCase(Locale.ROOT);
+            if (!TABLE_KEYWORDS.contains(keyword)) {
+                continue;
+            }
+            int j = i + 1;
+            while (j < n && SKIP_KEYWORDS.contains(tokens.get(j).toUpperCase(Locale.ROOT))) {
+                j++;
+            }
+            if (j >= n || !isIdentifier(tokens.get(j))) {
+                continue;
+            }
+            tables.add(normalize(tokens.get(j)));
+            if (!keyword.equals("FROM")) {
+                continue;
+            }
+            // FROM a x, b AS y, c:
+            int k = j + 1;
+            while (k < n) {
+                if (tokens.get(k).equalsIgnoreCase("AS")) {
+                    k++;
+                }
+                if (k < n && isAlias(tokens.get(k))) {
+                    k++;
+                }
+                if (k + 1 < n && tokens.get(k).equals(",") && isIdentifier(tokens.get(k + 1))) {
+                    tables.add(normalize(tokens.get(k + 1)));
+                    k += 2;
+                } else {
+                    break;
+                }
+            }
+        }
+        return tables;
+    }
+
+    static List<String> tokenize(String sql) {
+        List<String> tokens = new ArrayList<>();
+        final int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                // skip string literal:
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+            } else if (isIdentifierStart(c)) {
+                // identifier, may be quoted and qualified such as `db`.users:
+                StringBuilder sb = new StringBuilder();
+                while (i < n) {
+                    c = sql.charAt(i);
+                    if (c == '`' || c == '"' || c == '[') {
+                        char end = c == '[' ? ']' : c;
+                        int start = i + 1;
+                        i = sql.indexOf(end, start);
+                        if (i < 0) {
+                            i = n;
+                        }
+                        sb.append(sql, start, i);
+                        i++;
+                    } else if (isIdentifierChar(c) || c == '.') {
+                        sb.append(c);
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                tokens.add(sb.toString());
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    static boolean isIdentifierStart(char c) {
+        return isIdentifierChar(c) || c == '`' || c == '"' || c == '[';
+    }
+
+    static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    static boolean isIdentifier(String token) {
+        return !token.isEmpty() && (isIdentifierChar(token.charAt(0)) || token.charAt(0) == '.');
+    }
+
+    static boolean isAlias(String token) {
+        return isIdentifier(token) && !CLAUSE_KEYWORDS.contains(token.toUpperCase(Locale.ROOT));
+    }
+
+    static String normalize(String table) {
+        int n = table.lastIndexOf('.');
+        return (n >= 0 ? table.substring(n + 1) : table).toLowerCase(Locale.ROOT);
+    }
+}
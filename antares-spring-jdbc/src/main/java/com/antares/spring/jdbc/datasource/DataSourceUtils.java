@@ -0,0 +1,20 @@
+package com.antares.spring.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+public class DataSourceUtils {
+
+    /**
+     * Get connection for read-only operation, which is routed to replica if
+     * DataSource is a ReadWriteRoutingDataSource.
+     */
+    public static Connection getConnection(DataSource dataSource, boolean readOnly) throws SQLException {
+        if (readOnly && dataSource instanceof ReadWriteRoutingDataSource routing) {
+            return routing.getReadOnlyConnection();
+        }
+        return dataSource.getConnection();
+    }
+}
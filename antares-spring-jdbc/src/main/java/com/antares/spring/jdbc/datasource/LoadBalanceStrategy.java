@@ -0,0 +1,20 @@
+package com.antares.spring.jdbc.datasource;
+
+public enum LoadBalanceStrategy {
+
+    // 轮询:
+    ROUND_ROBIN,
+
+    // 选择活跃连接数最少的从库:
+    LEAST_ACTIVE;
+
+    /**
+     * Parse from config value such as "round-robin" or "least-active".
+     */
+    public static LoadBalanceStrategy of(String value) {
+        if (value == null || value.isBlank()) {
+            return ROUND_ROBIN;
+        }
+        return LoadBalanceStrategy.valueOf(value.strip().replace('-', '_').toUpperCase());
+    }
+}
@@ -0,0 +1,250 @@
+package com.antares.spring.jdbc.datasource;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 读写分离的DataSource：写操作及读写事务使用主库，只读操作在从库之间负载均衡。
+ *
+ * 从库获取连接失败或复制延迟超过阈值时，在retryInterval内不再使用该从库；
+ * 所有从库都不可用时回退到主库。
+ */
+public class ReadWriteRoutingDataSource implements DataSource, AutoCloseable {
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final DataSource primary;
+    final Replica[] replicas;
+    final LoadBalanceStrategy strategy;
+    // 从库失败后被跳过的时长:
+    final long retryIntervalMillis;
+    // 查询复制延迟(秒)的SQL，为null时不检查:
+    final String lagQuery;
+    final long maxLagSeconds;
+    final long lagCheckIntervalMillis;
+
+    final AtomicInteger counter = new AtomicInteger();
+    // 是否正在回退到主库，只在状态变化时打印日志:
+    final AtomicBoolean fallback = new AtomicBoolean(false);
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, LoadBalanceStrategy strategy) {
+        this(primary, replicas, strategy, 30_000, null, 0, 0);
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, LoadBalanceStrategy strategy,
+            long retryIntervalMillis, String lagQuery, long maxLagSeconds, long lagCheckIntervalMillis) {
+        this.primary = primary;
+        this.replicas = new Replica[replicas.size()];
+        for (int i = 0; i < this.replicas.length; i++) {
+            this.replicas[i] = new Replica("replica-" + i, replicas.get(i));
+        }
+        this.strategy = strategy;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+    }
+
+    /**
+     * Get connection of primary database.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Get connection of a healthy replica, or primary if no replica is available.
+     */
+    public Connection getReadOnlyConnection() throws SQLException {
+        final int n = this.replicas.length;
+        if (n == 0) {
+            return primary.getConnection();
+        }
+        final long now = System.currentTimeMillis();
+        final int start = selectReplica(now);
+        for (int i = 0; i < n; i++) {
+            Replica replica = this.replicas[(start + i) % n];
+            if (replica.downUntil > now) {
+                continue;
+            }
+            Connection conn = tryGetConnection(replica, now);
+            if (conn != null) {
+                if (this.fallback.compareAndSet(true, false)) {
+                    logger.info("replica available again, stop fallback to primary.");
+                }
+                return conn;
+            }
+        }
+        if (this.fallback.compareAndSet(false, true)) {
+            logger.warn("no replica available, fallback to primary.");
+        }
+        return primary.getConnection();
+    }
+
+    int selectReplica(long now) {
+        if (this.strategy == LoadBalanceStrategy.LEAST_ACTIVE) {
+            int index = 0;
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < this.replicas.length; i++) {
+                Replica replica = this.replicas[i];
+                int active = replica.active.get();
+                if (replica.downUntil <= now && active < min) {
+                    min = active;
+                    index = i;
+                }
+            }
+            return index;
+        }
+        return Math.floorMod(this.counter.getAndIncrement(), this.replicas.length);
+    }
+
+    Connection tryGetConnection(Replica replica, long now) {
+        Connection conn;
+        try {
+            conn = replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage(), now);
+            return null;
+        }
+        if (this.lagQuery != null && now - replica.lagCheckedAt >= this.lagCheckIntervalMillis) {
+            replica.lagCheckedAt = now;
+            try {
+                long lag = queryLag(conn);
+                if (lag > this.maxLagSeconds) {
+                    closeQuietly(conn);
+                    markDown(replica, "replication lag " + lag + "s", now);
+                    return null;
+                }
+            } catch (SQLException e) {
+                closeQuietly(conn);
+                markDown(replica, e.getMessage(), now);
+                return null;
+            }
+        }
+        // 只有LEAST_ACTIVE需要活动连接数:
+        if (this.strategy != LoadBalanceStrategy.LEAST_ACTIVE) {
+            return conn;
+        }
+        replica.active.incrementAndGet();
+        return trackActive(replica, conn);
+    }
+
+    long queryLag(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(this.lagQuery)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    void markDown(Replica replica, String reason, long now) {
+        logger.warn("mark {} as unavailable for {} ms: {}", replica.name, this.retryIntervalMillis, reason);
+        replica.downUntil = now + this.retryIntervalMillis;
+    }
+
+    /**
+     * Wrap connection to decrease active count of replica when it is closed.
+     */
+    Connection trackActive(Replica replica, Connection conn) {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                        replica.active.decrementAndGet();
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+
+    public void close() throws Exception {
+        if (this.primary instanceof AutoCloseable c) {
+            c.close();
+        }
+        for (Replica replica : this.replicas) {
+            if (replica.dataSource instanceof AutoCloseable c) {
+                c.close();
+            }
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    static class Replica {
+        final String name;
+        final DataSource dataSource;
+        final AtomicInteger active = new AtomicInteger();
+        volatile long downUntil = 0;
+        volatile long lagCheckedAt = 0;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.antares.spring.jdbc.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.antares.spring.aop.metrics.LatencyHistogram;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * JdbcTemplate的执行统计：按SQL语句记录延迟直方图、行数及错误数，
+ * 记录从DataSource获取连接的耗时，并输出慢查询日志。
+ *
+ * 慢查询日志不输出绑定参数的值，只输出参数类型。
+ */
+public class JdbcMetrics implements AutoCloseable {
+
+    // 超过此数量的SQL语句合并统计，避免拼接SQL导致无限增长:
+    static final int MAX_STATEMENTS = 1000;
+    static final String OTHER_STATEMENTS = "<other>";
+    static final int MAX_SLOW_QUERIES = 100;
+    static final int DUMP_TOP = 20;
+
+    final Logger logger = LoggerFactory.getLogger(getClass());
+
+    final long slowQueryThresholdMillis;
+
+    final Map<String, SqlStats> statements = new ConcurrentHashMap<>();
+    final LatencyHistogram connectionAcquire = new LatencyHistogram();
+    final ConcurrentLinkedDeque<SlowQuery> slowQueries = new ConcurrentLinkedDeque<>();
+    final AtomicInteger slowQueryCount = new AtomicInteger();
+
+    ScheduledExecutorService scheduler = null;
+
+    /**
+     * @param slowQueryThresholdMillis 超过此耗时的查询记录为慢查询，小于0时不记录
+     */
+    public JdbcMetrics(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    public void record(String sql, Object[] args, long elapsedNanos, long rows, boolean success) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        statsOf(sql).record(micros, rows, success);
+        final long millis = micros / 1000;
+        if (this.slowQueryThresholdMillis >= 0 && millis >= this.slowQueryThresholdMillis) {
+            String redacted = redact(args);
+            logger.warn("slow query: {} ms, {} rows{}: {} args: {}", millis, rows, success ? "" : ", failed", sql,
+                    redacted);
+            this.slowQueries.addLast(new SlowQuery(System.currentTimeMillis(), sql, redacted, millis, rows, success));
+            if (this.slowQueryCount.incrementAndGet() > MAX_SLOW_QUERIES && this.slowQueries.pollFirst() != null) {
+                this.slowQueryCount.decrementAndGet();
+            }
+        }
+    }
+
+    public void recordConnectionAcquire(long elapsedNanos) {
+        this.connectionAcquire.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    SqlStats statsOf(String sql) {
+        SqlStats stats = this.statements.get(sql);
+        if (stats == null) {
+            String key = this.statements.size() < MAX_STATEMENTS ? sql : OTHER_STATEMENTS;
+            stats = this.statements.computeIfAbsent(key, SqlStats::new);
+        }
+        return stats;
+    }
+
+    @Nullable
+    public SqlStats getStats(String sql) {
+        return this.statements.get(sql);
+    }
+
+    /**
+     * 返回所有SQL的统计，按总耗时倒序
+     */
+    public List<SqlStats> getAllStats() {
+        List<SqlStats> list = new ArrayList<>(this.statements.values());
+        list.sort(Comparator.comparingLong((SqlStats s) -> s.getLatency().getTotalMicros()).reversed());
+        return list;
+    }
+
+    public LatencyHistogram getConnectionAcquire() {
+        return this.connectionAcquire;
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        return new ArrayList<>(this.slowQueries);
+    }
+
+    public void reset() {
+        this.statements.clear();
+        this.connectionAcquire.reset();
+        this.slowQueries.clear();
+        this.slowQueryCount.set(0);
+    }
+
+    /**
+     * 定期将统计输出到日志
+     */
+    public synchronized void startDump(long intervalMillis) {
+        if (this.scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jdbc-metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler.scheduleAtFixedRate(this::dump, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void dump() {
+        List<SqlStats> list = getAllStats();
+        if (list.isEmpty()) {
+            return;
+        }
+        logger.info("jdbc metrics: {} statements, connection acquire p50={}us, p99={}us, max={}us", list.size(),
+                this.connectionAcquire.percentile(50), this.connectionAcquire.percentile(99),
+                this.connectionAcquire.getMaxMicros());
+        for (int i = 0; i < Math.min(DUMP_TOP, list.size()); i++) {
+            logger.info("  {}", list.get(i));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+        }
+    }
+
+    static String redact(Object[] args) {
+        if (args == null) {
+            return "[]";
+        }
+        StringJoiner sj = new StringJoiner(", ", "[", "]");
+        for (Object arg : args) {
+            sj.add(arg == null ? "null" : "<" + arg.getClass().getSimpleName() + ">");
+        }
+        return sj.toString();
+    }
+}
@@ -0,0 +1,8 @@
+package com.antares.spring.jdbc.metrics;
+
+/**
+ * 慢查询记录，参数只保留类型
+ */
+public record SlowQuery(long timestamp, String sql, String args, long elapsedMillis, long rows, boolean success) {
+
+}
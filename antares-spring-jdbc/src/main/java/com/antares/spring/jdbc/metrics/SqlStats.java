@@ -0,0 +1,59 @@
+package com.antares.spring.jdbc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.antares.spring.aop.metrics.LatencyHistogram;
+
+/**
+ * 单条SQL语句的执行统计
+ */
+public class SqlStats {
+
+    final String sql;
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder rows = new LongAdder();
+    final LongAdder errors = new LongAdder();
+
+    SqlStats(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long micros, long rows, boolean success) {
+        this.latency.recordMicros(micros);
+        if (success) {
+            this.rows.add(rows);
+        } else {
+            this.errors.increment();
+        }
+    }
+
+    public String getSql() {
+        return this.sql;
+    }
+
+    public long getCount() {
+        return this.latency.getCount();
+    }
+
+    /**
+     * 查询返回的行数或更新影响的行数之和
+     */
+    public long getRows() {
+        return this.rows.sum();
+    }
+
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, errors=%d, rows=%d, mean=%.1fus, p50=%dus, p99=%dus, max=%dus: %s", getCount(),
+                getErrors(), getRows(), this.latency.getMeanMicros(), this.latency.percentile(50),
+                this.latency.percentile(99), this.latency.getMaxMicros(), this.sql);
+    }
+}
@@ -1,8 +1,6 @@
 package com.antares.spring.jdbc.tx;
 
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -12,10 +10,14 @@ import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.antares.spring.annotation.Transactional;
+import com.antares.spring.aop.MethodInterceptor;
+import com.antares.spring.aop.MethodInvocation;
 import com.antares.spring.exception.TransactionException;
+import com.antares.spring.jdbc.datasource.DataSourceUtils;
 
 
-public class DataSourceTransactionManager implements PlatformTransactionManager, InvocationHandler {
+public class DataSourceTransactionManager implements PlatformTransactionManager, MethodInterceptor {
 
     static final ThreadLocal<TransactionStatus> transactionStatus = new ThreadLocal<>();
 
@@ -28,23 +30,25 @@ public class DataSourceTransactionManager implements PlatformTransactionManager,
     }
 
     @Override
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    public Object invoke(MethodInvocation invocation) throws Throwable {
         TransactionStatus ts = transactionStatus.get();
         if (ts == null) {
             // start new transaction:
-            try (Connection connection = dataSource.getConnection()) {
+            final boolean readOnly = isReadOnly(invocation.getThis(), invocation.getMethod());
+            try (Connection connection = DataSourceUtils.getConnection(dataSource, readOnly)) {
                 final boolean autoCommit = connection.getAutoCommit();
                 if (autoCommit) {
                     connection.setAutoCommit(false);
                 }
+                TransactionStatus status = new TransactionStatus(connection);
                 try {
-                    transactionStatus.set(new TransactionStatus(connection));
-                    Object r = method.invoke(proxy, args);
+                    transactionStatus.set(status);
+                    Object r = invocation.proceed();
                     connection.commit();
                     return r;
-                } catch (InvocationTargetException e) {
-                    logger.warn("will rollback transaction for caused exception: {}", e.getCause() == null ? "null" : e.getCause().getClass().getName());
-                    TransactionException te = new TransactionException(e.getCause());
+                } catch (Throwable e) {
+                    logger.warn("will rollback transaction for caused exception: {}", e.getClass().getName());
+                    TransactionException te = new TransactionException(e);
                     try {
                         connection.rollback();
                     } catch (SQLException sqle) {
@@ -56,11 +60,22 @@ public class DataSourceTransactionManager implements PlatformTransactionManager,
                     if (autoCommit) {
                         connection.setAutoCommit(true);
                     }
+                    for (Runnable afterCompletion : status.afterCompletions) {
+                        afterCompletion.run();
+                    }
                 }
             }
         } else {
             // join current transaction:
-            return method.invoke(proxy, args);
+            return invocation.proceed();
+        }
+    }
+
+    boolean isReadOnly(Object bean, Method method) {
+        Transactional tx = method.getAnnotation(Transactional.class);
+        if (tx == null) {
+            tx = bean.getClass().getAnnotation(Transactional.class);
         }
+        return tx != null && tx.readOnly();
     }
 }
@@ -2,12 +2,34 @@ package com.antares.spring.jdbc.tx;
 
 
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TransactionStatus {
 
     final Connection connection;
 
+    // 事务中是否执行过写操作:
+    boolean pendingWrites = false;
+
+    // 事务提交或回滚后执行:
+    final List<Runnable> afterCompletions = new ArrayList<>();
+
     public TransactionStatus(Connection connection) {
         this.connection = connection;
     }
+
+    public boolean hasPendingWrites() {
+        return this.pendingWrites;
+    }
+
+    /**
+     * 标记事务中执行了写操作，afterCompletion可以为null
+     */
+    public void registerWrite(Runnable afterCompletion) {
+        this.pendingWrites = true;
+        if (afterCompletion != null) {
+            this.afterCompletions.add(afterCompletion);
+        }
+    }
 }
@@ -1,8 +1,39 @@
 package com.antares.spring.jdbc.tx;
 
+import java.lang.reflect.Method;
+
 import com.antares.spring.annotation.Transactional;
 import com.antares.spring.aop.AnnotationProxyBeanPostProcessor;
+import com.antares.spring.aop.Pointcut;
 
 public class TransactionalBeanPostProcessor extends AnnotationProxyBeanPostProcessor<Transactional> {
 
+    /**
+     * 类上没有@Transactional时，查找标注在public方法上的@Transactional
+     */
+    @Override
+    protected Transactional findAnnotation(Class<?> beanClass) {
+        Transactional anno = beanClass.getAnnotation(Transactional.class);
+        if (anno != null) {
+            return anno;
+        }
+        for (Method method : beanClass.getMethods()) {
+            anno = Pointcut.findAnnotation(method, Transactional.class);
+            if (anno != null) {
+                return anno;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 类上标注@Transactional时拦截除Object方法外的所有public方法，否则只拦截标注了@Transactional的方法
+     */
+    @Override
+    protected Pointcut getPointcut(Class<?> beanClass, Object handler) {
+        if (beanClass.isAnnotationPresent(Transactional.class)) {
+            return Pointcut.OBJECT_METHODS.negate();
+        }
+        return Pointcut.annotatedWith(Transactional.class);
+    }
 }
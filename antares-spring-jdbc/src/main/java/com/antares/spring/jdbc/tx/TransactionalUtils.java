@@ -12,4 +12,9 @@ public class TransactionalUtils {
         TransactionStatus ts = DataSourceTransactionManager.transactionStatus.get();
         return ts == null ? null : ts.connection;
     }
+
+    @Nullable
+    public static TransactionStatus getCurrentTransactionStatus() {
+        return DataSourceTransactionManager.transactionStatus.get();
+    }
 }
@@ -14,8 +14,8 @@ import com.antares.spring.io.PropertyResolver;
 
 public class JdbcTestBase {
 
-    public static final String CREATE_USER = "CREATE TABLE users (id INT PRIMARY KEY AUTO_INCREMENT, name VARCHAR(255) NOT NULL, age INT)";
-    public static final String CREATE_ADDRESS = "CREATE TABLE addresses (id INT PRIMARY KEY AUTO_INCREMENT, userId INT NOT NULL, address VARCHAR(255) NOT NULL, zip INT)";
+    public static final String CREATE_USER = "CREATE TABLE users (id INTEGER PRIMARY KEY AUTOINCREMENT, name VARCHAR(255) NOT NULL, age INT)";
+    public static final String CREATE_ADDRESS = "CREATE TABLE addresses (id INTEGER PRIMARY KEY AUTOINCREMENT, userId INT NOT NULL, address VARCHAR(255) NOT NULL, zip INT)";
 
     public static final String INSERT_USER = "INSERT INTO users (name, age) VALUES (?, ?)";
     public static final String INSERT_ADDRESS = "INSERT INTO addresses (userId, address, zip) VALUES (?, ?, ?)";
@@ -38,10 +38,10 @@ public class JdbcTestBase {
 
     public PropertyResolver createPropertyResolver() {
         var ps = new Properties();
-        ps.put("summer.datasource.url", "jdbc:sqlite:test.db");
-        ps.put("summer.datasource.username", "sa");
-        ps.put("summer.datasource.password", "");
-        ps.put("summer.datasource.driver-class-name", "org.sqlite.JDBC");
+        ps.put("spring.datasource.url", "jdbc:sqlite:test.db");
+        ps.put("spring.datasource.username", "sa");
+        ps.put("spring.datasource.password", "");
+        ps.put("spring.datasource.driver-class-name", "org.sqlite.JDBC");
         var pr = new PropertyResolver(ps);
         return pr;
     }
@@ -0,0 +1,13 @@
+package com.antares.spring.jdbc.cache;
+
+import com.antares.spring.annotation.ComponentScan;
+import com.antares.spring.annotation.Configuration;
+import com.antares.spring.annotation.Import;
+import com.antares.spring.jdbc.JdbcConfiguration;
+
+@ComponentScan
+@Configuration
+@Import(JdbcConfiguration.class)
+public class CacheApplication {
+
+}
@@ -0,0 +1,171 @@
+package com.antares.spring.jdbc.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.exception.DataAccessException;
+import com.antares.spring.exception.TransactionException;
+import com.antares.spring.io.PropertyResolver;
+import com.antares.spring.jdbc.JdbcTemplate;
+import com.antares.spring.jdbc.JdbcTestBase;
+
+public class QueryCacheTest extends JdbcTestBase {
+
+    @Test
+    public void testQueryCache() {
+        try (var ctx = new AnnotationConfigApplicationContext(CacheApplication.class, createPropertyResolver())) {
+            JdbcTemplate jdbcTemplate = ctx.getBean(JdbcTemplate.class);
+            QueryCache cache = jdbcTemplate.getQueryCache();
+            jdbcTemplate.update(CREATE_USER);
+            jdbcTemplate.update(CREATE_ADDRESS);
+            jdbcTemplate.batchUpdate(INSERT_USER, List.of(new Object[] { "Bob", 12 }, new Object[] { "Alice", 13 }));
+
+            // cached by table name:
+            User bob = jdbcTemplate.queryForObject(SELECT_USER, User.class, 1);
+            assertSame(bob, jdbcTemplate.queryForObject(SELECT_USER, User.class, 1));
+            assertNotSame(bob, jdbcTemplate.queryForObject(SELECT_USER, User.class, 2));
+            assertEquals(1, cache.getHits());
+            assertEquals(2, cache.size());
+            List<User> users = jdbcTemplate.queryForList("SELECT * FROM users ORDER BY id", User.class);
+            assertSame(users, jdbcTemplate.queryForList("SELECT * FROM users ORDER BY id", User.class));
+            assertThrows(UnsupportedOperationException.class, () -> users.clear());
+
+            // addresses is not cached table:
+            jdbcTemplate.update(INSERT_ADDRESS, 1, "Broadway, New York", 10012);
+            assertEquals(3, cache.size());
+            jdbcTemplate.queryForList("SELECT address FROM addresses WHERE userId = ?", String.class, 1);
+            assertEquals(3, cache.size());
+            // but could be cached per-call:
+            jdbcTemplate.queryForListCached("SELECT address FROM addresses WHERE userId = ?", String.class, 1);
+            assertEquals(4, cache.size());
+
+            // update users invalidates users but not addresses:
+            jdbcTemplate.update(UPDATE_USER, "Bob Jones", 18, 1);
+            assertEquals(1, cache.size());
+            assertEquals("Bob Jones", jdbcTemplate.queryForObject(SELECT_USER, User.class, 1).name);
+
+            // 没有结果的查询也被缓存:
+            long misses = cache.getMisses();
+            assertThrows(DataAccessException.class, () -> jdbcTemplate.queryForObject(SELECT_USER, User.class, 99));
+            assertThrows(DataAccessException.class, () -> jdbcTemplate.queryForObject(SELECT_USER, User.class, 99));
+            assertEquals(misses + 1, cache.getMisses());
+        }
+    }
+
+    @Test
+    public void testQueryCacheInTransaction() {
+        try (var ctx = new AnnotationConfigApplicationContext(CacheApplication.class, createPropertyResolver())) {
+            JdbcTemplate jdbcTemplate = ctx.getBean(JdbcTemplate.class);
+            jdbcTemplate.update(CREATE_USER);
+            jdbcTemplate.update(INSERT_USER, "Bob", 12);
+
+            UserService userService = ctx.getBean(UserService.class);
+            assertEquals("Bob", userService.getUser(1).name);
+            assertEquals("Bob", jdbcTemplate.queryForObject(SELECT_USER, User.class, 1).name);
+
+            assertEquals("Bobby", userService.renameAndGet(1, "Bobby"));
+            assertEquals("Bobby", jdbcTemplate.queryForObject(SELECT_USER, User.class, 1).name);
+
+            assertThrows(TransactionException.class, () -> {
+                userService.renameAndRollback(1, "Robert");
+            });
+            assertEquals("Bobby", jdbcTemplate.queryForObject(SELECT_USER, User.class, 1).name);
+        }
+    }
+
+    @Test
+    public void testLruAndTtl() throws Exception {
+        var cache = new QueryCache(2, 500).addTable("users");
+        var key1 = QueryKey.of("SELECT * FROM users WHERE id = ?", User.class, false, 1);
+        var key2 = QueryKey.of("SELECT * FROM users WHERE id = ?", User.class, false, 2);
+        cache.put(key1, "1", cache.version(key1));
+        cache.put(key2, "2", cache.version(key2));
+        // touch 1, then 2 is eldest:
+        assertEquals("1", cache.get(key1));
+        var key3 = QueryKey.of("SELECT * FROM users WHERE id = ?", User.class, false, 3);
+        cache.put(key3, "3", cache.version(key3));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(null, cache.get(key2));
+        // expired:
+        Thread.sleep(600);
+        assertEquals(null, cache.get(key1));
+    }
+
+    @Test
+    public void testVersionPerTable() {
+        var cache = new QueryCache(100, 60_000).addTable("users").addTable("addresses");
+        var userKey = QueryKey.of("SELECT * FROM users WHERE id = ?", User.class, false, 1);
+        var joinKey = QueryKey.of("SELECT u.name FROM users u JOIN addresses a ON a.userId = u.id", String.class, true);
+        long userVersion = cache.version(userKey);
+        long joinVersion = cache.version(joinKey);
+        // 写入其他表不影响正在加载的结果:
+        cache.invalidate(Set.of("addresses"));
+        cache.put(userKey, "1", userVersion);
+        assertEquals("1", cache.get(userKey));
+        // 查询涉及的表失效后丢弃加载结果:
+        cache.put(joinKey, List.of("Bob"), joinVersion);
+        assertEquals(null, cache.get(joinKey));
+        userVersion = cache.version(userKey);
+        cache.invalidate(Set.of("users"));
+        cache.put(userKey, "2", userVersion);
+        assertEquals(null, cache.get(userKey));
+        // clear()使所有加载结果失效:
+        joinVersion = cache.version(joinKey);
+        cache.clear();
+        cache.put(joinKey, List.of("Bob"), joinVersion);
+        assertEquals(null, cache.get(joinKey));
+    }
+
+    @Test
+    public void testNullValueAndReplicaLag() throws Exception {
+        var cache = new QueryCache(100, 60_000).addTable("users");
+        cache.setReplicaLagMillis(200);
+        var key = QueryKey.of("SELECT * FROM users WHERE id = ?", User.class, false, 99);
+        assertFalse(cache.isRecentlyInvalidated(key));
+        cache.put(key, null, cache.version(key));
+        assertSame(QueryCache.NULL_VALUE, cache.get(key));
+        assertEquals(1, cache.getHits());
+
+        cache.invalidate(Set.of("users"));
+        assertTrue(cache.isRecentlyInvalidated(key));
+        Thread.sleep(300);
+        assertFalse(cache.isRecentlyInvalidated(key));
+    }
+
+    @Test
+    public void testSqlTables() {
+        assertEquals(Set.of("users"), SqlTables.parse(SELECT_USER));
+        assertEquals(Set.of("users"), SqlTables.parse(UPDATE_USER));
+        assertEquals(Set.of("users"), SqlTables.parse(INSERT_USER));
+        assertEquals(Set.of("addresses"), SqlTables.parse(DELETE_ADDRESS_BY_USERID));
+        assertEquals(Set.of("users"), SqlTables.parse(CREATE_USER));
+        assertEquals(Set.of("users", "addresses"),
+                SqlTables.parse("SELECT u.name FROM users u JOIN addresses a ON a.userId = u.id"));
+        assertEquals(Set.of("users", "addresses", "roles"),
+                SqlTables.parse("select * from `db`.users as u, addresses a, roles where name = 'from x'"));
+        assertEquals(Set.of("users"), SqlTables.parse("SELECT * FROM (SELECT id FROM users) t"));
+    }
+
+    @Override
+    public PropertyResolver createPropertyResolver() {
+        var ps = new Properties();
+        ps.put("spring.datasource.url", "jdbc:sqlite:test.db");
+        ps.put("spring.datasource.username", "sa");
+        ps.put("spring.datasource.password", "");
+        ps.put("spring.datasource.driver-class-name", "org.sqlite.JDBC");
+        ps.put("spring.datasource.query-cache.enabled", "true");
+        ps.put("spring.datasource.query-cache.tables", "users");
+        return new PropertyResolver(ps);
+    }
+}
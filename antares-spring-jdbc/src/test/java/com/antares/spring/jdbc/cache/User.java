@@ -0,0 +1,8 @@
+package com.antares.spring.jdbc.cache;
+
+public class User {
+
+    public int id;
+    public String name;
+    public Integer age;
+}
@@ -0,0 +1,30 @@
+package com.antares.spring.jdbc.cache;
+
+import com.antares.spring.annotation.Autowired;
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.Transactional;
+import com.antares.spring.jdbc.JdbcTemplate;
+import com.antares.spring.jdbc.JdbcTestBase;
+
+@Component
+@Transactional
+public class UserService {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public User getUser(int userId) {
+        return jdbcTemplate.queryForObject(JdbcTestBase.SELECT_USER, User.class, userId);
+    }
+
+    public String renameAndGet(int userId, String name) {
+        jdbcTemplate.update(JdbcTestBase.UPDATE_USER, name, 20, userId);
+        // pending write in transaction, must not read from cache:
+        return getUser(userId).name;
+    }
+
+    public void renameAndRollback(int userId, String name) {
+        jdbcTemplate.update(JdbcTestBase.UPDATE_USER, name, 20, userId);
+        throw new RuntimeException("Rollback rename for user id = " + userId);
+    }
+}
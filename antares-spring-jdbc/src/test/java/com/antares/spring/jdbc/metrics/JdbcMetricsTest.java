@@ -0,0 +1,78 @@
+package com.antares.spring.jdbc.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.exception.DataAccessException;
+import com.antares.spring.io.PropertyResolver;
+import com.antares.spring.jdbc.JdbcTemplate;
+import com.antares.spring.jdbc.JdbcTestBase;
+
+public class JdbcMetricsTest extends JdbcTestBase {
+
+    @Test
+    public void testJdbcMetrics() {
+        try (var ctx = new AnnotationConfigApplicationContext(MetricsApplication.class, createPropertyResolver())) {
+            JdbcTemplate jdbcTemplate = ctx.getBean(JdbcTemplate.class);
+            JdbcMetrics metrics = jdbcTemplate.getMetrics();
+            assertNotNull(metrics);
+            jdbcTemplate.update(CREATE_USER);
+            jdbcTemplate.batchUpdate(INSERT_USER,
+                    List.of(new Object[] { "Bob", 12 }, new Object[] { "Alice", 13 }, new Object[] { "Tom", 14 }));
+            jdbcTemplate.update(UPDATE_USER, "Bob Jones", 18, 1);
+            jdbcTemplate.queryForList("SELECT * FROM users", String.class);
+            jdbcTemplate.queryForObject(SELECT_USER_NAME, String.class, 1);
+            jdbcTemplate.queryForObject(SELECT_USER_NAME, String.class, 2);
+            assertThrows(DataAccessException.class, () -> {
+                jdbcTemplate.queryForObject(SELECT_USER_NAME, String.class, 99);
+            });
+
+            assertEquals(3, metrics.getStats(INSERT_USER).getRows());
+            assertEquals(1, metrics.getStats(UPDATE_USER).getRows());
+            assertEquals(3, metrics.getStats("SELECT * FROM users").getRows());
+            SqlStats selectName = metrics.getStats(SELECT_USER_NAME);
+            assertEquals(3, selectName.getCount());
+            assertEquals(2, selectName.getRows());
+            assertEquals(1, selectName.getErrors());
+            assertEquals(7, metrics.getConnectionAcquire().getCount());
+            metrics.dump();
+
+            // threshold is 0, every query is slow, args are redacted:
+            List<SlowQuery> slowQueries = metrics.getSlowQueries();
+            assertEquals(7, slowQueries.size());
+            SlowQuery update = slowQueries.get(2);
+            assertEquals(UPDATE_USER, update.sql());
+            assertEquals("[<String>, <Integer>, <Integer>]", update.args());
+            assertFalse(update.args().contains("Bob"));
+            assertFalse(slowQueries.get(6).success());
+
+            metrics.reset();
+            assertNull(metrics.getStats(INSERT_USER));
+            assertEquals(0, metrics.getConnectionAcquire().getCount());
+            assertEquals(0, metrics.getConnectionAcquire().getMaxMicros());
+            assertTrue(metrics.getSlowQueries().isEmpty());
+        }
+    }
+
+    @Override
+    public PropertyResolver createPropertyResolver() {
+        var ps = new Properties();
+        ps.put("spring.datasource.url", "jdbc:sqlite:test.db");
+        ps.put("spring.datasource.username", "sa");
+        ps.put("spring.datasource.password", "");
+        ps.put("spring.datasource.driver-class-name", "org.sqlite.JDBC");
+        ps.put("spring.datasource.metrics.enabled", "true");
+        ps.put("spring.datasource.metrics.slow-query-threshold", "0");
+        return new PropertyResolver(ps);
+    }
+}
@@ -0,0 +1,86 @@
+package com.antares.spring.jdbc.page;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.exception.DataAccessException;
+import com.antares.spring.jdbc.JdbcTemplate;
+import com.antares.spring.jdbc.JdbcTestBase;
+import com.antares.spring.jdbc.Page;
+import com.antares.spring.jdbc.PageRequest;
+
+public class PageTest extends JdbcTestBase {
+
+    @Test
+    public void testKeysetPagination() {
+        try (var ctx = new AnnotationConfigApplicationContext(PageApplication.class, createPropertyResolver())) {
+            JdbcTemplate jdbcTemplate = ctx.getBean(JdbcTemplate.class);
+            jdbcTemplate.update(CREATE_USER);
+            List<Object[]> batchArgs = new ArrayList<>();
+            for (int i = 1; i <= 25; i++) {
+                batchArgs.add(new Object[] { "User-" + (char) ('A' + 25 - i), i });
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER, batchArgs);
+
+            // ascending by id:
+            List<Integer> ids = new ArrayList<>();
+            PageRequest request = PageRequest.of("id", 10);
+            Page<User> page;
+            int pages = 0;
+            do {
+                page = jdbcTemplate.queryForPage("SELECT * FROM users", User.class, request);
+                page.getItems().forEach(u -> ids.add(u.id));
+                request = request.withToken(page.getNextToken());
+                pages++;
+            } while (page.hasNext());
+            assertEquals(3, pages);
+            assertEquals(5, page.getItems().size());
+            assertEquals(25, ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                assertEquals(i + 1, ids.get(i));
+            }
+
+            // descending with where clause:
+            Page<User> first = jdbcTemplate.queryForPage("SELECT * FROM users WHERE age > ?", User.class,
+                    PageRequest.of("id", 4).descending(), 20);
+            assertEquals(List.of(25, 24, 23, 22), first.getItems().stream().map(u -> u.id).toList());
+            Page<User> second = jdbcTemplate.queryForPage("SELECT * FROM users WHERE age > ?", User.class,
+                    PageRequest.of("id", 4).descending().withToken(first.getNextToken()), 20);
+            assertEquals(List.of(21), second.getItems().stream().map(u -> u.id).toList());
+            assertFalse(second.hasNext());
+
+            // string key:
+            Page<String> names = jdbcTemplate.queryForPage("SELECT name FROM users", String.class,
+                    PageRequest.of("name", 2));
+            assertEquals(List.of("User-A", "User-B"), names.getItems());
+            names = jdbcTemplate.queryForPage("SELECT name FROM users", String.class,
+                    PageRequest.of("name", 2).withToken(names.getNextToken()));
+            assertEquals(List.of("User-C", "User-D"), names.getItems());
+
+            // exactly one page:
+            Page<User> all = jdbcTemplate.queryForPage("SELECT * FROM users", User.class, PageRequest.of("id", 25));
+            assertEquals(25, all.getItems().size());
+            assertNull(all.getNextToken());
+
+            // bounded:
+            assertEquals(3, jdbcTemplate.queryForListBounded("SELECT * FROM users", User.class, 3).size());
+
+            assertThrows(DataAccessException.class, () -> {
+                jdbcTemplate.queryForPage("SELECT * FROM users", User.class, PageRequest.of("id", 10).withToken("!!"));
+            });
+            assertThrows(IllegalArgumentException.class, () -> {
+                PageRequest.of("id; DROP TABLE users", 10);
+            });
+            assertTrue(jdbcTemplate.queryForNumber("SELECT COUNT(*) FROM users").intValue() == 25);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.antares.spring.jdbc.page;
+
+public class User {
+
+    public int id;
+    public String name;
+    public Integer age;
+}
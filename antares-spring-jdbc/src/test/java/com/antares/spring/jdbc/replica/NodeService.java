@@ -0,0 +1,24 @@
+package com.antares.spring.jdbc.replica;
+
+import com.antares.spring.annotation.Autowired;
+import com.antares.spring.annotation.Component;
+import com.antares.spring.annotation.Transactional;
+import com.antares.spring.jdbc.JdbcTemplate;
+
+@Component
+@Transactional(readOnly = true)
+public class NodeService {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public String getNodeName() {
+        return jdbcTemplate.queryForObject(ReplicaTest.SELECT_NODE, String.class);
+    }
+
+    @Transactional
+    public String updateNodeName(String name) {
+        jdbcTemplate.update(ReplicaTest.UPDATE_NODE, name);
+        return jdbcTemplate.queryForObject(ReplicaTest.SELECT_NODE, String.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.antares.spring.jdbc.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.antares.spring.context.AnnotationConfigApplicationContext;
+import com.antares.spring.io.PropertyResolver;
+import com.antares.spring.jdbc.JdbcTemplate;
+import com.antares.spring.jdbc.datasource.LoadBalanceStrategy;
+import com.antares.spring.jdbc.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ReplicaTest {
+
+    public static final String SELECT_NODE = "SELECT name FROM node";
+    public static final String UPDATE_NODE = "UPDATE node SET name = ?";
+
+    static final String[] NODES = { "primary", "replica1", "replica2" };
+
+    @BeforeEach
+    public void beforeEach() throws SQLException {
+        cleanDb();
+        // 每个库写入自己的名字，以便区分查询路由到了哪个库:
+        for (String node : NODES) {
+            try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + node + ".db");
+                    Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE node (name VARCHAR(255) NOT NULL)");
+                stmt.executeUpdate("INSERT INTO node (name) VALUES ('" + node + "')");
+            }
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        cleanDb();
+    }
+
+    @Test
+    public void testReadWriteRouting() {
+        try (var ctx = new AnnotationConfigApplicationContext(ReplicaApplication.class, createPropertyResolver())) {
+            JdbcTemplate jdbcTemplate = ctx.getBean(JdbcTemplate.class);
+            // queries are balanced across replicas:
+            Set<String> names = new HashSet<>();
+            for (int i = 0; i < 4; i++) {
+                names.add(jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+            }
+            assertEquals(Set.of("replica1", "replica2"), names);
+
+            // updates go to primary:
+            assertEquals(1, jdbcTemplate.update(UPDATE_NODE, "primary-updated"));
+            assertEquals("primary-updated", queryNode("primary"));
+            assertEquals("replica1", queryNode("replica1"));
+
+            NodeService nodeService = ctx.getBean(NodeService.class);
+            // read-only transaction goes to replica:
+            assertTrue(nodeService.getNodeName().startsWith("replica"));
+            // read-write transaction reads from primary:
+            assertEquals("primary-tx", nodeService.updateNodeName("primary-tx"));
+        }
+    }
+
+    @Test
+    public void testReplicaFallback() throws Exception {
+        HikariDataSource primary = createDataSource("primary");
+        HikariDataSource broken = createDataSource("replica1");
+        HikariDataSource replica = createDataSource("replica2");
+        broken.close();
+        try (var routing = new ReadWriteRoutingDataSource(primary, List.of(broken, replica),
+                LoadBalanceStrategy.LEAST_ACTIVE)) {
+            var jdbcTemplate = new JdbcTemplate(routing);
+            for (int i = 0; i < 3; i++) {
+                assertEquals("replica2", jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+            }
+            replica.close();
+            // all replicas are unavailable:
+            assertEquals("primary", jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+        }
+    }
+
+    @Test
+    public void testReplicaLag() throws Exception {
+        HikariDataSource primary = createDataSource("primary");
+        HikariDataSource lagged = createDataSource("replica1");
+        try (Connection conn = lagged.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE lag (seconds INT)");
+            stmt.executeUpdate("INSERT INTO lag (seconds) VALUES (60)");
+            conn.commit();
+        }
+        try (var routing = new ReadWriteRoutingDataSource(primary, List.of(lagged), LoadBalanceStrategy.ROUND_ROBIN,
+                30_000, "SELECT seconds FROM lag", 10, 0)) {
+            var jdbcTemplate = new JdbcTemplate(routing);
+            assertEquals("primary", jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+        }
+    }
+
+    String queryNode(String node) {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + node + ".db");
+                Statement stmt = conn.createStatement();
+                var rs = stmt.executeQuery(SELECT_NODE)) {
+            rs.next();
+            return rs.getString(1);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    HikariDataSource createDataSource(String node) {
+        var config = new HikariConfig();
+        config.setAutoCommit(false);
+        config.setJdbcUrl("jdbc:sqlite:" + node + ".db");
+        config.setMaximumPoolSize(2);
+        return new HikariDataSource(config);
+    }
+
+    PropertyResolver createPropertyResolver() {
+        var ps = new Properties();
+        ps.put("spring.datasource.url", "jdbc:sqlite:primary.db");
+        ps.put("spring.datasource.username", "sa");
+        ps.put("spring.datasource.password", "");
+        ps.put("spring.datasource.driver-class-name", "org.sqlite.JDBC");
+        ps.put("spring.datasource.maximum-pool-size", "2");
+        ps.put("spring.datasource.replica.urls", "jdbc:sqlite:replica1.db, jdbc:sqlite:replica2.db");
+        return new PropertyResolver(ps);
+    }
+
+    void cleanDb() {
+        for (String node : NODES) {
+            try {
+                Files.deleteIfExists(Path.of(node + ".db").normalize().toAbsolutePath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -25,6 +25,9 @@ public class JdbcWithTxTest extends JdbcTestBase {
             JdbcTemplate jdbcTemplate = ctx.getBean(JdbcTemplate.class);
             jdbcTemplate.update(CREATE_USER);
             jdbcTemplate.update(CREATE_ADDRESS);
+            // pool is auto-commit by default, no switch for non-transactional execution:
+            assertEquals(0, jdbcTemplate.getAutoCommitRoundTrips());
+            assertEquals(4, jdbcTemplate.getAvoidedAutoCommitRoundTrips());
 
             UserService userService = ctx.getBean(UserService.class);
             AddressService addressService = ctx.getBean(AddressService.class);
@@ -3,6 +3,7 @@ package com.antares.spring.jdbc.without.tx;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +45,9 @@ public class JdbcWithoutTxTest extends JdbcTestBase {
             // delete user:
             int n2 = jdbcTemplate.update(DELETE_USER, alice.id);
             assertEquals(1, n2);
+            // pool is not auto-commit, switched for each execution:
+            assertEquals(0, jdbcTemplate.getAvoidedAutoCommitRoundTrips());
+            assertTrue(jdbcTemplate.getAutoCommitRoundTrips() > 0);
         }
         // re-open db and query:
         try (var ctx = new AnnotationConfigApplicationContext(JdbcWithoutTxApplication.class, createPropertyResolver())) {
@@ -9,8 +9,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -29,6 +31,7 @@ import com.antares.spring.context.ConfigurableApplicationContext;
 import com.antares.spring.exception.ErrorResponseException;
 import com.antares.spring.exception.NestedRuntimeException;
 import com.antares.spring.exception.ServerErrorException;
+import com.antares.spring.io.ConversionService;
 import com.antares.spring.io.PropertyResolver;
 import com.antares.spring.utils.ClassUtils;
 import com.antares.spring.web.utils.JsonUtils;
@@ -66,8 +69,8 @@ public class DispatcherServlet extends HttpServlet {
         // 方法参数:
         Param[] methodParameters;
 
-        public Dispatcher(String httpMethod, boolean isRest, Object controller, Method method, String urlPattern)
-                throws ServletException {
+        public Dispatcher(String httpMethod, boolean isRest, Object controller, Method method, String urlPattern,
+                ConversionService conversionService) throws ServletException {
             this.isRest = isRest;
             this.isResponseBody = method.getAnnotation(ResponseBody.class) != null;
             this.isVoid = method.getReturnType() == void.class;
@@ -78,7 +81,7 @@ public class DispatcherServlet extends HttpServlet {
             Annotation[][] paramsAnnos = method.getParameterAnnotations();
             this.methodParameters = new Param[params.length];
             for (int i = 0; i < params.length; i++) {
-                this.methodParameters[i] = new Param(httpMethod, method, params[i], paramsAnnos[i]);
+                this.methodParameters[i] = new Param(httpMethod, method, params[i], paramsAnnos[i], conversionService);
             }
             logger.atDebug().log("mapping {} to handler {}.{}", urlPattern, controller.getClass().getSimpleName(),
                     method.getName());
@@ -102,7 +105,7 @@ public class DispatcherServlet extends HttpServlet {
                     case PATH_VARIABLE -> {
                         try {
                             String s = matcher.group(param.name);
-                            yield convertToType(s, param.classType);
+                            yield param.converter.apply(s);
                         } catch (IllegalArgumentException e) {
                             throw new ServerErrorException("Could not find path variable: " + param.name);
                         }
@@ -113,7 +116,7 @@ public class DispatcherServlet extends HttpServlet {
                     }
                     case REQUEST_PARAM -> {
                         String s = getOrDefault(req, param.name, param.defaultValue);
-                        yield convertToType(s, param.classType);
+                        yield param.converter.apply(s);
                     }
                     case SERVLET_VARIABLE -> {
                         Class<?> classType = param.classType;
@@ -147,28 +150,6 @@ public class DispatcherServlet extends HttpServlet {
             return new Result(true, result);
         }
 
-        Object convertToType(String s, Class<?> classType) {
-            if (classType == String.class) {
-                return s;
-            } else if (classType == boolean.class || classType == Boolean.class) {
-                return Boolean.valueOf(s);
-            } else if (classType == int.class || classType == Integer.class) {
-                return Integer.valueOf(s);
-            } else if (classType == long.class || classType == Long.class) {
-                return Long.valueOf(s);
-            } else if (classType == byte.class || classType == Byte.class) {
-                return Byte.valueOf(s);
-            } else if (classType == short.class || classType == Short.class) {
-                return Short.valueOf(s);
-            } else if (classType == float.class || classType == Float.class) {
-                return Float.valueOf(s);
-            } else if (classType == double.class || classType == Double.class) {
-                return Double.valueOf(s);
-            } else {
-                throw new ServerErrorException("Could not determine argument type: " + classType);
-            }
-        }
-
         String getOrDefault(HttpServletRequest req, String name, String defaultValue) {
             String s = req.getParameter(name);
             if (s == null || s.isEmpty()) {
@@ -187,9 +168,11 @@ public class DispatcherServlet extends HttpServlet {
         Class<?> classType;
         // 参数默认值
         String defaultValue;
+        // @PathVariable和@RequestParam预先确定的类型转换:
+        Function<String, ?> converter;
 
-        public Param(String httpMethod, Method method, Parameter parameter, Annotation[] annotations)
-                throws ServletException {
+        public Param(String httpMethod, Method method, Parameter parameter, Annotation[] annotations,
+                ConversionService conversionService) throws ServletException {
             PathVariable pv = ClassUtils.getAnnotation(annotations, PathVariable.class);
             RequestParam rp = ClassUtils.getAnnotation(annotations, RequestParam.class);
             RequestBody rb = ClassUtils.getAnnotation(annotations, RequestBody.class);
@@ -220,6 +203,15 @@ public class DispatcherServlet extends HttpServlet {
                             "(Missing annotation?) Unsupported argument type: " + classType + " at method: " + method);
                 }
             }
+            if (pv != null || rp != null) {
+                // 按泛型参数转换集合元素，例如List<Long>:
+                Type genericType = parameter.getParameterizedType();
+                if (!conversionService.canConvert(genericType)) {
+                    throw new ServerErrorException(
+                            "Could not determine argument type: " + genericType.getTypeName() + " at method: " + method);
+                }
+                this.converter = conversionService.getConverter(genericType);
+            }
         }
     }
 
@@ -231,6 +223,7 @@ public class DispatcherServlet extends HttpServlet {
 
     ApplicationContext applicationContext;
     ViewResolver viewResolver;
+    ConversionService conversionService;
 
     List<Dispatcher> getDispatchers = new ArrayList<>();
     List<Dispatcher> postDispatchers = new ArrayList<>();
@@ -240,6 +233,7 @@ public class DispatcherServlet extends HttpServlet {
     public DispatcherServlet(ApplicationContext applicationContext, PropertyResolver propertyResolver) {
         this.applicationContext = applicationContext;
         this.viewResolver = applicationContext.getBean(ViewResolver.class);
+        this.conversionService = propertyResolver.getConversionService();
         this.resourcePath = propertyResolver.getProperty("${spring.web.static-path:/static/}");
         this.faviconPath = propertyResolver.getProperty("${spring.web.favicon-path:/favicon.ico}");
         if (!this.resourcePath.endsWith("/")) {
@@ -278,12 +272,14 @@ public class DispatcherServlet extends HttpServlet {
             GetMapping get = m.getAnnotation(GetMapping.class);
             if (get != null) {
                 checkMethod(m);
-                this.getDispatchers.add(new Dispatcher("GET", isRest, instance, m, get.value()));
+                this.getDispatchers
+                        .add(new Dispatcher("GET", isRest, instance, m, get.value(), this.conversionService));
             }
             PostMapping post = m.getAnnotation(PostMapping.class);
             if (post != null) {
                 checkMethod(m);
-                this.postDispatchers.add(new Dispatcher("POST", isRest, instance, m, post.value()));
+                this.postDispatchers
+                        .add(new Dispatcher("POST", isRest, instance, m, post.value(), this.conversionService));
             }
         }
         Class<?> superClass = type.getSuperclass();
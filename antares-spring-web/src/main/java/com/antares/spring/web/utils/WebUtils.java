@@ -1,20 +1,21 @@
 package com.antares.spring.web.utils;
 
-import java.io.FileNotFoundException;
-import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.antares.spring.context.ApplicationContextUtils;
+import com.antares.spring.io.ConfigFileWatcher;
 import com.antares.spring.io.PropertyResolver;
-import com.antares.spring.utils.ClassPathUtils;
-import com.antares.spring.utils.YamlUtils;
+import com.antares.spring.io.PropertySource;
 import com.antares.spring.web.DispatcherServlet;
 import com.antares.spring.web.FilterRegistrationBean;
 
@@ -29,32 +30,77 @@ public class WebUtils {
     static final String CONFIG_APP_YAML = "/application.yml";
     static final String CONFIG_APP_PROP = "/application.properties";
 
+    // 外部配置文件，例如-Dspring.config.location=/etc/app/application.yml:
+    static final String CONFIG_LOCATION = "${spring.config.location:}";
+    static final String CONFIG_WATCH = "${spring.config.watch:false}";
+    static final String PROFILES_ACTIVE = "${spring.profiles.active:}";
+
     /**
-     * Try load property resolver from /application.yml or /application.properties.
+     * 按优先级从高到低合并以下配置：
+     * 
+     * 1. 命令行参数--key=value；
+     * 2. Java系统属性；
+     * 3. 环境变量，SPRING_DATASOURCE_URL可覆盖spring.datasource.url；
+     * 4. spring.config.location指定的外部配置文件，spring.config.watch=true时修改后自动重新加载；
+     * 5. /application-{profile}.yml或.properties，spring.profiles.active中靠后的profile优先；
+     * 6. /application.yml或/application.properties；
+     * 7. defaults。
      */
+    public static PropertyResolver createPropertyResolver(String[] args, Properties defaults) {
+        List<PropertySource> sources = new ArrayList<>();
+        sources.add(PropertySource.commandLine(args));
+        sources.add(PropertySource.systemProperties());
+        sources.add(PropertySource.environment());
+
+        // 先合并已知的配置以确定外部配置文件及profile:
+        var bootstrap = new PropertyResolver(sources);
+        String location = bootstrap.getProperty(CONFIG_LOCATION);
+        Path configFile = null;
+        if (!location.isBlank()) {
+            configFile = Path.of(location);
+            logger.info("load config: {}", configFile);
+            sources.add(PropertySource.file(configFile));
+        }
+        Optional<PropertySource> application = loadClasspathConfig("");
+        application.ifPresent(sources::add);
+        bootstrap = new PropertyResolver(sources);
+        List<String> profiles = Arrays.stream(bootstrap.getProperty(PROFILES_ACTIVE).split(","))
+                .map(String::strip).filter(profile -> !profile.isEmpty()).toList();
+        if (!profiles.isEmpty()) {
+            logger.info("active profiles: {}", profiles);
+        }
+
+        // profile配置位于外部配置文件与application配置之间:
+        int index = sources.size() - (application.isPresent() ? 1 : 0);
+        for (String profile : profiles) {
+            loadClasspathConfig("-" + profile).ifPresent(source -> sources.add(index, source));
+        }
+        sources.add(PropertySource.of("defaults", defaults));
+
+        var propertyResolver = new PropertyResolver(sources);
+        if (configFile != null && propertyResolver.getProperty(CONFIG_WATCH, boolean.class)) {
+            // 监控线程为虚拟线程，由ApplicationContext.close()关闭:
+            propertyResolver.addResource(new ConfigFileWatcher(configFile, propertyResolver));
+        }
+        return propertyResolver;
+    }
+
     public static PropertyResolver createPropertyResolver() {
-        final Properties props = new Properties();
-        // try load application.yml:
-        try {
-            Map<String, Object> ymlMap = YamlUtils.loadYamlAsPlainMap(CONFIG_APP_YAML);
-            logger.info("load config: {}", CONFIG_APP_YAML);
-            for (String key : ymlMap.keySet()) {
-                Object value = ymlMap.get(key);
-                if (value instanceof String strValue) {
-                    props.put(key, strValue);
-                }
-            }
-        } catch (UncheckedIOException e) {
-            if (e.getCause() instanceof FileNotFoundException) {
-                // try load application.properties:
-                ClassPathUtils.readInputStream(CONFIG_APP_PROP, (input) -> {
-                    logger.info("load config: {}", CONFIG_APP_PROP);
-                    props.load(input);
-                    return true;
-                });
-            }
+        return createPropertyResolver(new String[0], new Properties());
+    }
+
+    /*
+     * 加载/application{suffix}.yml，不存在时加载/application{suffix}.properties
+     */
+    static Optional<PropertySource> loadClasspathConfig(String suffix) {
+        String yaml = CONFIG_APP_YAML.replace(".yml", suffix + ".yml");
+        String prop = CONFIG_APP_PROP.replace(".properties", suffix + ".properties");
+        Optional<PropertySource> source = PropertySource.classpath(yaml);
+        if (source.isEmpty()) {
+            source = PropertySource.classpath(prop);
         }
-        return new PropertyResolver(props);
+        source.ifPresent(s -> logger.info("load config: {}", s.name()));
+        return source;
     }
 
     public static void registerFilters(ServletContext servletContext) {